@@ -11,7 +11,14 @@ import com.hypixel.hytale.protocol.MouseButtonType;
 import com.hypixel.hytale.protocol.MouseButtonState;
 import com.hypixel.hytale.protocol.InteractionType;
 import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3i;
 import com.friends.features.radar.PlayerRadarSystem;
+import com.friends.features.hud.FriendsHudSystem;
+import com.friends.features.party.PartySystem;
+import com.friends.features.ping.PingSystem;
+import com.friends.features.trail.TrailSystem;
+import com.friends.features.balloon.BalloonMarkerProvider;
 import com.friends.features.balloon.BalloonSystem;
 import com.friends.features.balloon.BalloonToggleInteraction;
 import com.friends.commands.TestMarkerCommand;
@@ -19,19 +26,43 @@ import com.friends.commands.TestHudCommand;
 import com.friends.commands.FakePlayerCommand;
 import com.friends.commands.ListParticlesCommand;
 import com.friends.commands.BalloonCommand;
+import com.friends.commands.PartyCommand;
+import com.friends.commands.PingCommand;
+import com.friends.commands.TrailCommand;
+import com.friends.event.EventFilter;
+import com.friends.event.PluginEventBus;
+import com.friends.session.PlayerSessions;
+import com.friends.tick.TickEngine;
+import com.friends.log.Log;
 
 /**
  * Hytale Friends Mod
  *
  * Features:
  * - Player radar: Shows all players on the HUD compass
+ * - Friends HUD: Lists nearby friends with distance and direction
+ * - Parties: Party members are highlighted on the compass
  * - Hot Air Balloon: Rideable flying vehicle
  */
 public class FriendsPlugin extends JavaPlugin {
 
+    private static final Log LOG = Log.get("Friends");
+
     private static FriendsPlugin instance;
     private PlayerRadarSystem radarSystem;
     private BalloonSystem balloonSystem;
+    private FriendsHudSystem hudSystem;
+    private PartySystem partySystem;
+    private PingSystem pingSystem;
+    private TrailSystem trailSystem;
+    private TickEngine tickEngine;
+    private PluginEventBus eventBus;
+    private PlayerSessions sessions;
+
+    // Plugin tick: 100ms, of which the plugin may use this much CPU before deferring work
+    private static final long TICK_MILLIS = 100;
+    private static final long DEFAULT_TICK_BUDGET_MILLIS = 20;
+    private static final int EVENT_QUEUE_CAPACITY = 1024;  // Events buffered for the tick thread
 
     public FriendsPlugin(JavaPluginInit init) {
         super(init);
@@ -40,7 +71,7 @@ public class FriendsPlugin extends JavaPlugin {
 
     @Override
     protected void setup() {
-        System.out.println("[Friends] Setting up Hytale Friends mod...");
+        LOG.info("Setting up Hytale Friends mod...");
 
         // Register custom balloon toggle interaction
         try {
@@ -50,17 +81,43 @@ public class FriendsPlugin extends JavaPlugin {
                 BalloonToggleInteraction.class,
                 BalloonToggleInteraction.CODEC
             );
-            System.out.println("[Friends] Registered BalloonToggle interaction");
+            LOG.info("Registered BalloonToggle interaction");
         } catch (Exception e) {
-            System.err.println("[Friends] Failed to register interaction: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to register interaction: {}", e.getMessage(), e);
         }
 
+        // One tick thread for all systems (budget can be tuned with -Dfriends.tickBudgetMs=N)
+        tickEngine = new TickEngine(TICK_MILLIS, Long.getLong("friends.tickBudgetMs", DEFAULT_TICK_BUDGET_MILLIS));
+
+        // Server events are handed to the systems on the tick thread
+        eventBus = new PluginEventBus(tickEngine, EVENT_QUEUE_CAPACITY);
+
+        // One session per connected player, shared by every system
+        sessions = new PlayerSessions(eventBus);
+
+        // Parties (before the radar, so membership is known when it hears of a player)
+        partySystem = new PartySystem(sessions);
+
         // Initialize the player radar system
-        radarSystem = new PlayerRadarSystem(this);
+        radarSystem = new PlayerRadarSystem(this, tickEngine, sessions, partySystem);
 
-        // Initialize the hot air balloon system (shares players with radar)
-        balloonSystem = new BalloonSystem(radarSystem.getOnlinePlayers());
+        // Initialize the hot air balloon system
+        balloonSystem = new BalloonSystem(sessions, getDataDirectory(), tickEngine,
+            eventBus, radarSystem::getPlayerUuid);
+
+        // Nearby friends panel, refreshed from the radar's snapshots
+        hudSystem = new FriendsHudSystem(sessions, tickEngine, radarSystem);
+
+        // Balloons show up on the compass alongside players
+        radarSystem.addMarkerProvider(new BalloonMarkerProvider(balloonSystem, radarSystem::areFriends));
+
+        // Pings and waypoints ride along in the same compass batch
+        pingSystem = new PingSystem(sessions, partySystem, tickEngine, radarSystem::areFriends);
+        radarSystem.addMarkerProvider(pingSystem);
+
+        // Breadcrumb trails for players who opt in
+        trailSystem = new TrailSystem(sessions, tickEngine, radarSystem::areFriends);
+        radarSystem.addMarkerProvider(trailSystem);
 
         // Register commands
         getCommandRegistry().registerCommand(new TestMarkerCommand());
@@ -68,117 +125,145 @@ public class FriendsPlugin extends JavaPlugin {
         getCommandRegistry().registerCommand(new FakePlayerCommand());
         getCommandRegistry().registerCommand(new ListParticlesCommand());
         getCommandRegistry().registerCommand(new BalloonCommand());
+        getCommandRegistry().registerCommand(new PartyCommand());
+        getCommandRegistry().registerCommand(new PingCommand());
+        getCommandRegistry().registerCommand(new TrailCommand());
 
-        // Register event listeners for player connect/disconnect
+        // Register event listeners for player connect/disconnect (sessions open and close on the tick thread)
         getEventRegistry().register(PlayerConnectEvent.class, event -> {
-            radarSystem.onPlayerConnect(event);
+            eventBus.publishConnect(event.getPlayerRef());
         });
 
         getEventRegistry().register(PlayerDisconnectEvent.class, event -> {
-            radarSystem.onPlayerDisconnect(event);
-            // Clean up balloon state for disconnected player
-            if (balloonSystem != null && event.getPlayerRef() != null) {
-                balloonSystem.onPlayerDisconnect(event.getPlayerRef().getUuid());
+            if (event.getPlayerRef() != null) {
+                eventBus.publishDisconnect(event.getPlayerRef());
             }
         });
 
+        // Global listeners see every such event on the server - filters reject
+        // the irrelevant ones in a few branches before any handler work
+
         // Handle PlayerInteractEvent for F key - use registerGlobal like spaceship mod
-        getEventRegistry().registerGlobal(PlayerInteractEvent.class, event -> {
-            // Log ALL interactions to see what's happening
-            System.out.println("[Friends] PlayerInteractEvent fired!");
-            System.out.println("[Friends] ActionType: " + event.getActionType());
-            System.out.println("[Friends] TargetEntity: " + event.getTargetEntity());
-            System.out.println("[Friends] TargetRef: " + event.getTargetRef());
-            System.out.println("[Friends] TargetBlock: " + event.getTargetBlock());
-
-            // Check if it's a Use interaction (F key) on an entity
-            if (event.getActionType() == InteractionType.Use && balloonSystem != null) {
-                var targetRef = event.getTargetRef();
-                var targetEntity = event.getTargetEntity();
-
-                if (targetRef != null) {
-                    System.out.println("[Friends] Checking balloon interaction for ref: " + targetRef);
-                    balloonSystem.onPlayerInteractRef(targetRef, null);
-                } else if (targetEntity != null) {
-                    System.out.println("[Friends] Checking balloon interaction for entity: " + targetEntity);
-                    balloonSystem.onPlayerInteractEntity(targetEntity, null);
-                }
-            }
-        });
+        getEventRegistry().registerGlobal(PlayerInteractEvent.class,
+            EventFilter.<PlayerInteractEvent>of(event -> event.getActionType() == InteractionType.Use)
+                .and(event -> balloonSystem.hasBalloons())
+                .and(event -> event.getTargetRef() != null || event.getTargetEntity() != null)
+                .to(this::onPlayerInteract));
 
         // UseBlockEvent for world blocks (F key interactions) - use registerGlobal
-        getEventRegistry().registerGlobal(UseBlockEvent.Pre.class, event -> {
-            // Log ALL UseBlockEvent.Pre events to see what's happening
-            var blockType = event.getBlockType();
-            String blockTypeKey = blockType != null ? blockType.getId() : null;
-            System.out.println("[Friends] UseBlockEvent.Pre fired! Type=" + event.getInteractionType() + " Block=" + blockTypeKey + " Pos=" + event.getTargetBlock());
-
-            // Check if it's a Use interaction (F key)
-            if (event.getInteractionType() == InteractionType.Use && balloonSystem != null) {
-                if (balloonSystem.onUseBlockEvent(event.getTargetBlock(), blockTypeKey)) {
-                    System.out.println("[Friends] Balloon handled world block interaction!");
-                }
-            }
-        });
+        getEventRegistry().registerGlobal(UseBlockEvent.Pre.class,
+            EventFilter.<UseBlockEvent.Pre>of(event -> event.getInteractionType() == InteractionType.Use)
+                .and(event -> balloonSystem.isToggleBlock(event.getBlockType()))
+                .to(this::onUseBlock));
 
         // Handle right-click near balloon to toggle flight
         // This is a fallback since F key interaction doesn't work on BlockEntities
-        getEventRegistry().registerGlobal(PlayerMouseButtonEvent.class, event -> {
-            // Log all mouse button events
-            System.out.println("[Friends] MouseButtonEvent: " + event.getMouseButton().mouseButtonType + " " + event.getMouseButton().state);
+        getEventRegistry().registerGlobal(PlayerMouseButtonEvent.class,
+            EventFilter.<PlayerMouseButtonEvent>of(event -> event.getMouseButton().mouseButtonType == MouseButtonType.Right)
+                .and(event -> event.getMouseButton().state == MouseButtonState.Pressed)
+                .and(event -> balloonSystem.hasBalloons())
+                .and(this::isNearBalloon)
+                .to(this::onRightClick));
 
-            // Only handle right-click press (not release)
-            if (event.getMouseButton().mouseButtonType != MouseButtonType.Right) {
-                return;
-            }
-            if (event.getMouseButton().state != MouseButtonState.Pressed) {
-                return;
-            }
+        LOG.info("Player radar and balloon initialized");
+    }
 
-            var playerRef = event.getPlayerRefComponent();
-            if (playerRef == null || balloonSystem == null) {
-                return;
-            }
+    // ==================== Event Handlers ====================
+    // These run on server event threads: publish and return, the balloon system handles them in its tick phase
 
-            // Check if player is near a balloon (within 3 blocks)
-            Integer nearestBalloon = balloonSystem.getNearestBalloonInRange(playerRef.getUuid(), 3.0);
-            if (nearestBalloon != null) {
-                System.out.println("[Friends] Right-click detected near balloon #" + nearestBalloon);
-                balloonSystem.toggle(nearestBalloon, playerRef.getUuid());
-            }
-        });
+    private void onPlayerInteract(PlayerInteractEvent event) {
+        LOG.debug("PlayerInteractEvent: action={} entity={} ref={} block={}",
+            event.getActionType(), event.getTargetEntity(), event.getTargetRef(), event.getTargetBlock());
 
-        System.out.println("[Friends] Player radar and balloon initialized");
+        var targetRef = event.getTargetRef();
+        if (targetRef == null) {
+            targetRef = event.getTargetEntity().getReference();
+        }
+        eventBus.publishEntityInteract(event.getPlayerRef(), targetRef);
+    }
+
+    private void onUseBlock(UseBlockEvent.Pre event) {
+        String blockTypeKey = event.getBlockType().getId();
+        LOG.debug("UseBlockEvent.Pre: type={} block={} pos={}", event.getInteractionType(), blockTypeKey, event.getTargetBlock());
+
+        Vector3i block = event.getTargetBlock();
+        eventBus.publishBlockUse(event.getContext().getEntity(), blockTypeKey, block.x, block.y, block.z);
+    }
+
+    /**
+     * Filter: the clicking player stands in a cell a balloon can be reached from
+     */
+    private boolean isNearBalloon(PlayerMouseButtonEvent event) {
+        var playerRef = event.getPlayerRefComponent();
+        if (playerRef == null) return false;
+        Vector3d position = playerRef.getTransform().getPosition();
+        return balloonSystem.isNearBalloon(playerRef.getWorldUuid(), position.x, position.z);
+    }
+
+    private void onRightClick(PlayerMouseButtonEvent event) {
+        eventBus.publishRightClick(event.getPlayerRefComponent());
     }
 
     @Override
     protected void start() {
-        System.out.println("[Friends] Hytale Friends v0.1.0 loaded!");
-        System.out.println("[Friends] Players now visible on HUD compass");
+        LOG.info("Hytale Friends v0.1.0 loaded!");
+        LOG.info("Players now visible on HUD compass");
 
         // Start the radar update loop
         radarSystem.start();
+        hudSystem.start();
+        pingSystem.start();
+        trailSystem.start();
 
         // Start the balloon flight system
         balloonSystem.start();
-        System.out.println("[Friends] Hot Air Balloon system ready! Use /balloon to spawn one.");
+        LOG.info("Hot Air Balloon system ready! Use /balloon to spawn one.");
+
+        // Start ticking once every system has registered its tasks
+        tickEngine.start();
     }
 
     @Override
     protected void shutdown() {
-        System.out.println("[Friends] Shutting down...");
+        LOG.info("Shutting down...");
+        // Stop ticking first so no task runs while the systems tear down
+        if (tickEngine != null) {
+            tickEngine.stop();
+        }
+        if (hudSystem != null) {
+            hudSystem.stop();
+        }
+        if (pingSystem != null) {
+            pingSystem.stop();
+        }
+        if (trailSystem != null) {
+            trailSystem.stop();
+        }
         if (radarSystem != null) {
             radarSystem.stop();
         }
         if (balloonSystem != null) {
             balloonSystem.shutdown();
         }
+        if (sessions != null) {
+            sessions.shutdown();
+        }
+        // Last, so the shutdown messages above are written out
+        Log.shutdown();
     }
 
     public static FriendsPlugin getInstance() {
         return instance;
     }
 
+    public PluginEventBus getEventBus() {
+        return eventBus;
+    }
+
+    public PlayerSessions getSessions() {
+        return sessions;
+    }
+
     public PlayerRadarSystem getRadarSystem() {
         return radarSystem;
     }
@@ -186,4 +271,20 @@ public class FriendsPlugin extends JavaPlugin {
     public BalloonSystem getBalloonSystem() {
         return balloonSystem;
     }
+
+    public FriendsHudSystem getHudSystem() {
+        return hudSystem;
+    }
+
+    public PartySystem getPartySystem() {
+        return partySystem;
+    }
+
+    public PingSystem getPingSystem() {
+        return pingSystem;
+    }
+
+    public TrailSystem getTrailSystem() {
+        return trailSystem;
+    }
 }
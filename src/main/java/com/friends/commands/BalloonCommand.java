@@ -10,7 +10,10 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.friends.FriendsPlugin;
+import com.friends.features.balloon.BalloonBlueprint;
 import com.friends.features.balloon.BalloonSystem;
+import com.friends.log.Log;
+import com.friends.session.PlayerSession;
 
 import java.awt.Color;
 
@@ -19,13 +22,20 @@ import java.awt.Color;
  *
  * Usage:
  *   /balloon        - Spawn a balloon 5 units in front of you
+ *   /balloon spawn [blueprint] - Spawn a balloon from a blueprint (e.g. airship)
+ *   /balloon blueprints - List available balloon blueprints
  *   /balloon on     - Turn on the nearest balloon (starts flying)
  *   /balloon off    - Turn off the nearest balloon (stops flying)
+ *   /balloon goto <x> <z> - Autopilot your balloon to a position
+ *   /balloon follow <player> - Autopilot your balloon after a player
+ *   /balloon manual - Switch the autopilot off
  *   /balloon remove - Remove all balloons
  *   /balloon list   - List all balloon IDs
  */
 public class BalloonCommand extends AbstractPlayerCommand {
 
+    private static final Log LOG = Log.get("Balloon");
+
     public BalloonCommand() {
         super("balloon", "Spawn or manage Hot Air Balloons");
         setAllowsExtraArguments(true);
@@ -53,8 +63,9 @@ public class BalloonCommand extends AbstractPlayerCommand {
             // Remove all balloons
             int count = 0;
             for (Integer id : balloonSystem.getBalloonIds().toArray(new Integer[0])) {
-                balloonSystem.removeBalloon(id);
-                count++;
+                if (balloonSystem.removeBalloon(id)) {
+                    count++;
+                }
             }
             player.sendMessage(Message.raw("[Balloon] Removed " + count + " balloon(s).").color(Color.YELLOW));
             return;
@@ -71,6 +82,31 @@ public class BalloonCommand extends AbstractPlayerCommand {
             return;
         }
 
+        if (args.equals("blueprints")) {
+            // List all blueprints from the asset pack
+            player.sendMessage(Message.raw("[Balloon] Blueprints: " + balloonSystem.getBlueprints().getIds()).color(Color.CYAN));
+            return;
+        }
+
+        if (args.startsWith("goto") || args.startsWith("follow") || args.equals("manual")) {
+            handleAutopilot(args, player, balloonSystem);
+            return;
+        }
+
+        BalloonBlueprint blueprint = balloonSystem.getBlueprints().getDefault();
+        if (args.equals("spawn") || args.startsWith("spawn ")) {
+            // Spawn from a specific blueprint, falling through to the spawn logic below
+            String blueprintId = args.substring("spawn".length()).trim();
+            if (!blueprintId.isEmpty()) {
+                blueprint = balloonSystem.getBlueprints().get(blueprintId);
+                if (blueprint == null) {
+                    player.sendMessage(Message.raw("[Balloon] Unknown blueprint '" + blueprintId + "'. Use /balloon blueprints").color(Color.RED));
+                    return;
+                }
+            }
+            args = "spawn";
+        }
+
         if (args.equals("on") || args.isEmpty()) {
             // Toggle the nearest balloon - if it's off, turn on; if on, turn off
             Integer nearestId = balloonSystem.getNearestBalloon(player.getUuid());
@@ -116,10 +152,10 @@ public class BalloonCommand extends AbstractPlayerCommand {
             float playerYaw = player.getTransform().getRotation().getYaw();
 
             // Spawn the balloon entity using the entity store
-            int balloonId = balloonSystem.spawnBalloon(playerPos, player.getWorldUuid(), entityStore, playerYaw);
+            int balloonId = balloonSystem.spawnBalloon(playerPos, player.getWorldUuid(), entityStore, playerYaw, blueprint, player.getUuid());
 
             if (balloonId > 0) {
-                player.sendMessage(Message.raw("[Balloon] Spawned balloon #" + balloonId + " in front of you!").color(Color.GREEN));
+                player.sendMessage(Message.raw("[Balloon] Spawned " + blueprint.getName() + " #" + balloonId + " in front of you!").color(Color.GREEN));
                 player.sendMessage(Message.raw("[Balloon] Right-click the center block to toggle flight!").color(Color.GRAY));
             } else {
                 player.sendMessage(Message.raw("[Balloon] Failed to spawn balloon.").color(Color.RED));
@@ -127,8 +163,57 @@ public class BalloonCommand extends AbstractPlayerCommand {
 
         } catch (Exception e) {
             player.sendMessage(Message.raw("[Balloon] Error: " + e.getMessage()).color(Color.RED));
-            System.err.println("[Balloon] Command error: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Command error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Autopilot subcommands - act on the balloon the player rides, else the nearest one
+     */
+    private void handleAutopilot(String args, PlayerRef player, BalloonSystem balloonSystem) {
+        Integer balloonId = balloonSystem.getRiddenBalloon(player.getUuid());
+        if (balloonId == null) {
+            balloonId = balloonSystem.getNearestBalloon(player.getUuid());
+        }
+        if (balloonId == null) {
+            player.sendMessage(Message.raw("[Balloon] No balloons nearby.").color(Color.RED));
+            return;
+        }
+
+        String[] parts = args.split("\\s+");
+        if (parts[0].equals("manual")) {
+            balloonSystem.manual(balloonId, player.getUuid());
+            return;
+        }
+
+        if (parts[0].equals("goto")) {
+            if (parts.length != 3) {
+                player.sendMessage(Message.raw("[Balloon] Usage: /balloon goto <x> <z>").color(Color.RED));
+                return;
+            }
+            try {
+                double x = Double.parseDouble(parts[1]);
+                double z = Double.parseDouble(parts[2]);
+                balloonSystem.flyTo(balloonId, player.getUuid(), x, z);
+            } catch (NumberFormatException e) {
+                player.sendMessage(Message.raw("[Balloon] Usage: /balloon goto <x> <z>").color(Color.RED));
+            }
+            return;
+        }
+
+        if (parts.length != 2) {
+            player.sendMessage(Message.raw("[Balloon] Usage: /balloon follow <player>").color(Color.RED));
+            return;
+        }
+        PlayerRef target = null;
+        for (PlayerSession online : FriendsPlugin.getInstance().getSessions().getSessions()) {
+            if (online.getPlayer().getUsername().equalsIgnoreCase(parts[1])) {
+                target = online.getPlayer();
+                break;
+            }
+        }
+        if (target == null || !balloonSystem.follow(balloonId, player.getUuid(), target.getUuid())) {
+            player.sendMessage(Message.raw("[Balloon] Player '" + parts[1] + "' is not online.").color(Color.RED));
         }
     }
 }
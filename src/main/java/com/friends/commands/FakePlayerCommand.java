@@ -12,13 +12,15 @@ import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.friends.FriendsPlugin;
+import com.friends.event.PluginEventBus;
+import com.friends.log.Log;
 
 import java.awt.Color;
-import java.util.Map;
 import java.util.UUID;
 
 /**
  * Command to add/remove a fake player for testing the tracker.
+ * The fake player connects and disconnects like a real one, so it gets a session.
  *
  * Usage:
  *   /fakeplayer [distance] - Add fake player at distance blocks ahead (default: 50)
@@ -27,6 +29,8 @@ import java.util.UUID;
  */
 public class FakePlayerCommand extends AbstractPlayerCommand {
 
+    private static final Log LOG = Log.get("FakePlayer");
+
     private static FakePlayerRef fakePlayer = null;
     private static final UUID FAKE_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
 
@@ -45,12 +49,12 @@ public class FakePlayerCommand extends AbstractPlayerCommand {
         String input = context.getInputString();
         String args = input.replace("/fakeplayer", "").replace("fakeplayer", "").trim();
 
-        Map<UUID, PlayerRef> onlinePlayers = FriendsPlugin.getInstance().getRadarSystem().getOnlinePlayers();
+        PluginEventBus eventBus = FriendsPlugin.getInstance().getEventBus();
 
         // Remove command
         if (args.equalsIgnoreCase("remove") || args.equalsIgnoreCase("clear")) {
             if (fakePlayer != null) {
-                onlinePlayers.remove(FAKE_UUID);
+                eventBus.publishDisconnect(fakePlayer);
                 fakePlayer = null;
                 player.sendMessage(Message.raw("[Test] Fake player removed.").color(Color.YELLOW));
             } else {
@@ -84,15 +88,15 @@ public class FakePlayerCommand extends AbstractPlayerCommand {
 
         // Remove old fake player if exists
         if (fakePlayer != null) {
-            onlinePlayers.remove(FAKE_UUID);
+            eventBus.publishDisconnect(fakePlayer);
         }
 
-        // Create fake player
+        // Create fake player in the creator's world (markers only show within a world)
         Vector3d fakePos = new Vector3d(x, y, z);
-        fakePlayer = new FakePlayerRef(FAKE_UUID, "FakePlayer", fakePos);
+        fakePlayer = new FakePlayerRef(FAKE_UUID, "FakePlayer", fakePos, player.getWorldUuid());
 
-        // Add to online players map
-        onlinePlayers.put(FAKE_UUID, fakePlayer);
+        // Connect it - a session opens on the next tick
+        eventBus.publishConnect(fakePlayer);
 
         player.sendMessage(Message.raw("[Test] Fake player added at (" +
             String.format("%.1f", x) + ", " +
@@ -127,7 +131,7 @@ public class FakePlayerCommand extends AbstractPlayerCommand {
             BlockAccessor accessor = world.getChunkIfLoaded(chunkKey);
 
             if (accessor == null) {
-                System.out.println("[FakePlayer] Chunk not loaded at " + blockX + ", " + blockZ);
+                LOG.debug("Chunk not loaded at {}, {}", blockX, blockZ);
                 return startY; // Fallback to original Y if chunk not loaded
             }
 
@@ -138,15 +142,15 @@ public class FakePlayerCommand extends AbstractPlayerCommand {
                 // Check if this block is solid (not empty/air)
                 if (blockType != null && blockType != BlockType.EMPTY) {
                     // Found solid ground, return position just above it
-                    System.out.println("[FakePlayer] Found ground at Y=" + y + " (block: " + blockType + ")");
+                    LOG.debug("Found ground at Y={} (block: {})", y, blockType);
                     return y + 1.0;
                 }
             }
 
-            System.out.println("[FakePlayer] No ground found, using original Y");
+            LOG.debug("No ground found, using original Y");
             return startY;
         } catch (Exception e) {
-            System.err.println("[FakePlayer] Error finding ground: " + e.getMessage());
+            LOG.error("Error finding ground: {}", e.getMessage());
             return startY; // Fallback to original Y on error
         }
     }
@@ -158,12 +162,14 @@ public class FakePlayerCommand extends AbstractPlayerCommand {
         private final UUID uuid;
         private final String username;
         private final Vector3d position;
+        private final UUID worldUuid;
 
-        public FakePlayerRef(UUID uuid, String username, Vector3d position) {
+        public FakePlayerRef(UUID uuid, String username, Vector3d position, UUID worldUuid) {
             super(null, uuid, username, "en", null, null);
             this.uuid = uuid;
             this.username = username;
             this.position = position;
+            this.worldUuid = worldUuid;
         }
 
         @Override
@@ -176,6 +182,11 @@ public class FakePlayerCommand extends AbstractPlayerCommand {
             return username;
         }
 
+        @Override
+        public UUID getWorldUuid() {
+            return worldUuid;
+        }
+
         @Override
         public com.hypixel.hytale.math.vector.Transform getTransform() {
             return new com.hypixel.hytale.math.vector.Transform(position);
@@ -10,6 +10,7 @@ import com.hypixel.hytale.server.core.asset.type.particle.config.ParticleSystem;
 import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
+import com.friends.log.Log;
 
 import java.awt.Color;
 
@@ -19,6 +20,8 @@ import java.awt.Color;
  */
 public class ListParticlesCommand extends AbstractPlayerCommand {
 
+    private static final Log LOG = Log.get("Particles");
+
     public ListParticlesCommand() {
         super("particles", "List available particle systems");
         setPermissionGroups(new String[]{"default", "player"});
@@ -111,7 +114,7 @@ public class ListParticlesCommand extends AbstractPlayerCommand {
 
         } catch (Exception e) {
             player.sendMessage(Message.raw("[Particles] Error: " + e.getMessage()).color(Color.RED));
-            e.printStackTrace();
+            LOG.error("Error listing particles: {}", e.getMessage(), e);
         }
     }
 }
@@ -0,0 +1,123 @@
+package com.friends.commands;
+
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.friends.FriendsPlugin;
+import com.friends.features.party.Party;
+import com.friends.features.party.PartySystem;
+import com.friends.session.PlayerSession;
+
+import java.awt.Color;
+
+/**
+ * Command to form parties. Party members see each other highlighted on the compass.
+ *
+ * Usage:
+ *   /party create          - Start a party
+ *   /party invite <player> - Invite a player to your party
+ *   /party accept          - Join the party you were invited to
+ *   /party leave           - Leave your party
+ *   /party                 - List your party's members
+ */
+public class PartyCommand extends AbstractPlayerCommand {
+
+    public PartyCommand() {
+        super("party", "Create, join or leave a party");
+        setAllowsExtraArguments(true);
+    }
+
+    @Override
+    protected void execute(
+            CommandContext context,
+            Store<EntityStore> entityStore,
+            Ref<EntityStore> entityRef,
+            PlayerRef player,
+            World world
+    ) {
+        String input = context.getInputString();
+        String args = input.replaceFirst("^/?party", "").trim();
+        String[] parts = args.split("\\s+");
+
+        PartySystem parties = FriendsPlugin.getInstance().getPartySystem();
+        PlayerSession session = FriendsPlugin.getInstance().getSessions().get(player.getUuid());
+        if (session == null) {
+            player.sendMessage(Message.raw("[Party] Error: You are not connected yet").color(Color.RED));
+            return;
+        }
+
+        String subcommand = parts[0].toLowerCase();
+        if (subcommand.equals("create")) {
+            if (parties.create(session) == null) {
+                player.sendMessage(Message.raw("[Party] You are already in a party. Use /party leave first.").color(Color.RED));
+            } else {
+                player.sendMessage(Message.raw("[Party] Party created! Use /party invite <player> to add friends.").color(Color.GREEN));
+            }
+            return;
+        }
+
+        if (subcommand.equals("invite")) {
+            if (parts.length != 2) {
+                player.sendMessage(Message.raw("[Party] Usage: /party invite <player>").color(Color.RED));
+                return;
+            }
+            PlayerSession target = findOnline(parts[1]);
+            if (target == null || target == session) {
+                player.sendMessage(Message.raw("[Party] Player '" + parts[1] + "' is not online.").color(Color.RED));
+            } else if (parties.getParty(session) == null) {
+                player.sendMessage(Message.raw("[Party] You are not in a party. Use /party create first.").color(Color.RED));
+            } else if (!parties.invite(session, target)) {
+                player.sendMessage(Message.raw("[Party] " + target.getPlayer().getUsername() + " is already in a party.").color(Color.RED));
+            } else {
+                player.sendMessage(Message.raw("[Party] Invited " + target.getPlayer().getUsername() + ".").color(Color.GREEN));
+            }
+            return;
+        }
+
+        if (subcommand.equals("accept")) {
+            if (parties.accept(session) == null) {
+                player.sendMessage(Message.raw("[Party] No party invite to accept.").color(Color.RED));
+            }
+            return;
+        }
+
+        if (subcommand.equals("leave")) {
+            if (parties.leave(session)) {
+                player.sendMessage(Message.raw("[Party] You left the party.").color(Color.YELLOW));
+            } else {
+                player.sendMessage(Message.raw("[Party] You are not in a party.").color(Color.GRAY));
+            }
+            return;
+        }
+
+        // No subcommand: list the party
+        Party party = parties.getParty(session);
+        if (party == null) {
+            player.sendMessage(Message.raw("[Party] You are not in a party. Use /party create to start one.").color(Color.GRAY));
+            return;
+        }
+        StringBuilder names = new StringBuilder();
+        for (int slot : party.getMembers()) {
+            PlayerSession member = parties.sessionAt(slot);
+            if (member == null) continue;
+            if (names.length() > 0) names.append(", ");
+            names.append(member.getPlayer().getUsername());
+            if (member.getUuid().equals(party.getLeader())) names.append(" (leader)");
+        }
+        player.sendMessage(Message.raw("[Party] Members: " + names).color(Color.CYAN));
+    }
+
+    private static PlayerSession findOnline(String username) {
+        for (PlayerSession online : FriendsPlugin.getInstance().getSessions().getSessions()) {
+            if (online.getPlayer().getUsername().equalsIgnoreCase(username)) {
+                return online;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.friends.commands;
+
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.friends.FriendsPlugin;
+import com.friends.features.ping.PingSystem;
+import com.friends.session.PlayerSession;
+
+import java.awt.Color;
+
+/**
+ * Command to mark your position on your friends' compasses (your party's, while in one).
+ *
+ * Usage:
+ *   /ping [label]            - Drop a ping where you stand (gone after 30 seconds)
+ *   /ping waypoint [label]   - Set your waypoint here (replaces the last one, gone after 10 minutes)
+ *   /ping clear              - Remove your waypoint
+ */
+public class PingCommand extends AbstractPlayerCommand {
+
+    public PingCommand() {
+        super("ping", "Show your position on your friends' compass");
+        setAllowsExtraArguments(true);
+    }
+
+    @Override
+    protected void execute(
+            CommandContext context,
+            Store<EntityStore> entityStore,
+            Ref<EntityStore> entityRef,
+            PlayerRef player,
+            World world
+    ) {
+        String input = context.getInputString();
+        String args = input.replaceFirst("^/?ping", "").trim();
+
+        PingSystem pings = FriendsPlugin.getInstance().getPingSystem();
+        PlayerSession session = FriendsPlugin.getInstance().getSessions().get(player.getUuid());
+        if (session == null) {
+            player.sendMessage(Message.raw("[Ping] Error: You are not connected yet").color(Color.RED));
+            return;
+        }
+
+        String subcommand = args.split("\\s+")[0].toLowerCase();
+        if (subcommand.equals("clear")) {
+            if (pings.clearWaypoint(session)) {
+                player.sendMessage(Message.raw("[Ping] Waypoint removed.").color(Color.YELLOW));
+            } else {
+                player.sendMessage(Message.raw("[Ping] You have no waypoint.").color(Color.GRAY));
+            }
+            return;
+        }
+
+        boolean waypoint = subcommand.equals("waypoint");
+        String label = waypoint ? args.substring(subcommand.length()).trim() : args;
+
+        PingSystem.Result result = pings.drop(session, label, waypoint);
+        if (result == PingSystem.Result.RATE_LIMITED) {
+            player.sendMessage(Message.raw("[Ping] Slow down! You can ping again in "
+                + pings.secondsUntilNextPing(session) + "s.").color(Color.RED));
+        } else if (result == PingSystem.Result.NO_WORLD) {
+            player.sendMessage(Message.raw("[Ping] Error: Could not find your world").color(Color.RED));
+        } else if (waypoint) {
+            player.sendMessage(Message.raw("[Ping] Waypoint set.").color(Color.GREEN));
+        } else {
+            player.sendMessage(Message.raw("[Ping] Pinged your position.").color(Color.GREEN));
+        }
+    }
+}
@@ -9,15 +9,15 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.friends.features.hud.FriendsHud;
+import com.friends.FriendsPlugin;
+import com.friends.features.hud.FriendsHudSystem;
+import com.friends.log.Log;
+import com.friends.session.PlayerSession;
 
 import java.awt.Color;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
 
 /**
- * Test command for CustomHud using HudManager.
+ * Command to show or hide the nearby friends HUD (shown to everyone by default).
  *
  * Usage:
  *   /testhud - Show the Friends HUD
@@ -25,7 +25,7 @@ import java.util.UUID;
  */
 public class TestHudCommand extends AbstractPlayerCommand {
 
-    private static final Map<UUID, FriendsHud> activeHuds = new HashMap<>();
+    private static final Log LOG = Log.get("Friends");
 
     public TestHudCommand() {
         super("testhud", "Test Friends HUD display");
@@ -41,10 +41,16 @@ public class TestHudCommand extends AbstractPlayerCommand {
     ) {
         String rawInput = context.getInputString();
         String args = rawInput.replace("/testhud", "").replace("testhud", "").trim().toLowerCase();
+        FriendsHudSystem hudSystem = FriendsPlugin.getInstance().getHudSystem();
+        PlayerSession session = FriendsPlugin.getInstance().getSessions().get(player.getUuid());
+        if (session == null) {
+            player.sendMessage(Message.raw("Error: You are not connected yet").color(Color.RED));
+            return;
+        }
 
         if (args.equals("clear") || args.equals("remove")) {
-            // Remove HUD
-            activeHuds.remove(player.getUuid());
+            // Hide HUD
+            hudSystem.hide(session);
             player.sendMessage(Message.raw("HUD cleared.").color(Color.YELLOW));
             return;
         }
@@ -58,20 +64,15 @@ public class TestHudCommand extends AbstractPlayerCommand {
                 return;
             }
 
-            // Create and register the HUD
-            FriendsHud hud = new FriendsHud(player);
-            activeHuds.put(player.getUuid(), hud);
-
-            // Register with HudManager and show
-            playerEntity.getHudManager().setCustomHud(player, hud);
-            hud.show();
+            // Register with HudManager and show (or unhide)
+            hudSystem.show(session, playerEntity);
 
             player.sendMessage(Message.raw("HUD shown! Look at top-right of screen.").color(Color.GREEN));
             player.sendMessage(Message.raw("Use '/testhud clear' to remove it.").color(Color.GRAY));
 
         } catch (Exception e) {
             player.sendMessage(Message.raw("Error: " + e.getMessage()).color(Color.RED));
-            e.printStackTrace();
+            LOG.error("Error showing friends HUD: {}", e.getMessage(), e);
         }
     }
 }
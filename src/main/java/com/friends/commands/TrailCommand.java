@@ -0,0 +1,69 @@
+package com.friends.commands;
+
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.friends.FriendsPlugin;
+import com.friends.features.trail.TrailSystem;
+import com.friends.session.PlayerSession;
+
+import java.awt.Color;
+
+/**
+ * Command to show where your friends recently went, as fading markers on the map.
+ *
+ * Usage:
+ *   /trail     - Toggle friends' trails
+ *   /trail on  - Show friends' trails
+ *   /trail off - Hide friends' trails
+ */
+public class TrailCommand extends AbstractPlayerCommand {
+
+    public TrailCommand() {
+        super("trail", "Show where your friends recently went");
+        setAllowsExtraArguments(true);
+    }
+
+    @Override
+    protected void execute(
+            CommandContext context,
+            Store<EntityStore> entityStore,
+            Ref<EntityStore> entityRef,
+            PlayerRef player,
+            World world
+    ) {
+        String input = context.getInputString();
+        String args = input.replace("/trail", "").replace("trail", "").trim().toLowerCase();
+
+        TrailSystem trails = FriendsPlugin.getInstance().getTrailSystem();
+        PlayerSession session = FriendsPlugin.getInstance().getSessions().get(player.getUuid());
+        if (session == null) {
+            player.sendMessage(Message.raw("[Trail] Error: You are not connected yet").color(Color.RED));
+            return;
+        }
+
+        boolean watching;
+        if (args.equals("on")) {
+            watching = true;
+        } else if (args.equals("off")) {
+            watching = false;
+        } else if (args.isEmpty()) {
+            watching = !trails.isWatching(session);
+        } else {
+            player.sendMessage(Message.raw("[Trail] Usage: /trail [on|off]").color(Color.RED));
+            return;
+        }
+
+        trails.setWatching(session, watching);
+        if (watching) {
+            player.sendMessage(Message.raw("[Trail] Showing your friends' trails.").color(Color.GREEN));
+        } else {
+            player.sendMessage(Message.raw("[Trail] Trails hidden.").color(Color.YELLOW));
+        }
+    }
+}
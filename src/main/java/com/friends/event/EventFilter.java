@@ -0,0 +1,51 @@
+package com.friends.event;
+
+import java.util.function.Consumer;
+
+/**
+ * Cheap pre-check in front of a global event listener.
+ *
+ * Global listeners see every event of their type on the server, almost all
+ * of them irrelevant to the plugin. A filter decides in a few field reads
+ * whether an event could matter, so the handler (and anything it builds or
+ * logs) only runs for candidates. Filters must not allocate or block; the
+ * composed chain is built once at registration.
+ *
+ * <pre>
+ * registerGlobal(PlayerMouseButtonEvent.class,
+ *     EventFilter.of(isRightClick).and(isNearBalloon).to(this::onRightClick));
+ * </pre>
+ */
+@FunctionalInterface
+public interface EventFilter<E> {
+
+    /**
+     * Whether the event may be relevant; false rejects it before the handler runs
+     */
+    boolean accept(E event);
+
+    /**
+     * This filter, then the next one (short-circuits on the first rejection)
+     */
+    default EventFilter<E> and(EventFilter<? super E> next) {
+        return event -> accept(event) && next.accept(event);
+    }
+
+    /**
+     * Listener that runs the handler only for accepted events
+     */
+    default Consumer<E> to(Consumer<? super E> handler) {
+        return event -> {
+            if (accept(event)) {
+                handler.accept(event);
+            }
+        };
+    }
+
+    /**
+     * Start a chain (helps type inference for lambdas)
+     */
+    static <E> EventFilter<E> of(EventFilter<E> filter) {
+        return filter;
+    }
+}
@@ -0,0 +1,51 @@
+package com.friends.event;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * One slot of the {@link PluginEventBus} ring.
+ *
+ * Slots are preallocated and reused (connect and disconnect events are
+ * the exception, see {@link PluginEventBus}): handlers must read what they need
+ * during the call and not keep the event. Which fields are set depends on
+ * the type (see {@link PluginEventType}); the rest are null or zero.
+ */
+public final class PluginEvent {
+
+    volatile long sequence = -1;  // Sequence this slot was last published under
+
+    private PluginEventType type;
+    private PlayerRef player;
+    private Ref<EntityStore> playerEntity;
+    private Ref<EntityStore> target;
+    private String blockType;
+    private int blockX;
+    private int blockY;
+    private int blockZ;
+
+    PluginEvent() {
+    }
+
+    void set(PluginEventType type, PlayerRef player, Ref<EntityStore> playerEntity, Ref<EntityStore> target,
+             String blockType, int blockX, int blockY, int blockZ) {
+        this.type = type;
+        this.player = player;
+        this.playerEntity = playerEntity;
+        this.target = target;
+        this.blockType = blockType;
+        this.blockX = blockX;
+        this.blockY = blockY;
+        this.blockZ = blockZ;
+    }
+
+    public PluginEventType getType() { return type; }
+    public PlayerRef getPlayer() { return player; }
+    public Ref<EntityStore> getPlayerEntity() { return playerEntity; }
+    public Ref<EntityStore> getTarget() { return target; }
+    public String getBlockType() { return blockType; }
+    public int getBlockX() { return blockX; }
+    public int getBlockY() { return blockY; }
+    public int getBlockZ() { return blockZ; }
+}
@@ -0,0 +1,224 @@
+package com.friends.event;
+
+import com.friends.log.Log;
+import com.friends.tick.TickContext;
+import com.friends.tick.TickEngine;
+import com.friends.tick.TickPhase;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PluginEventBus - Hands server events over to the plugin's tick thread
+ *
+ * Server event threads publish into a preallocated ring of {@link PluginEvent}
+ * slots (no allocation per event) and return straight away. Each subscriber
+ * reads the ring with its own cursor from a tick task in the phase it asks
+ * for, so every subsystem sees every event it subscribed to, in order, on the
+ * tick thread.
+ *
+ * A slot is reused only once every subscriber has read it. When a subscriber
+ * falls behind and the ring fills up, input events are dropped. Lifecycle
+ * events (connect/disconnect) never go through the ring: losing one would
+ * leak a session, so each subscriber gets them on its own unbounded queue,
+ * read ahead of the ring in its phase. They are rare, so that allocation is
+ * fine, and input spam can neither crowd them out nor block the publisher.
+ * Subscriber tasks are only active while they have events to read.
+ */
+public class PluginEventBus {
+
+    private static final Log LOG = Log.get("Friends");
+
+    private static final int BATCH = 32;  // Events between budget checks
+
+    private final TickEngine tickEngine;
+    private final PluginEvent[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();  // Next sequence to hand to a publisher
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public PluginEventBus(TickEngine tickEngine, int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.tickEngine = tickEngine;
+        this.ring = new PluginEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new PluginEvent();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Receive the given event types in a tick phase. Subscribe during setup, before events flow.
+     * @param typeMask types to receive, see {@link PluginEventType#maskOf}
+     */
+    public void subscribe(String name, TickPhase phase, int typeMask, PluginEventHandler handler) {
+        Subscriber subscriber = new Subscriber(typeMask, handler, claimed.get());
+        subscriber.registration = tickEngine.schedule("events-" + name, phase, 1, subscriber::drain);
+        subscriber.registration.setActive(false);
+        subscribers.add(subscriber);
+    }
+
+    // ==================== Publishing ====================
+
+    /**
+     * Publish a player connect (never dropped)
+     */
+    public void publishConnect(PlayerRef player) {
+        publishLifecycle(PluginEventType.PLAYER_CONNECT, player);
+    }
+
+    /**
+     * Publish a player disconnect (never dropped)
+     */
+    public void publishDisconnect(PlayerRef player) {
+        publishLifecycle(PluginEventType.PLAYER_DISCONNECT, player);
+    }
+
+    /**
+     * Publish an F-key interaction with an entity (dropped if the ring is full)
+     */
+    public boolean publishEntityInteract(Ref<EntityStore> playerEntity, Ref<EntityStore> target) {
+        return tryPublish(PluginEventType.ENTITY_INTERACT, null, playerEntity, target, null, 0, 0, 0);
+    }
+
+    /**
+     * Publish an F-key use of a block (dropped if the ring is full)
+     */
+    public boolean publishBlockUse(Ref<EntityStore> playerEntity, String blockType, int x, int y, int z) {
+        return tryPublish(PluginEventType.BLOCK_USE, null, playerEntity, null, blockType, x, y, z);
+    }
+
+    /**
+     * Publish a right-click press (dropped if the ring is full)
+     */
+    public boolean publishRightClick(PlayerRef player) {
+        return tryPublish(PluginEventType.RIGHT_CLICK, player, null, null, null, 0, 0, 0);
+    }
+
+    private void publishLifecycle(PluginEventType type, PlayerRef player) {
+        for (Subscriber subscriber : subscribers) {
+            if ((subscriber.typeMask & type.mask) == 0) continue;
+            PluginEvent event = new PluginEvent();
+            event.set(type, player, null, null, null, 0, 0, 0);
+            subscriber.lifecycle.add(event);
+            subscriber.wake();
+        }
+    }
+
+    private boolean tryPublish(PluginEventType type, PlayerRef player, Ref<EntityStore> playerEntity,
+                               Ref<EntityStore> target, String blockType, int x, int y, int z) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - slowestCursor() >= ring.length) {
+                if (dropped.incrementAndGet() % 100 == 1) {
+                    LOG.warn("Event queue full ({} events dropped so far) - a subscriber is falling behind", dropped.get());
+                }
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        PluginEvent event = ring[(int) (sequence & mask)];
+        event.set(type, player, playerEntity, target, blockType, x, y, z);
+        event.sequence = sequence;  // Publish
+
+        // Wake parked subscribers - even those not interested have to move past the slot
+        for (Subscriber subscriber : subscribers) {
+            subscriber.wake();
+        }
+        return true;
+    }
+
+    private long slowestCursor() {
+        long slowest = Long.MAX_VALUE;
+        for (Subscriber subscriber : subscribers) {
+            slowest = Math.min(slowest, subscriber.cursor);
+        }
+        return slowest == Long.MAX_VALUE ? claimed.get() : slowest;
+    }
+
+    /**
+     * Receives events on the tick thread
+     */
+    @FunctionalInterface
+    public interface PluginEventHandler {
+        void onEvent(PluginEvent event);
+    }
+
+    /**
+     * One subscriber's position in the ring and its tick task
+     */
+    private final class Subscriber {
+        private final int typeMask;
+        private final PluginEventHandler handler;
+        private volatile long cursor;  // Next sequence to read; written by the tick thread only
+        private final ConcurrentLinkedQueue<PluginEvent> lifecycle = new ConcurrentLinkedQueue<>();
+        private TickEngine.Registration registration;
+
+        private Subscriber(int typeMask, PluginEventHandler handler, long cursor) {
+            this.typeMask = typeMask;
+            this.handler = handler;
+            this.cursor = cursor;
+        }
+
+        private void wake() {
+            if (!registration.isActive()) {
+                registration.setActive(true);
+            }
+        }
+
+        /**
+         * Tick task: handle published events in order, within the tick budget
+         */
+        private boolean drain(TickContext context) {
+            int handled = 0;
+
+            // Lifecycle events first: a connect is handled before the input that follows it
+            PluginEvent lifecycleEvent;
+            while ((lifecycleEvent = lifecycle.poll()) != null) {
+                handle(lifecycleEvent);
+                if (++handled % BATCH == 0 && context.isOverBudget()) {
+                    return true;
+                }
+            }
+
+            long next = cursor;
+            while (true) {
+                PluginEvent event = ring[(int) (next & mask)];
+                if (event.sequence != next) break;  // Not published yet
+
+                if ((typeMask & event.getType().mask) != 0) {
+                    handle(event);
+                }
+                cursor = ++next;  // Frees the slot once every subscriber is past it
+
+                if (++handled % BATCH == 0 && context.isOverBudget()) {
+                    return true;
+                }
+            }
+
+            // Caught up: park, then re-check so an event published meanwhile is not stranded
+            registration.setActive(false);
+            if (ring[(int) (next & mask)].sequence == next || !lifecycle.isEmpty()) {
+                registration.setActive(true);
+            }
+            return false;
+        }
+
+        private void handle(PluginEvent event) {
+            try {
+                handler.onEvent(event);
+            } catch (Exception e) {
+                LOG.error("Error handling {} event: {}", event.getType(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.friends.event;
+
+/**
+ * Kinds of events on the {@link PluginEventBus}
+ */
+public enum PluginEventType {
+    PLAYER_CONNECT,     // player
+    PLAYER_DISCONNECT,  // player
+    ENTITY_INTERACT,    // playerEntity, target (F key on an entity)
+    BLOCK_USE,          // playerEntity, block position, blockType (F key on a block)
+    RIGHT_CLICK;        // player (right mouse button pressed)
+
+    final int mask = 1 << ordinal();
+
+    /**
+     * Bit mask matching any of the given types, for {@link PluginEventBus#subscribe}
+     */
+    public static int maskOf(PluginEventType... types) {
+        int mask = 0;
+        for (PluginEventType type : types) {
+            mask |= type.mask;
+        }
+        return mask;
+    }
+}
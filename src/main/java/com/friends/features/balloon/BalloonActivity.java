@@ -0,0 +1,32 @@
+package com.friends.features.balloon;
+
+/**
+ * Activity state of a balloon, which decides how often it gets ticked.
+ *
+ * Intervals are in balloon system ticks (100ms each). Hibernating balloons
+ * are not ticked at all - they sit in the parked index until a player comes
+ * within interaction range or someone toggles them.
+ */
+public enum BalloonActivity {
+    HIBERNATING(0),   // Parked and nobody around: no per-tick cost
+    LANDED_IDLE(10),  // Parked with players nearby: checked once per second
+    FALLING(1),       // Dropping from spawn or descending after shutdown of the burner
+    FLYING(1);        // Burner lit, following the pilot
+
+    private final int tickInterval;
+
+    BalloonActivity(int tickInterval) {
+        this.tickInterval = tickInterval;
+    }
+
+    public int getTickInterval() {
+        return tickInterval;
+    }
+
+    /**
+     * Whether the balloon is sitting on the ground (idle or hibernating)
+     */
+    public boolean isParked() {
+        return this == HIBERNATING || this == LANDED_IDLE;
+    }
+}
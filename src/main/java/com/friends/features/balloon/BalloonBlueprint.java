@@ -0,0 +1,83 @@
+package com.friends.features.balloon;
+
+/**
+ * BalloonBlueprint - Pre-compiled block layout of a balloon vehicle
+ *
+ * Blueprints are parsed once at startup (see {@link BalloonBlueprints}) and
+ * flattened into parallel offset arrays, so spawning a balloon is a single
+ * loop over the layout without any parsing or per-block lookups.
+ *
+ * All offsets are relative to the anchor (center) block of the deck.
+ */
+public final class BalloonBlueprint {
+
+    private final String id;
+    private final String name;
+
+    // Flat layout: block i sits at (offsetX[i], offsetY[i], offsetZ[i]) with type palette[paletteIndex[i]]
+    private final int[] offsetX;
+    private final int[] offsetY;
+    private final int[] offsetZ;
+    private final byte[] paletteIndex;
+    private final String[] palette;
+
+    // Index of the anchor block in the layout arrays (tracked for position)
+    private final int anchorIndex;
+
+    // Brazier offset from the anchor, placed as a world block after landing
+    private final int toggleX;
+    private final int toggleY;
+    private final int toggleZ;
+
+    // Horizontal half extent of the layout, used for interaction range
+    private final int halfExtent;
+
+    // Number of layers above the deck (1 for a flat deck), used for boarding bounds
+    private final int height;
+
+    BalloonBlueprint(String id, String name, int[] offsetX, int[] offsetY, int[] offsetZ,
+                     byte[] paletteIndex, String[] palette, int anchorIndex,
+                     int toggleX, int toggleY, int toggleZ) {
+        this.id = id;
+        this.name = name;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.offsetZ = offsetZ;
+        this.paletteIndex = paletteIndex;
+        this.palette = palette;
+        this.anchorIndex = anchorIndex;
+        this.toggleX = toggleX;
+        this.toggleY = toggleY;
+        this.toggleZ = toggleZ;
+
+        int extent = 0;
+        int top = 0;
+        for (int i = 0; i < offsetX.length; i++) {
+            extent = Math.max(extent, Math.max(Math.abs(offsetX[i]), Math.abs(offsetZ[i])));
+            top = Math.max(top, offsetY[i]);
+        }
+        this.halfExtent = extent;
+        this.height = top + 1;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public int getBlockCount() { return offsetX.length; }
+    public int getOffsetX(int index) { return offsetX[index]; }
+    public int getOffsetY(int index) { return offsetY[index]; }
+    public int getOffsetZ(int index) { return offsetZ[index]; }
+    public String getBlockType(int index) { return palette[paletteIndex[index]]; }
+    public int getAnchorIndex() { return anchorIndex; }
+    public int getToggleX() { return toggleX; }
+    public int getToggleY() { return toggleY; }
+    public int getToggleZ() { return toggleZ; }
+    public int getHalfExtent() { return halfExtent; }
+    public int getHeight() { return height; }
+
+    /**
+     * Distance from the anchor within which a player counts as "at" this balloon
+     */
+    public double getInteractionRadius() {
+        return halfExtent + 1.5;
+    }
+}
@@ -0,0 +1,209 @@
+package com.friends.features.balloon;
+
+import com.friends.log.Log;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * BalloonBlueprints - Loads balloon blueprints from the plugin asset pack
+ *
+ * Blueprints live in Server/Friends/Balloons/ as small .properties files
+ * (see Basket.properties for the format) and are listed in index.properties.
+ * They are compiled into {@link BalloonBlueprint} offset arrays once, at startup.
+ */
+public class BalloonBlueprints {
+
+    private static final Log LOG = Log.get("Balloon");
+
+    private static final String BLUEPRINT_FOLDER = "Server/Friends/Balloons/";
+    private static final String INDEX_FILE = BLUEPRINT_FOLDER + "index.properties";
+
+    // Used when the asset pack has no blueprints at all
+    private static final String FALLBACK_ID = "Basket";
+    private static final String FALLBACK_BLOCK_TYPE = "Soil_Pebbles_Frozen";
+
+    private final Map<String, BalloonBlueprint> blueprints = new LinkedHashMap<>();
+    private BalloonBlueprint defaultBlueprint;
+
+    /**
+     * Load and compile all blueprints listed in the asset pack index
+     */
+    public void load(ClassLoader classLoader) {
+        blueprints.clear();
+
+        Properties index = readProperties(classLoader, INDEX_FILE);
+        if (index != null) {
+            for (String id : index.getProperty("Blueprints", "").split(",")) {
+                id = id.trim();
+                if (id.isEmpty()) continue;
+
+                Properties definition = readProperties(classLoader, BLUEPRINT_FOLDER + id + ".properties");
+                if (definition == null) {
+                    LOG.warn("Blueprint '{}' listed but not found", id);
+                    continue;
+                }
+
+                try {
+                    BalloonBlueprint blueprint = compile(id, definition);
+                    blueprints.put(id.toLowerCase(), blueprint);
+                    LOG.info("Loaded blueprint '{}' ({} blocks)", id, blueprint.getBlockCount());
+                } catch (IllegalArgumentException e) {
+                    LOG.warn("Invalid blueprint '{}': {}", id, e.getMessage());
+                }
+            }
+        }
+
+        if (blueprints.isEmpty()) {
+            LOG.warn("No blueprints found in asset pack, using built-in basket");
+            Properties fallback = new Properties();
+            fallback.setProperty("Legend.X", FALLBACK_BLOCK_TYPE);
+            fallback.setProperty("Layer.0", "XXX/XXX/XXX");
+            blueprints.put(FALLBACK_ID.toLowerCase(), compile(FALLBACK_ID, fallback));
+        }
+
+        String defaultId = index != null ? index.getProperty("Default", FALLBACK_ID) : FALLBACK_ID;
+        defaultBlueprint = blueprints.get(defaultId.trim().toLowerCase());
+        if (defaultBlueprint == null) {
+            defaultBlueprint = blueprints.values().iterator().next();
+        }
+    }
+
+    /**
+     * Get a blueprint by id (case-insensitive), or null if unknown
+     */
+    public BalloonBlueprint get(String id) {
+        if (id == null) return null;
+        return blueprints.get(id.toLowerCase());
+    }
+
+    public BalloonBlueprint getDefault() {
+        return defaultBlueprint;
+    }
+
+    public Set<String> getIds() {
+        return Collections.unmodifiableSet(blueprints.keySet());
+    }
+
+    /**
+     * Compile a blueprint definition into flat offset arrays
+     */
+    static BalloonBlueprint compile(String id, Properties definition) {
+        // Collect the block palette from the legend
+        List<String> palette = new ArrayList<>();
+        Map<Character, Integer> legend = new LinkedHashMap<>();
+        for (String key : definition.stringPropertyNames()) {
+            if (key.startsWith("Legend.") && key.length() == "Legend.".length() + 1) {
+                legend.put(key.charAt(key.length() - 1), palette.size());
+                palette.add(definition.getProperty(key).trim());
+            }
+        }
+        if (palette.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("too many block types");
+        }
+
+        // Parse layers bottom-up; layer 0 is the deck
+        List<String[]> layers = new ArrayList<>();
+        for (int layer = 0; definition.getProperty("Layer." + layer) != null; layer++) {
+            layers.add(definition.getProperty("Layer." + layer).split("/", -1));
+        }
+        if (layers.isEmpty()) {
+            throw new IllegalArgumentException("no Layer.0 defined");
+        }
+
+        String[] deck = layers.get(0);
+        int depth = deck.length;
+        int width = deck[0].length();
+
+        int anchorColumn = width / 2;
+        int anchorRow = depth / 2;
+        String anchor = definition.getProperty("Anchor");
+        if (anchor != null) {
+            int[] parsed = parseInts(anchor, 2);
+            anchorColumn = parsed[0];
+            anchorRow = parsed[1];
+        }
+
+        int count = 0;
+        for (String[] rows : layers) {
+            for (String row : rows) {
+                for (int col = 0; col < row.length(); col++) {
+                    if (legend.containsKey(row.charAt(col))) count++;
+                }
+            }
+        }
+
+        int[] offsetX = new int[count];
+        int[] offsetY = new int[count];
+        int[] offsetZ = new int[count];
+        byte[] paletteIndex = new byte[count];
+        int anchorIndex = -1;
+
+        int i = 0;
+        for (int layer = 0; layer < layers.size(); layer++) {
+            String[] rows = layers.get(layer);
+            for (int row = 0; row < rows.length; row++) {
+                String line = rows[row];
+                for (int col = 0; col < line.length(); col++) {
+                    Integer type = legend.get(line.charAt(col));
+                    if (type == null) continue;
+
+                    offsetX[i] = col - anchorColumn;
+                    offsetY[i] = layer;
+                    offsetZ[i] = row - anchorRow;
+                    paletteIndex[i] = (byte) (int) type;
+                    if (layer == 0 && col == anchorColumn && row == anchorRow) {
+                        anchorIndex = i;
+                    }
+                    i++;
+                }
+            }
+        }
+
+        if (anchorIndex < 0) {
+            throw new IllegalArgumentException("anchor " + anchorColumn + "," + anchorRow + " is not a deck block");
+        }
+
+        int[] toggle = parseInts(definition.getProperty("Toggle", "0,1,0"), 3);
+        String name = definition.getProperty("Name", id).trim();
+
+        return new BalloonBlueprint(id, name, offsetX, offsetY, offsetZ, paletteIndex,
+            palette.toArray(new String[0]), anchorIndex, toggle[0], toggle[1], toggle[2]);
+    }
+
+    private static int[] parseInts(String value, int expected) {
+        String[] parts = value.split(",");
+        if (parts.length != expected) {
+            throw new IllegalArgumentException("expected " + expected + " numbers in '" + value + "'");
+        }
+        int[] result = new int[expected];
+        for (int i = 0; i < expected; i++) {
+            try {
+                result[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("not a number in '" + value + "'");
+            }
+        }
+        return result;
+    }
+
+    private static Properties readProperties(ClassLoader classLoader, String path) {
+        try (InputStream in = classLoader.getResourceAsStream(path)) {
+            if (in == null) return null;
+            Properties properties = new Properties();
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return properties;
+        } catch (Exception e) {
+            LOG.error("Error reading {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.friends.features.balloon;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * BalloonInbox - Lock-free queue of balloon state transitions for one world
+ *
+ * Event listener and command threads submit transitions; only the world
+ * thread drains them, at the start of its balloon tick. Balloon flight state
+ * (flying, pilot, passengers, landed) is therefore only ever written on the world thread.
+ */
+final class BalloonInbox {
+
+    private final ConcurrentLinkedQueue<BalloonTransition> queue = new ConcurrentLinkedQueue<>();
+
+    void submit(BalloonTransition transition) {
+        queue.offer(transition);
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Apply every queued transition in submission order - world thread only
+     * @return number of transitions applied
+     */
+    int drain(Consumer<BalloonTransition> handler) {
+        int applied = 0;
+        BalloonTransition transition;
+        while ((transition = queue.poll()) != null) {
+            handler.accept(transition);
+            applied++;
+        }
+        return applied;
+    }
+}
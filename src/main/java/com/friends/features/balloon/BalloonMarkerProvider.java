@@ -0,0 +1,156 @@
+package com.friends.features.balloon;
+
+import com.friends.features.radar.MarkerProvider;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.protocol.Direction;
+import com.hypixel.hytale.protocol.Position;
+import com.hypixel.hytale.protocol.Transform;
+import com.hypixel.hytale.protocol.packets.worldmap.MapMarker;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+
+/**
+ * BalloonMarkerProvider - Shows balloons on the HUD compass and world map
+ *
+ * Markers join the radar's per-viewer UpdateWorldMap batch. Each balloon's
+ * marker is built once per change and shared by all viewers; the radar only
+ * re-sends it to a viewer when it changed. Flying balloons are checked every
+ * radar pass, parked ones only every few seconds.
+ *
+ * A balloon is shown to its owner, its passengers and the owner's friends.
+ * There are no friend lists yet (see PlayerRadarSystem#areFriends), so for
+ * now every player in the balloon's world sees it.
+ */
+public class BalloonMarkerProvider implements MarkerProvider {
+
+    private static final String MARKER_IMAGE = "Balloon.png";  // Icon in Common/UI/WorldMap/MapMarkers
+    private static final String MARKER_PREFIX = "balloon_";    // Prefix for marker keys and IDs
+    private static final double MOVE_THRESHOLD = 2.0;          // Re-send a marker once the balloon moved this far
+    private static final int PARKED_CHECK_PASSES = 20;         // Parked balloons: look for changes every 20 passes (10s)
+
+    private final BalloonSystem balloonSystem;
+    private final BiPredicate<UUID, UUID> areFriends;
+
+    // Cached marker per balloon id - radar thread only
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    // Markers of the current pass by world (replaced each pass, read by connect handlers too)
+    private volatile Map<UUID, List<Entry>> entriesByWorld = Map.of();
+
+    private long pass;
+    private long revision;
+
+    /**
+     * @param areFriends whether the second player may see the first player's balloons
+     */
+    public BalloonMarkerProvider(BalloonSystem balloonSystem, BiPredicate<UUID, UUID> areFriends) {
+        this.balloonSystem = balloonSystem;
+        this.areFriends = areFriends;
+    }
+
+    @Override
+    public void beginPass() {
+        pass++;
+        Map<UUID, List<Entry>> byWorld = new HashMap<>();
+        Map<Integer, Entry> live = new HashMap<>();
+
+        for (BalloonSystem.Balloon balloon : balloonSystem.getBalloons()) {
+            Entry entry = entries.get(balloon.getId());
+            boolean flying = balloon.isFlying() || !balloon.getActivity().isParked();
+
+            // Parked balloons rarely change - only look at them every few seconds
+            if (entry == null || flying || entry.flying || pass % PARKED_CHECK_PASSES == 0) {
+                Vector3d pos = balloon.getLastKnownPosition();
+                if (entry == null || entry.flying != flying || entry.distanceTo(pos) > MOVE_THRESHOLD) {
+                    entry = new Entry(balloon, createMarker(balloon, pos, flying), pos, flying);
+                }
+            }
+
+            live.put(balloon.getId(), entry);
+            byWorld.computeIfAbsent(balloon.getWorldUuid(), k -> new ArrayList<>()).add(entry);
+        }
+
+        entries.clear();
+        entries.putAll(live);
+        entriesByWorld = byWorld;
+    }
+
+    @Override
+    public void collectMarkers(PlayerRef viewer, MarkerSink sink) {
+        List<Entry> inWorld = entriesByWorld.get(viewer.getWorldUuid());
+        if (inWorld == null) return;
+
+        UUID viewerUuid = viewer.getUuid();
+        for (Entry entry : inWorld) {
+            if (canSee(entry.balloon, viewerUuid)) {
+                sink.add(entry.key, entry.marker);
+            }
+        }
+    }
+
+    /**
+     * Only awake balloons keep the radar going - a hibernating balloon has nobody
+     * near it and its marker does not change, so a lone player already has it
+     */
+    @Override
+    public boolean hasMarkers() {
+        return balloonSystem.hasAwakeBalloons();
+    }
+
+    @Override
+    public void setChangeListener(Runnable listener) {
+        balloonSystem.addActivityListener(listener);
+    }
+
+    private boolean canSee(BalloonSystem.Balloon balloon, UUID viewerUuid) {
+        UUID owner = balloon.getOwner();
+        if (owner == null || owner.equals(viewerUuid)) return true;
+        if (balloon.getPassengers().contains(viewerUuid)) return true;
+        return areFriends.test(owner, viewerUuid);
+    }
+
+    private MapMarker createMarker(BalloonSystem.Balloon balloon, Vector3d pos, boolean flying) {
+        // New ID per version so the client replaces the old marker
+        String markerId = MARKER_PREFIX + balloon.getId() + "_" + (++revision);
+        String displayName = balloon.getBlueprint().getName() + " #" + balloon.getId() + (flying ? " (flying)" : "");
+
+        Transform transform = new Transform(new Position(pos.x, pos.y, pos.z), new Direction());
+        return new MapMarker(markerId, displayName, MARKER_IMAGE, transform, null);
+    }
+
+    /**
+     * Marker of one balloon as last built
+     */
+    private static final class Entry {
+        private final BalloonSystem.Balloon balloon;
+        private final String key;
+        private final MapMarker marker;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final boolean flying;
+
+        private Entry(BalloonSystem.Balloon balloon, MapMarker marker, Vector3d pos, boolean flying) {
+            this.balloon = balloon;
+            this.key = MARKER_PREFIX + balloon.getId();
+            this.marker = marker;
+            this.x = pos.x;
+            this.y = pos.y;
+            this.z = pos.z;
+            this.flying = flying;
+        }
+
+        private double distanceTo(Vector3d pos) {
+            double dx = pos.x - x;
+            double dy = pos.y - y;
+            double dz = pos.z - z;
+            return Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.friends.features.balloon;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.friends.session.PlayerSessions;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Landing notices for one world, collected during a world tick and sent at
+ * its end as a single message per recipient, however many balloons landed.
+ *
+ * World thread only.
+ */
+final class BalloonNotices {
+
+    // Recipient -> balloon ids that landed this tick
+    private final Map<UUID, List<Integer>> landings = new HashMap<>();
+
+    /**
+     * Tell a player about a landing (once per balloon per tick)
+     */
+    void landed(UUID recipient, int balloonId) {
+        List<Integer> ids = landings.computeIfAbsent(recipient, k -> new ArrayList<>(2));
+        if (!ids.contains(balloonId)) {
+            ids.add(balloonId);
+        }
+    }
+
+    boolean isEmpty() {
+        return landings.isEmpty();
+    }
+
+    /**
+     * Send one combined message to each recipient that is still online
+     */
+    void flush(PlayerSessions sessions) {
+        for (Map.Entry<UUID, List<Integer>> entry : landings.entrySet()) {
+            PlayerRef player = sessions.getPlayer(entry.getKey());
+            if (player == null) continue;
+
+            List<Integer> ids = entry.getValue();
+            String text = ids.size() == 1
+                ? "[Balloon] Balloon #" + ids.get(0) + " has landed! Press F on the brazier to activate."
+                : "[Balloon] " + ids.size() + " balloons have landed nearby: #" + joinIds(ids) + ". Press F on a brazier to activate.";
+            player.sendMessage(Message.raw(text).color(Color.GREEN));
+        }
+        landings.clear();
+    }
+
+    private static String joinIds(List<Integer> ids) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) builder.append(", #");
+            builder.append(ids.get(i));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,238 @@
+package com.friends.features.balloon;
+
+import com.friends.log.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * BalloonPersistence - Compact binary snapshot of all balloons
+ *
+ * Snapshots are written on a background thread so the balloon loop never
+ * waits on disk. Only the latest snapshot matters: if a write is still
+ * queued when a newer one arrives, the older one is dropped.
+ *
+ * File layout (big endian):
+ *   int magic, short version, int count, then per balloon:
+ *   int id, long worldMost, long worldLeast, double x, y, z,
+ *   UTF blueprintId, byte flags, [int brazierX, brazierY, brazierZ],
+ *   [long ownerMost, long ownerLeast]
+ *
+ * Version 1 files (no owner) are still read.
+ */
+public class BalloonPersistence {
+
+    private static final Log LOG = Log.get("Balloon");
+
+    private static final int MAGIC = 0x46424C4E; // "FBLN"
+    private static final short VERSION = 2;
+    private static final String FILE_NAME = "balloons.bin";
+
+    private static final byte FLAG_LANDED = 1;
+    private static final byte FLAG_FLYING = 2;
+    private static final byte FLAG_BRAZIER = 4;
+    private static final byte FLAG_OWNER = 8;
+
+    private final Path file;
+
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Friends-BalloonStore");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Latest snapshot waiting to be written (null when nothing is queued)
+    private final AtomicReference<List<BalloonSnapshot>> pendingWrite = new AtomicReference<>();
+
+    public BalloonPersistence(Path dataDirectory) {
+        this.file = dataDirectory.resolve(FILE_NAME);
+    }
+
+    /**
+     * Queue a snapshot to be written in the background
+     */
+    public void saveAsync(List<BalloonSnapshot> snapshots) {
+        if (pendingWrite.getAndSet(snapshots) != null) {
+            return; // A write is already queued and will pick up this newer snapshot
+        }
+        ioExecutor.execute(() -> {
+            List<BalloonSnapshot> latest = pendingWrite.getAndSet(null);
+            if (latest != null) {
+                write(latest);
+            }
+        });
+    }
+
+    /**
+     * Read the last snapshot in the background (empty list if there is none)
+     */
+    public CompletableFuture<List<BalloonSnapshot>> loadAsync() {
+        return CompletableFuture.supplyAsync(this::read, ioExecutor);
+    }
+
+    /**
+     * Finish any queued write and stop the writer thread
+     */
+    public void shutdown() {
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOG.warn("Timed out writing balloon snapshot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<BalloonSnapshot> snapshots) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeInt(snapshots.size());
+                for (BalloonSnapshot snapshot : snapshots) {
+                    out.writeInt(snapshot.getId());
+                    out.writeLong(snapshot.getWorldUuid().getMostSignificantBits());
+                    out.writeLong(snapshot.getWorldUuid().getLeastSignificantBits());
+                    out.writeDouble(snapshot.getX());
+                    out.writeDouble(snapshot.getY());
+                    out.writeDouble(snapshot.getZ());
+                    out.writeUTF(snapshot.getBlueprintId());
+
+                    byte flags = 0;
+                    if (snapshot.isLanded()) flags |= FLAG_LANDED;
+                    if (snapshot.isFlying()) flags |= FLAG_FLYING;
+                    if (snapshot.hasBrazier()) flags |= FLAG_BRAZIER;
+                    if (snapshot.getOwner() != null) flags |= FLAG_OWNER;
+                    out.writeByte(flags);
+
+                    if (snapshot.hasBrazier()) {
+                        out.writeInt(snapshot.getBrazierX());
+                        out.writeInt(snapshot.getBrazierY());
+                        out.writeInt(snapshot.getBrazierZ());
+                    }
+                    if (snapshot.getOwner() != null) {
+                        out.writeLong(snapshot.getOwner().getMostSignificantBits());
+                        out.writeLong(snapshot.getOwner().getLeastSignificantBits());
+                    }
+                }
+            }
+
+            // Swap in atomically so a crash mid-write never leaves a truncated snapshot
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.error("Error saving balloons: {}", e.getMessage());
+        }
+    }
+
+    private List<BalloonSnapshot> read() {
+        List<BalloonSnapshot> snapshots = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return snapshots;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                LOG.warn("{} is not a balloon snapshot, ignoring", file);
+                return snapshots;
+            }
+            short version = in.readShort();
+            if (version < 1 || version > VERSION) {
+                LOG.warn("Unsupported balloon snapshot version {}, ignoring", version);
+                return snapshots;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                UUID worldUuid = new UUID(in.readLong(), in.readLong());
+                double x = in.readDouble();
+                double y = in.readDouble();
+                double z = in.readDouble();
+                String blueprintId = in.readUTF();
+                byte flags = in.readByte();
+
+                boolean hasBrazier = (flags & FLAG_BRAZIER) != 0;
+                int brazierX = hasBrazier ? in.readInt() : 0;
+                int brazierY = hasBrazier ? in.readInt() : 0;
+                int brazierZ = hasBrazier ? in.readInt() : 0;
+                UUID owner = (flags & FLAG_OWNER) != 0 ? new UUID(in.readLong(), in.readLong()) : null;
+
+                snapshots.add(new BalloonSnapshot(id, worldUuid, x, y, z, blueprintId,
+                    (flags & FLAG_LANDED) != 0, (flags & FLAG_FLYING) != 0,
+                    hasBrazier, brazierX, brazierY, brazierZ, owner));
+            }
+        } catch (IOException e) {
+            LOG.error("Error loading balloons: {}", e.getMessage());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Saved state of a single balloon
+     */
+    public static final class BalloonSnapshot {
+        private final int id;
+        private final UUID worldUuid;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final String blueprintId;
+        private final boolean landed;
+        private final boolean flying;
+        private final boolean hasBrazier;
+        private final int brazierX;
+        private final int brazierY;
+        private final int brazierZ;
+        private final UUID owner;  // Null for balloons saved before owners were tracked
+
+        public BalloonSnapshot(int id, UUID worldUuid, double x, double y, double z, String blueprintId,
+                               boolean landed, boolean flying,
+                               boolean hasBrazier, int brazierX, int brazierY, int brazierZ, UUID owner) {
+            this.id = id;
+            this.worldUuid = worldUuid;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.blueprintId = blueprintId;
+            this.landed = landed;
+            this.flying = flying;
+            this.hasBrazier = hasBrazier;
+            this.brazierX = brazierX;
+            this.brazierY = brazierY;
+            this.brazierZ = brazierZ;
+            this.owner = owner;
+        }
+
+        public int getId() { return id; }
+        public UUID getWorldUuid() { return worldUuid; }
+        public double getX() { return x; }
+        public double getY() { return y; }
+        public double getZ() { return z; }
+        public String getBlueprintId() { return blueprintId; }
+        public boolean isLanded() { return landed; }
+        public boolean isFlying() { return flying; }
+        public boolean hasBrazier() { return hasBrazier; }
+        public int getBrazierX() { return brazierX; }
+        public int getBrazierY() { return brazierY; }
+        public int getBrazierZ() { return brazierZ; }
+        public UUID getOwner() { return owner; }
+    }
+}
@@ -3,7 +3,6 @@ package com.friends.features.balloon;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
-import com.hypixel.hytale.server.core.universe.world.accessor.BlockAccessor;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.entity.entities.BlockEntity;
@@ -22,194 +21,644 @@ import com.hypixel.hytale.component.AddReason;
 import com.hypixel.hytale.component.RemoveReason;
 
 import com.hypixel.hytale.protocol.packets.world.SpawnParticleSystem;
+import com.hypixel.hytale.server.core.asset.type.particle.config.ParticleSystem;
+import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
 import com.hypixel.hytale.protocol.Position;
 import com.hypixel.hytale.protocol.Direction;
 import com.hypixel.hytale.protocol.Color;
-
+import com.friends.features.balloon.flight.Autopilot;
+import com.friends.features.balloon.flight.AutopilotPlanner;
+import com.friends.features.balloon.flight.BalloonFlightSimulator;
+import com.friends.features.balloon.flight.BalloonFlightState;
+import com.friends.features.balloon.flight.ClearanceGrid;
+import com.friends.features.balloon.flight.WindField;
+import com.friends.event.PluginEvent;
+import com.friends.event.PluginEventBus;
+import com.friends.event.PluginEventType;
+import com.friends.log.Log;
+import com.friends.session.PlayerSession;
+import com.friends.session.PlayerSessions;
+import com.friends.session.SessionKey;
+import com.friends.tick.TickContext;
+import com.friends.tick.TickEngine;
+import com.friends.tick.TickPhase;
+import com.friends.util.EntityRefIndex;
+import com.friends.util.PlayerPositions;
+
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * BalloonSystem - Hot Air Balloon vehicle using real BlockEntity
  *
- * Creates a 3x3 physical balloon platform that players can stand on.
+ * Creates a physical balloon platform that players can stand on, laid out
+ * from a {@link BalloonBlueprint} (3x3 basket by default, up to large airships).
  * Uses the same technique as the flying cube experiment.
  */
 public class BalloonSystem {
 
+    private static final Log LOG = Log.get("Balloon");
+
     // All balloons in the world (balloonId -> Balloon)
     private final Map<Integer, Balloon> balloons = new ConcurrentHashMap<>();
 
-    // Which player is riding which balloon (playerUUID -> balloonId)
-    private final Map<UUID, Integer> playerBalloons = new ConcurrentHashMap<>();
+    // Which balloon a player is riding, on their session (the balloon lets them go when they disconnect)
+    private final SessionKey<Integer> ridingKey;
 
-    // Online players reference (shared with radar)
-    private final Map<UUID, PlayerRef> onlinePlayers;
+    // Online players
+    private final PlayerSessions sessions;
 
     // Balloon ID counter
     private final AtomicInteger nextBalloonId = new AtomicInteger(1);
 
-    // Block type for the balloon basket and toggle
-    private static final String BALLOON_BLOCK_TYPE = "Soil_Pebbles_Frozen";
+    // Blueprints loaded from the asset pack (compiled at startup)
+    private final BalloonBlueprints blueprints = new BalloonBlueprints();
+
+    // Collision config shared by every platform block, resolved once at startup
+    private HitboxCollisionConfig platformCollision;
+
     // Custom pack block with FriendsBalloonToggle interaction defined
     // This works with world.setBlock() (unlike BlockEntity.assembleDefaultBlockEntity())
     private static final String TOGGLE_BLOCK_TYPE = "Friends_Balloon_Brazier";
 
-    // Map ALL block entity refs to balloon IDs for interaction handling
-    private final Map<Ref<EntityStore>, Integer> blockToBalloon = new ConcurrentHashMap<>();
+    // Map ALL block entity refs to balloon IDs for interaction handling (keyed by ref identity)
+    private final EntityRefIndex<Integer> blockToBalloon = new EntityRefIndex<>();
+
+    // Map brazier world block positions (packed, see positionKey) to balloon IDs (for UseBlockEvent)
+    private final Map<Long, Integer> brazierPositionToBalloon = new ConcurrentHashMap<>();
+
+    // Flight model (fixed 100ms timestep, shared with offline tools)
+    private final BalloonFlightSimulator flightSimulator = new BalloonFlightSimulator();
+
+    // Passengers board by standing within the balloon's bounds, and leave once clear of them by this margin
+    private static final double BOARDING_HEADROOM = 2.5;  // Blocks above the top layer that still count as aboard
+    private static final double LEAVE_MARGIN = 1.0;
+
+    // Burner particles: resolved once at startup, shown to everyone within view distance
+    private static final String[] FIRE_PARTICLE_CANDIDATES = {"Flame", "Fire", "Torch_Fire", "Campfire", "Ember"};
+    private static final double PARTICLE_VIEW_DISTANCE = 64.0;
+    private static final Direction FIRE_DIRECTION = new Direction(0, 0, 0);
+    private static final Color FIRE_COLOR = new Color((byte) 255, (byte) 128, (byte) 0); // Orange fire color
+    private volatile String fireParticleId;
+
+    // Landing notices go to the owner, passengers and players within this range - never server-wide
+    private static final double NOTICE_RANGE = 48.0;
+    private final Map<UUID, BalloonNotices> noticesByWorld = new ConcurrentHashMap<>();
+
+    // Per-balloon updates (messages, particles) queued during a world tick, sent once at its end
+    private final Map<UUID, List<Balloon>> fanoutQueues = new ConcurrentHashMap<>();
+
+    // Due balloons a world tick had no time left for, updated first on the next one (written on the world thread)
+    private final Map<UUID, List<Balloon>> worldBacklogs = new ConcurrentHashMap<>();
+    // World-thread time balloon physics may take per world tick (-Dfriends.worldBudgetMs=N)
+    private static final long WORLD_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("friends.worldBudgetMs", 5));
+
+    // Terrain providers for the flight model, one per world
+    private final Map<UUID, WorldTerrain> terrains = new ConcurrentHashMap<>();
+
+    // Wind fields, one per world (only touched on that world's thread)
+    private final Map<UUID, WindField> windFields = new ConcurrentHashMap<>();
+
+    // Autopilot: terrain clearance per world, routes planned on a background thread
+    private final Map<UUID, ClearanceGrid> clearanceGrids = new ConcurrentHashMap<>();
+    private final AutopilotPlanner autopilotPlanner = new AutopilotPlanner(flightSimulator);
+
+    // Balloons by world, for nearest-balloon lookups
+    private final Map<UUID, Set<Balloon>> balloonsByWorld = new ConcurrentHashMap<>();
+
+    // Cells around every balloon, sorted, per world, for event filters (see isNearBalloon)
+    private volatile Map<UUID, long[]> balloonCells = Map.of();
+    private volatile boolean balloonCellsDirty;
+    private static final double FILTER_REACH = 4.0;  // Blocks beyond a balloon's interaction radius still let events through
+
+    // Balloons that get ticked - everything except hibernating balloons
+    private final Set<Balloon> awakeBalloons = ConcurrentHashMap.newKeySet();
+
+    // Parked (idle or hibernating) balloons by 16x16 block cell, for player proximity checks
+    private final Map<Long, Set<Balloon>> parkedByCell = new ConcurrentHashMap<>();
+
+    // Hibernation parameters
+    private static final int PROXIMITY_CHECK_TICKS = 10;    // Look for players near parked balloons every second
+    private static final long HIBERNATE_AFTER_TICKS = 300;  // Hibernate after 30s without a player nearby
+    private static final double WAKE_MARGIN = 2.0;          // Wake a bit before the player is in interaction range
+
+    // Number of update ticks since start
+    private volatile long tickCounter = 0;
 
-    // Map brazier world block positions to balloon IDs (for UseBlockEvent)
-    private final Map<String, Integer> brazierPositionToBalloon = new ConcurrentHashMap<>();
+    // Persistence - snapshot all balloons every minute and at shutdown
+    private static final int SAVE_INTERVAL_TICKS = 600;
+    private final BalloonPersistence persistence;
 
-    // Flight parameters
-    private static final double FLIGHT_HEIGHT = 10.0;  // Height above ground when flying
-    private static final double ASCENT_SPEED = 1.0;    // Velocity for rising (blocks/sec)
-    private static final double HOVER_SPEED = 0.0;     // No movement when hovering
-    private static final double DESCENT_SPEED = 1.0;   // Velocity for landing
-    private static final double HORIZONTAL_SPEED = 1.5; // Speed for horizontal movement
-    private static final double BOARDING_RADIUS = 2.0; // How close to board (center of 3x3)
+    // Saved balloons waiting for their world to load (worldUuid -> snapshots)
+    private final Map<UUID, List<BalloonPersistence.BalloonSnapshot>> pendingRestores = new ConcurrentHashMap<>();
 
-    // Update interval
-    private static final long UPDATE_INTERVAL_MS = 100; // 10 updates per second
+    // Pending state transitions per world, drained on the world thread at tick start
+    private final Map<UUID, BalloonInbox> inboxes = new ConcurrentHashMap<>();
 
-    // Scheduler for updates
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-    private ScheduledFuture<?> updateTask;
+    // Updates run on the plugin tick engine, one balloon tick per engine tick (100ms).
+    // The tasks are only active while there are balloons (or balloons waiting to be restored).
+    private final TickEngine tickEngine;
+    private TickEngine.Registration snapshotTask;
+    private TickEngine.Registration updateTask;
+    private final Object loopLock = new Object();
+    private volatile boolean loopActive;
+    private volatile boolean anyAwake;  // Guarded by loopLock for writes
+    private volatile boolean shuttingDown;
+    private final List<Runnable> activityListeners = new CopyOnWriteArrayList<>();
 
-    public BalloonSystem(Map<UUID, PlayerRef> onlinePlayers) {
-        this.onlinePlayers = onlinePlayers;
+    // Player positions captured in the snapshot phase of the current tick (tick thread only)
+    private PlayerPositions tickPositions = PlayerPositions.empty();
+
+    // Resolves a player entity ref from an interaction to the player's UUID
+    private final Function<Ref<EntityStore>, UUID> playerLookup;
+
+    /**
+     * @param playerLookup resolves player entity refs to player UUIDs (null if not an online player)
+     */
+    public BalloonSystem(PlayerSessions sessions, Path dataDirectory, TickEngine tickEngine,
+                         PluginEventBus eventBus, Function<Ref<EntityStore>, UUID> playerLookup) {
+        this.sessions = sessions;
+        this.ridingKey = sessions.createKey("balloon.riding", this::onRiderSessionClosed);
+        this.persistence = new BalloonPersistence(dataDirectory);
+        this.tickEngine = tickEngine;
+        this.playerLookup = playerLookup;
+
+        // Registered before the update task, so input is applied before the balloons are ticked
+        eventBus.subscribe("balloon", TickPhase.SIMULATION,
+            PluginEventType.maskOf(PluginEventType.ENTITY_INTERACT, PluginEventType.BLOCK_USE, PluginEventType.RIGHT_CLICK),
+            this::onEvent);
     }
 
     /**
      * Start the balloon update loop
      */
     public void start() {
-        System.out.println("[Balloon] Starting balloon vehicle system...");
-        updateTask = scheduler.scheduleAtFixedRate(
-            this::update,
-            UPDATE_INTERVAL_MS,
-            UPDATE_INTERVAL_MS,
-            TimeUnit.MILLISECONDS
-        );
+        LOG.info("Starting balloon vehicle system...");
+
+        // Compile blueprints and resolve shared assets once, not per spawned block
+        blueprints.load(BalloonSystem.class.getClassLoader());
+        platformCollision = HitboxCollisionConfig.getAssetMap().getAsset("HardCollision");
+        if (platformCollision == null) {
+            LOG.warn("HardCollision config not found, platforms will have no hitbox");
+        }
+        fireParticleId = resolveFireParticleId();
+        if (fireParticleId == null) {
+            LOG.warn("No fire particle system found, burners will not show particles");
+        }
+
+        snapshotTask = tickEngine.schedule("balloon-snapshot", TickPhase.SNAPSHOT, 1, this::capturePositions);
+        updateTask = tickEngine.schedule("balloon-update", TickPhase.SIMULATION, 1, this::update);
+        updateLoopActivity();  // Dormant until the first spawn or restore
+
+        // Restore saved balloons in the background - start() must not wait on disk or spawning
+        persistence.loadAsync().thenAccept(this::queueRestore);
     }
 
     // Height to spawn balloon above player (will fall down)
     private static final double SPAWN_HEIGHT_OFFSET = 30.0;
 
     /**
-     * Spawn a new 3x3 balloon platform at the given position
+     * Spawn a new balloon using the default blueprint
+     */
+    public int spawnBalloon(Vector3d position, UUID worldUuid, Store<EntityStore> entityStore, float playerYaw, UUID ownerUuid) {
+        return spawnBalloon(position, worldUuid, entityStore, playerYaw, blueprints.getDefault(), ownerUuid);
+    }
+
+    /**
+     * Spawn a new balloon platform at the given position, laid out from a blueprint
      * Spawns HIGH in the sky and lets it fall down to land naturally
      * Must be called with access to the entity store (from a command context)
      */
-    public int spawnBalloon(Vector3d position, UUID worldUuid, Store<EntityStore> entityStore, float playerYaw) {
+    public int spawnBalloon(Vector3d position, UUID worldUuid, Store<EntityStore> entityStore, float playerYaw,
+                            BalloonBlueprint blueprint, UUID ownerUuid) {
         try {
+            // Keep larger vehicles clear of the player when they come down
+            double spawnDistance = 5.0 + blueprint.getHalfExtent();
+
             // Calculate spawn position 5 units in front of player, HIGH in the sky
             double forwardX = -Math.sin(playerYaw);
             double forwardZ = Math.cos(playerYaw);
-            double spawnX = position.x + forwardX * 5.0;
-            double spawnZ = position.z + forwardZ * 5.0;
+            double spawnX = position.x + forwardX * spawnDistance;
+            double spawnZ = position.z + forwardZ * spawnDistance;
             double spawnY = position.y + SPAWN_HEIGHT_OFFSET;  // Spawn HIGH, will fall down
 
-            System.out.println("[Balloon] Spawning balloon at height " + spawnY + " (player at " + position.y + ")");
+            LOG.debug("Spawning balloon at height {} (player at {})", spawnY, position.y);
 
             // Get TimeResource for entity creation
             TimeResource timeResource = entityStore.getResource(TimeResource.getResourceType());
 
-            List<Ref<EntityStore>> blockRefs = new ArrayList<>();
-            Ref<EntityStore> centerRef = null;
+            // The brazier will be placed AFTER landing (world blocks can't move)
+            List<Ref<EntityStore>> blockRefs = spawnPlatform(entityStore, timeResource, blueprint, spawnX, spawnY, spawnZ, true);
 
-            // Get the world for placing world blocks
-            World world = Universe.get().getWorld(worldUuid);
+            int id = nextBalloonId.getAndIncrement();
+            Vector3d centerPos = new Vector3d(spawnX, spawnY, spawnZ);
+            Balloon balloon = new Balloon(id, blueprint, blockRefs, blockRefs.get(blueprint.getAnchorIndex()),
+                entityStore, worldUuid, centerPos);
+            balloon.setOwner(ownerUuid);
 
-            // Create 3x3 platform of BlockEntities
-            // The center brazier will be placed AFTER landing (world blocks can't move)
-            for (int dx = -1; dx <= 1; dx++) {
-                for (int dz = -1; dz <= 1; dz++) {
-                    Vector3d blockPos = new Vector3d(spawnX + dx, spawnY, spawnZ + dz);
-                    boolean isCenter = (dx == 0 && dz == 0);
-
-                    // Create BlockEntity for ALL 9 positions (full 3x3 platform)
-                    // Brazier will be placed as WORLD BLOCK on top after landing
-                    String blockType = BALLOON_BLOCK_TYPE;
-
-                    Holder<EntityStore> holder = BlockEntity.assembleDefaultBlockEntity(
-                        timeResource,
-                        blockType,
-                        blockPos
-                    );
-
-                    HitboxCollisionConfig config = HitboxCollisionConfig.getAssetMap().getAsset("HardCollision");
-                    if (config != null) {
-                        holder.addComponent(HitboxCollision.getComponentType(), new HitboxCollision(config));
-                    }
+            // Store target landing position (X/Z only - Y will be determined when landed)
+            int targetX = (int) Math.floor(spawnX);
+            int targetZ = (int) Math.floor(spawnZ);
+            balloon.setTargetLandingPos(new Vector3i(targetX, 0, targetZ));  // Y=0 placeholder
+            balloon.setLanded(false);  // Not landed yet
 
-                    Ref<EntityStore> blockRef = entityStore.addEntity(holder, AddReason.SPAWN);
-                    blockRefs.add(blockRef);
+            registerBalloon(balloon);  // FALLING until it lands
 
-                    // Track center block for position tracking
-                    if (isCenter) {
-                        centerRef = blockRef;
-                    }
+            LOG.info("Spawned {} balloon #{} ({} blocks) at height {} - will land at X={}, Z={}",
+                blueprint.getId(), id, blockRefs.size(), spawnY, targetX, targetZ);
+            return id;
 
-                    // Enable gravity and apply downward velocity to make blocks fall
-                    BlockEntity block = entityStore.getComponent(blockRef, BlockEntity.getComponentType());
-                    if (block != null && block.getSimplePhysicsProvider() != null) {
-                        var physics = block.getSimplePhysicsProvider();
-                        var boundingBox = block.createBoundingBoxComponent();
-                        if (boundingBox != null) {
-                            // Set gravity to 1.0 (normal gravity)
-                            physics.setGravity(1.0, boundingBox);
-                        }
-                        // Apply initial downward velocity to start falling
-                        physics.setVelocity(new Vector3d(0, -0.5, 0));
+        } catch (Exception e) {
+            LOG.error("Error spawning balloon: {}", e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * Create the platform BlockEntities from the precompiled blueprint layout.
+     * Refs are returned in layout order, so the anchor block is at the blueprint's anchor index.
+     * @param falling true to enable gravity and start falling, false to spawn resting in place
+     */
+    private List<Ref<EntityStore>> spawnPlatform(Store<EntityStore> entityStore, TimeResource timeResource,
+                                                 BalloonBlueprint blueprint, double x, double y, double z,
+                                                 boolean falling) {
+        int blockCount = blueprint.getBlockCount();
+        List<Ref<EntityStore>> blockRefs = new ArrayList<>(blockCount);
+        HitboxCollisionConfig collision = platformCollision;
+
+        for (int i = 0; i < blockCount; i++) {
+            Vector3d blockPos = new Vector3d(
+                x + blueprint.getOffsetX(i),
+                y + blueprint.getOffsetY(i),
+                z + blueprint.getOffsetZ(i)
+            );
+
+            Holder<EntityStore> holder = BlockEntity.assembleDefaultBlockEntity(
+                timeResource,
+                blueprint.getBlockType(i),
+                blockPos
+            );
+
+            if (collision != null) {
+                holder.addComponent(HitboxCollision.getComponentType(), new HitboxCollision(collision));
+            }
+
+            Ref<EntityStore> blockRef = entityStore.addEntity(holder, AddReason.SPAWN);
+            blockRefs.add(blockRef);
+
+            // Enable gravity and apply downward velocity to make blocks fall (or pin them in place)
+            BlockEntity block = entityStore.getComponent(blockRef, BlockEntity.getComponentType());
+            if (block != null && block.getSimplePhysicsProvider() != null) {
+                var physics = block.getSimplePhysicsProvider();
+                var boundingBox = block.createBoundingBoxComponent();
+                if (boundingBox != null) {
+                    // Normal gravity while falling, none once landed
+                    physics.setGravity(falling ? 1.0 : 0.0, boundingBox);
+                }
+                physics.setVelocity(new Vector3d(0, falling ? -0.5 : 0.0, 0));
+            }
+        }
+
+        return blockRefs;
+    }
+
+    /**
+     * Start tracking a newly created balloon
+     */
+    private void registerBalloon(Balloon balloon) {
+        balloons.put(balloon.getId(), balloon);
+        balloonsByWorld.computeIfAbsent(balloon.getWorldUuid(), k -> ConcurrentHashMap.newKeySet()).add(balloon);
+        awakeBalloons.add(balloon);
+
+        // Map blocks to balloon for interaction handling
+        for (Ref<EntityStore> blockRef : balloon.getBlockRefs()) {
+            blockToBalloon.put(blockRef, balloon.getId());
+        }
+        balloonCellsDirty = true;
+        updateLoopActivity();
+        updateAwakeState();
+    }
+
+    // ==================== Activation ====================
+
+    /**
+     * Run the update loop only while there is something to update: balloons,
+     * saved balloons waiting for their world, or queued transitions
+     */
+    private void updateLoopActivity() {
+        boolean changed;
+        boolean active;
+        synchronized (loopLock) {
+            active = !shuttingDown && (!balloons.isEmpty() || !pendingRestores.isEmpty() || hasQueuedTransitions());
+            changed = active != loopActive;
+            loopActive = active;
+            if (snapshotTask != null) {
+                snapshotTask.setActive(active);
+                updateTask.setActive(active);
+            }
+        }
+        if (!changed) return;
+
+        LOG.info("Balloon loop {}", active ? "started" : "stopped (no balloons)");
+        if (!active && !shuttingDown) {
+            // The periodic save stops with the loop - record that the last balloon is gone
+            persistence.saveAsync(snapshotBalloons());
+        }
+        notifyActivityListeners();
+    }
+
+    /**
+     * Tell listeners when the first balloon wakes up or the last one hibernates
+     */
+    private void updateAwakeState() {
+        boolean awake;
+        synchronized (loopLock) {
+            awake = !awakeBalloons.isEmpty();
+            if (awake == anyAwake) return;
+            anyAwake = awake;
+        }
+        notifyActivityListeners();
+    }
+
+    private void notifyActivityListeners() {
+        for (Runnable listener : activityListeners) {
+            listener.run();
+        }
+    }
+
+    private boolean hasQueuedTransitions() {
+        for (BalloonInbox inbox : inboxes.values()) {
+            if (!inbox.isEmpty()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the update loop is running (there are balloons to update)
+     */
+    public boolean isActive() {
+        return loopActive;
+    }
+
+    /**
+     * Whether any balloon is awake, i.e. not hibernating (lock-free)
+     */
+    public boolean hasAwakeBalloons() {
+        return anyAwake;
+    }
+
+    /**
+     * Be notified when the update loop starts or stops, and when
+     * {@link #hasAwakeBalloons()} changes
+     */
+    public void addActivityListener(Runnable listener) {
+        activityListeners.add(listener);
+    }
+
+    // ==================== Event filtering ====================
+
+    /**
+     * Whether any balloon exists (lock-free, for event filters)
+     */
+    public boolean hasBalloons() {
+        return !balloons.isEmpty();
+    }
+
+    /**
+     * Whether a block is a balloon's toggle block (for event filters)
+     */
+    public boolean isToggleBlock(BlockType blockType) {
+        return blockType != null && !brazierPositionToBalloon.isEmpty() && TOGGLE_BLOCK_TYPE.equals(blockType.getId());
+    }
+
+    /**
+     * Whether a position is in a 16x16 cell that a balloon in the same world can be
+     * interacted with from. Ignores height, so it only rules events out. Binary search, no allocation.
+     */
+    public boolean isNearBalloon(UUID worldUuid, double x, double z) {
+        if (worldUuid == null) return false;
+        long[] cells = balloonCells.get(worldUuid);
+        if (cells == null) return false;
+        return Arrays.binarySearch(cells, cellKey(((int) Math.floor(x)) >> 4, ((int) Math.floor(z)) >> 4)) >= 0;
+    }
+
+    /**
+     * Recompute the cells event filters let through - tick thread only
+     */
+    private void rebuildBalloonCells() {
+        balloonCellsDirty = false;
+        Map<UUID, long[]> byWorld = new HashMap<>();
+        for (Map.Entry<UUID, Set<Balloon>> entry : balloonsByWorld.entrySet()) {
+            long[] cells = worldCells(entry.getValue());
+            if (cells.length > 0) {
+                byWorld.put(entry.getKey(), cells);
+            }
+        }
+        balloonCells = byWorld;
+    }
+
+    private static long[] worldCells(Set<Balloon> inWorld) {
+        long[] cells = new long[Math.max(4, inWorld.size() * 4)];
+        int count = 0;
+        for (Balloon balloon : inWorld) {
+            Vector3d pos = balloon.getLastKnownPosition();
+            double reach = balloon.getBlueprint().getInteractionRadius() + FILTER_REACH;
+            int minX = ((int) Math.floor(pos.x - reach)) >> 4;
+            int maxX = ((int) Math.floor(pos.x + reach)) >> 4;
+            int minZ = ((int) Math.floor(pos.z - reach)) >> 4;
+            int maxZ = ((int) Math.floor(pos.z + reach)) >> 4;
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    if (count == cells.length) {
+                        cells = Arrays.copyOf(cells, count * 2);
                     }
+                    cells[count++] = cellKey(cx, cz);
                 }
             }
+        }
 
-            int id = nextBalloonId.getAndIncrement();
-            Vector3d centerPos = new Vector3d(spawnX, spawnY, spawnZ);
-            Balloon balloon = new Balloon(id, blockRefs, centerRef, entityStore, worldUuid, centerPos);
+        Arrays.sort(cells, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || cells[i] != cells[unique - 1]) {
+                cells[unique++] = cells[i];
+            }
+        }
+        return Arrays.copyOf(cells, unique);
+    }
 
-            // Store target landing position (X/Z only - Y will be determined when landed)
-            int targetX = (int) Math.floor(spawnX);
-            int targetZ = (int) Math.floor(spawnZ);
-            balloon.setTargetLandingPos(new Vector3i(targetX, 0, targetZ));  // Y=0 placeholder
-            balloon.setLanded(false);  // Not landed yet
+    // ==================== Persistence ====================
+
+    /**
+     * Capture the current state of every balloon (plus any not yet restored)
+     */
+    private List<BalloonPersistence.BalloonSnapshot> snapshotBalloons() {
+        List<BalloonPersistence.BalloonSnapshot> snapshots = new ArrayList<>(balloons.size());
+        for (Balloon balloon : balloons.values()) {
+            Vector3d pos = balloon.getLastKnownPosition();
+            Vector3i brazier = balloon.getBrazierBlockPos();
+            snapshots.add(new BalloonPersistence.BalloonSnapshot(
+                balloon.getId(), balloon.getWorldUuid(), pos.x, pos.y, pos.z,
+                balloon.getBlueprint().getId(), balloon.isLanded(), balloon.isFlying(),
+                brazier != null,
+                brazier != null ? brazier.x : 0,
+                brazier != null ? brazier.y : 0,
+                brazier != null ? brazier.z : 0,
+                balloon.getOwner()
+            ));
+        }
+        // Worlds that never loaded this session keep their balloons
+        for (List<BalloonPersistence.BalloonSnapshot> pending : pendingRestores.values()) {
+            snapshots.addAll(pending);
+        }
+        return snapshots;
+    }
+
+    /**
+     * Group loaded snapshots by world and restore each world in one batch once it is available.
+     * Runs on the persistence thread: each world's list is complete before it is published,
+     * and published lists are never modified, since the tick thread may hand one off at any time.
+     */
+    private void queueRestore(List<BalloonPersistence.BalloonSnapshot> snapshots) {
+        if (snapshots.isEmpty()) return;
+
+        int maxId = 0;
+        Map<UUID, List<BalloonPersistence.BalloonSnapshot>> byWorld = new HashMap<>();
+        for (BalloonPersistence.BalloonSnapshot snapshot : snapshots) {
+            byWorld.computeIfAbsent(snapshot.getWorldUuid(), k -> new ArrayList<>()).add(snapshot);
+            maxId = Math.max(maxId, snapshot.getId());
+        }
+        for (Map.Entry<UUID, List<BalloonPersistence.BalloonSnapshot>> entry : byWorld.entrySet()) {
+            pendingRestores.merge(entry.getKey(), entry.getValue(), (pending, loaded) -> {
+                List<BalloonPersistence.BalloonSnapshot> combined = new ArrayList<>(pending);
+                combined.addAll(loaded);
+                return combined;
+            });
+        }
+        // Keep saved ids stable - new balloons continue after the highest one
+        int nextId = maxId + 1;
+        nextBalloonId.accumulateAndGet(nextId, Math::max);
+        updateLoopActivity();  // Keep looking for worlds that have not loaded yet
+
+        LOG.info("Restoring {} balloon(s) in {} world(s)", snapshots.size(), byWorld.size());
+        restorePendingWorlds();
+    }
+
+    /**
+     * Dispatch a restore batch to every world that is loaded now
+     */
+    private void restorePendingWorlds() {
+        for (UUID worldUuid : pendingRestores.keySet()) {
+            World world = Universe.get().getWorld(worldUuid);
+            if (world == null) continue; // Try again later
+
+            List<BalloonPersistence.BalloonSnapshot> batch = pendingRestores.remove(worldUuid);
+            if (batch != null) {
+                world.execute(() -> restoreWorld(world, worldUuid, batch));
+            }
+        }
+    }
+
+    /**
+     * Respawn all saved balloons of one world - must be called on the world thread
+     */
+    private void restoreWorld(World world, UUID worldUuid, List<BalloonPersistence.BalloonSnapshot> batch) {
+        Store<EntityStore> entityStore = world.getEntityStore().getStore();
+        TimeResource timeResource = entityStore.getResource(TimeResource.getResourceType());
+        int restored = 0;
 
-            balloons.put(id, balloon);
+        for (BalloonPersistence.BalloonSnapshot snapshot : batch) {
+            try {
+                BalloonBlueprint blueprint = blueprints.get(snapshot.getBlueprintId());
+                if (blueprint == null) {
+                    blueprint = blueprints.getDefault();
+                }
 
-            // Map blocks to balloon for interaction handling
-            for (Ref<EntityStore> blockRef : blockRefs) {
-                blockToBalloon.put(blockRef, id);
+                // Balloons that were in the air come back down; the passengers are gone after a restart
+                boolean landed = snapshot.isLanded() && snapshot.hasBrazier() && !snapshot.isFlying();
+                List<Ref<EntityStore>> blockRefs = spawnPlatform(entityStore, timeResource, blueprint,
+                    snapshot.getX(), snapshot.getY(), snapshot.getZ(), !landed);
+
+                int id = balloons.containsKey(snapshot.getId()) ? nextBalloonId.getAndIncrement() : snapshot.getId();
+                Balloon balloon = new Balloon(id, blueprint, blockRefs, blockRefs.get(blueprint.getAnchorIndex()),
+                    entityStore, worldUuid, new Vector3d(snapshot.getX(), snapshot.getY(), snapshot.getZ()));
+                balloon.setOwner(snapshot.getOwner());
+                registerBalloon(balloon);
+
+                if (landed) {
+                    balloon.setLanded(true);
+                    balloon.setBrazierBlockPos(new Vector3i(snapshot.getBrazierX(), snapshot.getBrazierY(), snapshot.getBrazierZ()));
+                    world.setBlock(snapshot.getBrazierX(), snapshot.getBrazierY(), snapshot.getBrazierZ(), TOGGLE_BLOCK_TYPE);
+                    registerBrazierPosition(id, snapshot.getBrazierX(), snapshot.getBrazierY(), snapshot.getBrazierZ());
+                    // Parked balloons stay asleep until someone walks up to them
+                    setActivity(balloon, BalloonActivity.HIBERNATING);
+                } else if (snapshot.hasBrazier()) {
+                    // It falls and gets a fresh brazier on landing - don't leave the old one behind
+                    clearStaleBrazier(world, snapshot.getBrazierX(), snapshot.getBrazierY(), snapshot.getBrazierZ());
+                }
+                restored++;
+            } catch (Exception e) {
+                LOG.error("Error restoring balloon #{}: {}", snapshot.getId(), e.getMessage());
             }
+        }
 
-            System.out.println("[Balloon] Spawned 3x3 balloon #" + id + " at height " + spawnY + " - will land at X=" + targetX + ", Z=" + targetZ);
-            return id;
+        LOG.info("Restored {}/{} balloon(s) in world {}", restored, batch.size(), worldUuid);
+        updateLoopActivity();
+    }
 
+    /**
+     * Remove a brazier block left behind (before a restart, or where the balloon took off) if it is still there - world thread only
+     */
+    private void clearStaleBrazier(World world, int x, int y, int z) {
+        try {
+            BlockType blockType = world.getBlockType(x, y, z);
+            if (blockType != null && TOGGLE_BLOCK_TYPE.equals(blockType.getId())) {
+                world.setBlock(x, y, z, "empty");
+                LOG.debug("Removed stale brazier at ({},{},{})", x, y, z);
+            }
         } catch (Exception e) {
-            System.err.println("[Balloon] Error spawning balloon: " + e.getMessage());
-            e.printStackTrace();
-            return -1;
+            LOG.error("Error removing stale brazier: {}", e.getMessage());
         }
     }
 
     /**
-     * Remove a balloon from the world
+     * Remove a balloon from the world (applied on the world thread)
+     * @return true if the balloon exists
+     */
+    public boolean removeBalloon(int balloonId) {
+        return submit(BalloonTransition.Type.REMOVE, balloonId, null, "command");
+    }
+
+    /**
+     * Remove a balloon immediately - world thread, or after the update loop has stopped
      */
-    public void removeBalloon(int balloonId) {
+    private void removeBalloonNow(int balloonId) {
         Balloon balloon = balloons.remove(balloonId);
         if (balloon != null) {
+            balloonsByWorld.computeIfPresent(balloon.getWorldUuid(), (k, inWorld) -> {
+                inWorld.remove(balloon);
+                return inWorld.isEmpty() ? null : inWorld;
+            });
+            awakeBalloons.remove(balloon);
+            unpark(balloon);
+
             // Remove all block mappings
             for (Ref<EntityStore> blockRef : balloon.getBlockRefs()) {
-                blockToBalloon.remove(blockRef);
+                blockToBalloon.remove(blockRef, balloonId);
             }
 
             // Remove brazier world block and unregister position mapping
@@ -222,20 +671,20 @@ public class BalloonSystem {
                     World world = Universe.get().getWorld(balloon.getWorldUuid());
                     if (world != null) {
                         world.setBlock(brazierPos.x, brazierPos.y, brazierPos.z, "empty");
-                        System.out.println("[Balloon] Removed toggle world block at " + brazierPos);
+                        LOG.debug("Removed toggle world block at {}", brazierPos);
                     }
                 } catch (Exception e) {
-                    System.err.println("[Balloon] Error removing toggle world block: " + e.getMessage());
+                    LOG.error("Error removing toggle world block: {}", e.getMessage());
                 }
             }
 
-            // Eject any rider
-            UUID rider = balloon.getRider();
-            if (rider != null) {
-                playerBalloons.remove(rider);
-                PlayerRef player = onlinePlayers.get(rider);
-                if (player != null) {
-                    player.sendMessage(Message.raw("[Balloon] Balloon removed!").color(java.awt.Color.RED));
+            // Eject all passengers (not batched - the balloon is gone after this)
+            Message removed = Message.raw("[Balloon] Balloon removed!").color(java.awt.Color.RED);
+            for (UUID passenger : balloon.getPassengers()) {
+                PlayerSession session = sessions.get(passenger);
+                if (session != null) {
+                    session.remove(ridingKey, balloonId);
+                    session.getPlayer().sendMessage(removed);
                 }
             }
 
@@ -245,106 +694,399 @@ public class BalloonSystem {
                     balloon.getEntityStore().removeEntity(blockRef, RemoveReason.REMOVE);
                 }
             } catch (Exception e) {
-                System.err.println("[Balloon] Error removing balloon entity: " + e.getMessage());
+                LOG.error("Error removing balloon entity: {}", e.getMessage());
             }
 
-            System.out.println("[Balloon] Removed balloon #" + balloonId);
+            LOG.info("Removed balloon #{}", balloonId);
+            balloonCellsDirty = true;
+            if (balloons.isEmpty()) {
+                balloonCells = Map.of(); // The loop stops now and won't rebuild them
+            }
+            updateLoopActivity();
+            updateAwakeState();
         }
     }
 
     /**
      * Toggle balloon flight on
+     * @return true if the balloon exists (the change is applied on the world thread)
      */
     public boolean turnOn(int balloonId, UUID playerUuid) {
-        Balloon balloon = balloons.get(balloonId);
+        return submit(BalloonTransition.Type.TURN_ON, balloonId, playerUuid, "command");
+    }
+
+    /**
+     * Resolve the burner particle system once - the first candidate the asset pack knows
+     */
+    private static String resolveFireParticleId() {
+        try {
+            DefaultAssetMap<String, ParticleSystem> assetMap = ParticleSystem.getAssetMap();
+            if (assetMap != null) {
+                for (String particleId : FIRE_PARTICLE_CANDIDATES) {
+                    if (assetMap.getAsset(particleId) != null) {
+                        return particleId;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            LOG.error("Error resolving fire particles: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Show burner particles to every player within view distance of the balloon - world thread only.
+     * The packet is built once and written to each viewer.
+     */
+    private void emitFireParticles(Balloon balloon, PlayerPositions positions) {
+        if (fireParticleId == null) return;
+
+        Vector3d position = balloon.getLastKnownPosition();
+        SpawnParticleSystem packet = new SpawnParticleSystem(
+            fireParticleId,
+            new Position((float) position.x, (float) position.y + 0.5f, (float) position.z),
+            FIRE_DIRECTION,
+            1.5f,  // scale
+            FIRE_COLOR
+        );
+
+        positions.forEachNear(balloon.getWorldUuid(), position.x, position.z, PARTICLE_VIEW_DISTANCE, index -> {
+            try {
+                positions.getPlayer(index).getPacketHandler().write(packet);
+            } catch (Exception e) {
+                LOG.error("Error sending fire particles: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Toggle balloon flight on/off
+     * @return true if the balloon exists (the change is applied on the world thread)
+     */
+    public boolean toggle(int balloonId, UUID playerUuid) {
+        return submit(BalloonTransition.Type.TOGGLE, balloonId, playerUuid, "command");
+    }
+
+    /**
+     * Toggle balloon flight off
+     * @return true if the balloon exists (the change is applied on the world thread)
+     */
+    public boolean turnOff(int balloonId, UUID playerUuid) {
+        return submit(BalloonTransition.Type.TURN_OFF, balloonId, playerUuid, "command");
+    }
+
+    /**
+     * Engage the autopilot to fly to a position
+     * @return true if the balloon exists (the change is applied on the world thread)
+     */
+    public boolean flyTo(int balloonId, UUID playerUuid, double x, double z) {
+        return submit(new BalloonTransition(BalloonTransition.Type.AUTOPILOT, balloonId, playerUuid, "command", x, z, null));
+    }
+
+    /**
+     * Engage the autopilot to follow a player around
+     * @return true if the balloon exists (the change is applied on the world thread)
+     */
+    public boolean follow(int balloonId, UUID playerUuid, UUID targetPlayer) {
+        PlayerRef target = sessions.getPlayer(targetPlayer);
+        if (target == null) return false;
+
+        Vector3d targetPos = target.getTransform().getPosition();
+        return submit(new BalloonTransition(BalloonTransition.Type.AUTOPILOT, balloonId, playerUuid, "command",
+            targetPos.x, targetPos.z, targetPlayer));
+    }
+
+    /**
+     * Switch the autopilot off
+     * @return true if the balloon exists (the change is applied on the world thread)
+     */
+    public boolean manual(int balloonId, UUID playerUuid) {
+        return submit(BalloonTransition.Type.MANUAL, balloonId, playerUuid, "command");
+    }
+
+    // ==================== State transitions ====================
+
+    /**
+     * Queue a state change for a balloon on its world's inbox
+     */
+    private boolean submit(BalloonTransition.Type type, int balloonId, UUID playerUuid, String source) {
+        return submit(new BalloonTransition(type, balloonId, playerUuid, source));
+    }
+
+    private boolean submit(BalloonTransition transition) {
+        Balloon balloon = balloons.get(transition.getBalloonId());
         if (balloon == null) return false;
 
+        inboxes.computeIfAbsent(balloon.getWorldUuid(), k -> new BalloonInbox()).submit(transition);
+        return true;
+    }
+
+    /**
+     * Apply a queued state change - world thread only
+     */
+    private void applyTransition(BalloonTransition transition) {
+        int balloonId = transition.getBalloonId();
+        Balloon balloon = balloons.get(balloonId);
+        if (balloon == null) return;
+
+        switch (transition.getType()) {
+            case TOGGLE:
+                if (balloon.isFlying()) {
+                    applyTurnOff(balloon, transition);
+                } else {
+                    applyTurnOn(balloon, transition);
+                }
+                break;
+            case TURN_ON:
+                applyTurnOn(balloon, transition);
+                break;
+            case TURN_OFF:
+                applyTurnOff(balloon, transition);
+                break;
+            case RIDER_LEFT:
+                removePassenger(balloon, transition.getPlayerUuid());
+                break;
+            case REMOVE:
+                removeBalloonNow(balloonId);
+                break;
+            case AUTOPILOT:
+                applyAutopilot(balloon, transition);
+                break;
+            case MANUAL:
+                if (balloon.getAutopilot() != null) {
+                    balloon.setAutopilot(null, null);
+                    PlayerRef player = transition.getPlayerUuid() != null ? sessions.getPlayer(transition.getPlayerUuid()) : null;
+                    if (player != null) {
+                        player.sendMessage(Message.raw("[Balloon] Autopilot off. Steer by looking.").color(java.awt.Color.YELLOW));
+                    }
+                }
+                break;
+        }
+    }
+
+    private void applyAutopilot(Balloon balloon, BalloonTransition transition) {
+        // The autopilot needs the burner lit; the player engaging it becomes the pilot
+        if (!balloon.isFlying()) {
+            applyTurnOn(balloon, transition);
+        }
+
+        ClearanceGrid grid = clearanceGrids.computeIfAbsent(balloon.getWorldUuid(), k -> new ClearanceGrid());
+        balloon.setAutopilot(new Autopilot(autopilotPlanner, grid, transition.getTargetX(), transition.getTargetZ()),
+            transition.getTargetPlayer());
+
+        PlayerRef player = transition.getPlayerUuid() != null ? sessions.getPlayer(transition.getPlayerUuid()) : null;
+        if (player != null) {
+            String target = transition.getTargetPlayer() != null
+                ? "following " + describePlayer(transition.getTargetPlayer())
+                : "flying to " + (int) transition.getTargetX() + ", " + (int) transition.getTargetZ();
+            player.sendMessage(Message.raw("[Balloon] Autopilot on, " + target + ".").color(java.awt.Color.CYAN));
+        }
+
+        LOG.info("Balloon #{} autopilot engaged by {}", balloon.getId(), transition.getSource());
+    }
+
+    private String describePlayer(UUID playerUuid) {
+        PlayerRef player = sessions.getPlayer(playerUuid);
+        return player != null ? player.getUsername() : playerUuid.toString();
+    }
+
+    private void applyTurnOn(Balloon balloon, BalloonTransition transition) {
+        UUID playerUuid = transition.getPlayerUuid();
+
+        // Whoever lights the burner flies it; everyone else aboard stays on as a passenger
         balloon.setFlying(true);
-        balloon.setRider(playerUuid);
-        playerBalloons.put(playerUuid, balloonId);
+        if (playerUuid != null) {
+            addPassenger(balloon, playerUuid);
+            balloon.setPilot(playerUuid);
+        }
+        updateActivityAfterToggle(balloon);
 
-        PlayerRef player = onlinePlayers.get(playerUuid);
+        queuePassengerMessage(balloon, Message.raw("[Balloon] Balloon activated! Rising...").color(java.awt.Color.CYAN));
+        // Show fire particles right away to show the brazier is lit
+        balloon.requestParticles();
+
+        LOG.info("Balloon #{} activated by {}", balloon.getId(), transition.getSource());
+    }
+
+    private void applyTurnOff(Balloon balloon, BalloonTransition transition) {
+        queuePassengerMessage(balloon, Message.raw("[Balloon] Balloon deactivated. Landing...").color(java.awt.Color.YELLOW));
+
+        // Someone switched it off from the ground - let them know too
+        UUID playerUuid = transition.getPlayerUuid();
+        PlayerRef player = playerUuid != null && !balloon.getPassengers().contains(playerUuid) ? sessions.getPlayer(playerUuid) : null;
         if (player != null) {
-            player.sendMessage(Message.raw("[Balloon] Balloon activated! Rising...").color(java.awt.Color.CYAN));
-            // Spawn fire particles to show the brazier is lit
-            spawnFireParticles(player, balloon.getLastKnownPosition());
+            player.sendMessage(Message.raw("[Balloon] Balloon deactivated. Landing...").color(java.awt.Color.YELLOW));
         }
 
-        System.out.println("[Balloon] Balloon #" + balloonId + " activated");
-        return true;
+        balloon.setFlying(false);
+        balloon.setAutopilot(null, null);
+        updateActivityAfterToggle(balloon);
+
+        LOG.info("Balloon #{} deactivated by {}", balloon.getId(), transition.getSource());
     }
 
+    // ==================== Passengers ====================
+
     /**
-     * Spawn fire particles at a position to indicate the brazier is lit
+     * Board a player - world thread only
      */
-    private void spawnFireParticles(PlayerRef player, Vector3d position) {
-        try {
-            // Try different fire particle system IDs
-            String[] fireParticles = {"Flame", "Fire", "Torch_Fire", "Campfire", "Ember"};
+    private void addPassenger(Balloon balloon, UUID playerUuid) {
+        if (!balloon.getPassengers().add(playerUuid)) return;
+
+        // A player rides one balloon at a time
+        PlayerSession session = sessions.get(playerUuid);
+        Integer previous = session != null ? session.set(ridingKey, balloon.getId()) : null;
+        if (previous != null && previous != balloon.getId()) {
+            submit(BalloonTransition.Type.RIDER_LEFT, previous, playerUuid, "boarded #" + balloon.getId());
+        }
+        if (balloon.getPilot() == null && balloon.getPassengers().size() == 1) {
+            balloon.setPilot(playerUuid);
+        }
+    }
 
-            for (String particleId : fireParticles) {
-                try {
-                    Position pos = new Position((float)position.x, (float)position.y + 0.5f, (float)position.z);
-                    Direction rotation = new Direction(0, 0, 0);
-                    Color color = new Color((byte)255, (byte)128, (byte)0); // Orange fire color
-
-                    SpawnParticleSystem packet = new SpawnParticleSystem(
-                        particleId,
-                        pos,
-                        rotation,
-                        1.5f,  // scale
-                        color
-                    );
-
-                    player.getPacketHandler().write(packet);
-                    System.out.println("[Balloon] Spawned fire particles: " + particleId);
-                    break; // If successful, stop trying other particles
-                } catch (Exception e) {
-                    // Try next particle type
-                }
+    /**
+     * Drop a player from the passengers, handing the controls to someone else if they were flying it - world thread only
+     */
+    private void removePassenger(Balloon balloon, UUID playerUuid) {
+        if (playerUuid == null || !balloon.getPassengers().remove(playerUuid)) return;
+        PlayerSession session = sessions.get(playerUuid);
+        if (session != null) {
+            session.remove(ridingKey, balloon.getId());
+        }
+
+        if (playerUuid.equals(balloon.getPilot())) {
+            UUID nextPilot = balloon.getPassengers().isEmpty() ? null : balloon.getPassengers().iterator().next();
+            balloon.setPilot(nextPilot);
+            if (nextPilot != null) {
+                queuePassengerMessage(balloon, Message.raw("[Balloon] " + describePlayer(nextPilot) + " is flying now.").color(java.awt.Color.CYAN));
             }
-        } catch (Exception e) {
-            System.err.println("[Balloon] Error spawning fire particles: " + e.getMessage());
+        }
+
+        // Nobody left aboard and nothing to steer - bring it down
+        if (balloon.getPassengers().isEmpty() && balloon.isFlying() && balloon.getAutopilot() == null) {
+            balloon.setFlying(false);
+            updateActivityAfterToggle(balloon);
         }
     }
 
     /**
-     * Toggle balloon flight on/off
+     * Match passengers against the balloon's bounds using the shared position snapshot - world thread only.
+     * The pilot stays aboard until they leave or land, so the balloon can still be flown from nearby.
      */
-    public boolean toggle(int balloonId, UUID playerUuid) {
-        Balloon balloon = balloons.get(balloonId);
-        if (balloon == null) return false;
+    private void updatePassengers(Balloon balloon, Vector3d balloonPos, PlayerPositions positions) {
+        BalloonBlueprint blueprint = balloon.getBlueprint();
+        double halfWidth = blueprint.getHalfExtent() + 0.5;
+        double bottom = balloonPos.y - 0.5;
+        double top = balloonPos.y + blueprint.getHeight() + BOARDING_HEADROOM;
+        boolean hasPassengers = !balloon.getPassengers().isEmpty();
+        List<UUID> stillAboard = hasPassengers ? new ArrayList<>(balloon.getPassengers().size()) : null;
+
+        // One query with the wider leave bounds: board players inside the bounds, remember who is still near them
+        positions.forEachNear(balloon.getWorldUuid(), balloonPos.x, balloonPos.z, (halfWidth + LEAVE_MARGIN) * 1.5, index -> {
+            double dx = Math.abs(positions.getX(index) - balloonPos.x);
+            double dz = Math.abs(positions.getZ(index) - balloonPos.z);
+            double y = positions.getY(index);
+            UUID playerUuid = positions.getUuid(index);
+
+            if (dx <= halfWidth && dz <= halfWidth && y >= bottom && y <= top) {
+                addPassenger(balloon, playerUuid);
+            }
+            if (stillAboard != null && dx <= halfWidth + LEAVE_MARGIN && dz <= halfWidth + LEAVE_MARGIN
+                    && y >= bottom - LEAVE_MARGIN && y <= top + LEAVE_MARGIN) {
+                stillAboard.add(playerUuid);
+            }
+        });
 
-        if (balloon.isFlying()) {
-            return turnOff(balloonId, playerUuid);
-        } else {
-            return turnOn(balloonId, playerUuid);
+        // Drop passengers who are clear of the bounds (or no longer online)
+        if (!hasPassengers) return;
+        for (UUID passenger : balloon.getPassengers().toArray(new UUID[0])) {
+            if (passenger.equals(balloon.getPilot()) && sessions.get(passenger) != null) continue;
+            if (!stillAboard.contains(passenger)) {
+                removePassenger(balloon, passenger);
+            }
         }
     }
 
     /**
-     * Toggle balloon flight off
+     * Queue a message for everyone aboard, sent with this tick's fan-out - world thread only
      */
-    public boolean turnOff(int balloonId, UUID playerUuid) {
-        Balloon balloon = balloons.get(balloonId);
-        if (balloon == null) return false;
+    private void queuePassengerMessage(Balloon balloon, Message message) {
+        balloon.getPendingMessages().add(message);
+        queueFanout(balloon);
+    }
 
-        balloon.setFlying(false);
+    private void queueFanout(Balloon balloon) {
+        if (balloon.isFanoutQueued()) return;
+        balloon.setFanoutQueued(true);
+        fanoutQueues.computeIfAbsent(balloon.getWorldUuid(), k -> new ArrayList<>()).add(balloon);
+    }
 
-        PlayerRef player = onlinePlayers.get(playerUuid);
-        if (player != null) {
-            player.sendMessage(Message.raw("[Balloon] Balloon deactivated.").color(java.awt.Color.YELLOW));
+    /**
+     * Queue a landing notice for the owner, passengers and nearby players - world thread only
+     */
+    private void queueLandingNotice(Balloon balloon, Vector3d position, PlayerPositions positions) {
+        BalloonNotices notices = noticesByWorld.computeIfAbsent(balloon.getWorldUuid(), k -> new BalloonNotices());
+        int balloonId = balloon.getId();
+
+        if (balloon.getOwner() != null) {
+            notices.landed(balloon.getOwner(), balloonId);
+        }
+        for (UUID passenger : balloon.getPassengers()) {
+            notices.landed(passenger, balloonId);
+        }
+        positions.forEachNear(balloon.getWorldUuid(), position.x, position.z, NOTICE_RANGE,
+            index -> notices.landed(positions.getUuid(index), balloonId));
+    }
+
+    /**
+     * Send each queued balloon's messages to all of its passengers and its particles to nearby viewers,
+     * in one pass - world thread only
+     */
+    private void flushFanout(UUID worldUuid, PlayerPositions positions) {
+        // Landing notices: one combined message per recipient
+        BalloonNotices notices = noticesByWorld.get(worldUuid);
+        if (notices != null && !notices.isEmpty()) {
+            notices.flush(sessions);
+        }
+
+        List<Balloon> queued = fanoutQueues.get(worldUuid);
+        if (queued == null || queued.isEmpty()) return;
+
+        for (Balloon balloon : queued) {
+            balloon.setFanoutQueued(false);
+            List<Message> messages = balloon.getPendingMessages();
+            boolean particles = balloon.consumeParticleRequest();
+
+            if (!messages.isEmpty()) {
+                for (UUID passenger : balloon.getPassengers()) {
+                    PlayerRef player = sessions.getPlayer(passenger);
+                    if (player == null) continue;
+                    for (Message message : messages) {
+                        player.sendMessage(message);
+                    }
+                }
+                messages.clear();
+            }
+            if (particles) {
+                emitFireParticles(balloon, positions);
+            }
         }
+        queued.clear();
+    }
 
-        System.out.println("[Balloon] Balloon #" + balloonId + " deactivated");
-        return true;
+    /**
+     * Get the balloon a player is riding, or null
+     */
+    public Integer getRiddenBalloon(UUID playerUuid) {
+        PlayerSession session = sessions.get(playerUuid);
+        return session != null ? session.get(ridingKey) : null;
     }
 
     /**
      * Get the nearest balloon to a player
      */
     public Integer getNearestBalloon(UUID playerUuid) {
-        PlayerRef player = onlinePlayers.get(playerUuid);
+        PlayerRef player = sessions.getPlayer(playerUuid);
         if (player == null) return null;
 
         Vector3d playerPos = player.getTransform().getPosition();
@@ -374,25 +1116,36 @@ public class BalloonSystem {
      * Get the nearest balloon to a player within a given range
      */
     public Integer getNearestBalloonInRange(UUID playerUuid, double maxRange) {
-        PlayerRef player = onlinePlayers.get(playerUuid);
+        PlayerRef player = sessions.getPlayer(playerUuid);
         if (player == null) return null;
 
         Vector3d playerPos = player.getTransform().getPosition();
-        double closestDist = Double.MAX_VALUE;
-        Integer closestId = null;
+        return getNearestBalloonInRangeByPosition(player.getWorldUuid(), playerPos.x, playerPos.y, playerPos.z, maxRange);
+    }
 
-        for (Balloon balloon : balloons.values()) {
-            if (!balloon.getWorldUuid().equals(player.getWorldUuid())) continue;
+    /**
+     * Get the nearest balloon in a world to a position within a given range
+     * Used by the BalloonToggleInteraction, which has the player's entity rather than their UUID
+     */
+    public Integer getNearestBalloonInRangeByPosition(UUID worldUuid, double x, double y, double z, double maxRange) {
+        if (worldUuid == null) return null;
+        Set<Balloon> inWorld = balloonsByWorld.get(worldUuid);
+        if (inWorld == null) return null;
 
-            Vector3d balloonPos = balloon.getLastKnownPosition();
-            double dist = Math.sqrt(
-                Math.pow(playerPos.x - balloonPos.x, 2) +
-                Math.pow(playerPos.y - balloonPos.y, 2) +
-                Math.pow(playerPos.z - balloonPos.z, 2)
-            );
+        double closestDistSq = Double.MAX_VALUE;
+        Integer closestId = null;
 
-            if (dist < closestDist && dist <= maxRange) {
-                closestDist = dist;
+        for (Balloon balloon : inWorld) {
+            Vector3d balloonPos = balloon.getLastKnownPosition();
+            double dx = x - balloonPos.x;
+            double dy = y - balloonPos.y;
+            double dz = z - balloonPos.z;
+            double distSq = dx * dx + dy * dy + dz * dz;
+
+            // Larger blueprints can be reached from further away from their center
+            double range = Math.max(maxRange, balloon.getBlueprint().getInteractionRadius());
+            if (distSq < closestDistSq && distSq <= range * range) {
+                closestDistSq = distSq;
                 closestId = balloon.getId();
             }
         }
@@ -401,42 +1154,196 @@ public class BalloonSystem {
     }
 
     /**
-     * Get the nearest balloon to a position within a given range
-     * Used by the BalloonToggleInteraction when we don't have player UUID
+     * Snapshot phase: read every player's position once; boarding and proximity checks share it
      */
-    public Integer getNearestBalloonInRangeByPosition(double x, double y, double z, double maxRange) {
-        double closestDist = Double.MAX_VALUE;
-        Integer closestId = null;
+    private boolean capturePositions(TickContext context) {
+        long tick = tickCounter + 1;
+        boolean proximityTick = tick % PROXIMITY_CHECK_TICKS == 0 && !parkedByCell.isEmpty();
+        tickPositions = (proximityTick || !awakeBalloons.isEmpty()) && !sessions.isEmpty()
+            ? PlayerPositions.capture(sessions.snapshot())
+            : PlayerPositions.empty();
+        return false;
+    }
 
-        for (Balloon balloon : balloons.values()) {
-            Vector3d balloonPos = balloon.getLastKnownPosition();
-            double dist = Math.sqrt(
-                Math.pow(x - balloonPos.x, 2) +
-                Math.pow(y - balloonPos.y, 2) +
-                Math.pow(z - balloonPos.z, 2)
-            );
+    /**
+     * Simulation phase: main update loop
+     */
+    private boolean update(TickContext context) {
+        long tick = ++tickCounter;
+        boolean proximityTick = tick % PROXIMITY_CHECK_TICKS == 0 && !parkedByCell.isEmpty();
+        PlayerPositions positions = tickPositions;
+
+        // Wake parked balloons that players walk up to (cost scales with players, not balloons)
+        if (proximityTick) {
+            checkPlayersNearParkedBalloons(tick, positions);
+        }
 
-            if (dist < closestDist && dist <= maxRange) {
-                closestDist = dist;
-                closestId = balloon.getId();
+        // Restore saved balloons whose world has loaded since
+        if (tick % PROXIMITY_CHECK_TICKS == 0 && !pendingRestores.isEmpty()) {
+            restorePendingWorlds();
+        }
+
+        if (tick % SAVE_INTERVAL_TICKS == 0) {
+            persistence.saveAsync(snapshotBalloons());
+        }
+
+        // Collect awake balloons that are due at the tick rate of their activity state, per world
+        Map<UUID, List<Balloon>> dueByWorld = new HashMap<>();
+        for (Balloon balloon : awakeBalloons) {
+            // Only awake balloons move, so only they can change the event filter cells
+            Vector3d lastPos = balloon.getLastKnownPosition();
+            long filterCell = cellKey(((int) Math.floor(lastPos.x)) >> 4, ((int) Math.floor(lastPos.z)) >> 4);
+            if (filterCell != balloon.filterCellKey) {
+                balloon.filterCellKey = filterCell;
+                balloonCellsDirty = true;
+            }
+
+            if (!balloon.consumeTick()) continue;
+            try {
+                if (balloon.getActivity() == BalloonActivity.LANDED_IDLE) {
+                    updateIdleBalloon(balloon, tick);
+                } else {
+                    dueByWorld.computeIfAbsent(balloon.getWorldUuid(), k -> new ArrayList<>()).add(balloon);
+                }
+            } catch (Exception e) {
+                LOG.error("Error updating balloon #{}: {}", balloon.getId(), e.getMessage());
             }
         }
 
-        return closestId;
+        // Worlds with queued transitions or a backlog need a tick even if none of their balloons are due
+        for (Map.Entry<UUID, BalloonInbox> entry : inboxes.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                dueByWorld.computeIfAbsent(entry.getKey(), k -> new ArrayList<>());
+            }
+        }
+        for (UUID worldUuid : worldBacklogs.keySet()) {
+            dueByWorld.computeIfAbsent(worldUuid, k -> new ArrayList<>());
+        }
+
+        for (Map.Entry<UUID, List<Balloon>> entry : dueByWorld.entrySet()) {
+            updateWorld(entry.getKey(), entry.getValue(), positions);
+        }
+
+        if (balloonCellsDirty) {
+            rebuildBalloonCells();
+        }
+        return false;
     }
 
     /**
-     * Main update loop
+     * Idle tick for a parked balloon - hibernate once nobody has been around for a while
      */
-    private void update() {
-        // Update all balloons
-        for (Balloon balloon : balloons.values()) {
-            try {
-                updateBalloon(balloon);
-            } catch (Exception e) {
-                System.err.println("[Balloon] Error updating balloon #" + balloon.getId() + ": " + e.getMessage());
+    private void updateIdleBalloon(Balloon balloon, long tick) {
+        if (tick - balloon.getLastPlayerNearbyTick() >= HIBERNATE_AFTER_TICKS) {
+            // Unless the world thread launched it since this tick looked
+            setActivity(balloon, BalloonActivity.LANDED_IDLE, BalloonActivity.HIBERNATING);
+        }
+    }
+
+    /**
+     * Mark parked balloons near any online player, waking hibernating ones
+     */
+    private void checkPlayersNearParkedBalloons(long tick, PlayerPositions positions) {
+        for (int i = 0; i < positions.size(); i++) {
+            UUID worldUuid = positions.getWorld(i);
+            double px = positions.getX(i);
+            double py = positions.getY(i);
+            double pz = positions.getZ(i);
+            int cellX = ((int) Math.floor(px)) >> 4;
+            int cellZ = ((int) Math.floor(pz)) >> 4;
+
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    Set<Balloon> parked = parkedByCell.get(cellKey(cellX + dx, cellZ + dz));
+                    if (parked == null) continue;
+
+                    for (Balloon balloon : parked) {
+                        if (!balloon.getWorldUuid().equals(worldUuid)) continue;
+
+                        Vector3d balloonPos = balloon.getLastKnownPosition();
+                        double ddx = px - balloonPos.x;
+                        double ddy = py - balloonPos.y;
+                        double ddz = pz - balloonPos.z;
+                        double range = balloon.getBlueprint().getInteractionRadius() + WAKE_MARGIN;
+                        if (ddx * ddx + ddy * ddy + ddz * ddz > range * range) continue;
+
+                        balloon.setLastPlayerNearbyTick(tick);
+                        if (balloon.getActivity() == BalloonActivity.HIBERNATING) {
+                            setActivity(balloon, BalloonActivity.HIBERNATING, BalloonActivity.LANDED_IDLE);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Pick the activity state after the burner was switched on or off
+     */
+    private void updateActivityAfterToggle(Balloon balloon) {
+        balloon.setLastPlayerNearbyTick(tickCounter);
+        if (!balloon.isLanded()) {
+            return; // Still dropping from spawn - landing decides the next state
+        }
+        setActivity(balloon, balloon.isFlying() ? BalloonActivity.FLYING : BalloonActivity.FALLING);
+    }
+
+    /**
+     * Move a balloon to a new activity state, keeping the awake set and parked index in sync - world thread
+     */
+    private void setActivity(Balloon balloon, BalloonActivity activity) {
+        setActivity(balloon, null, activity);
+    }
+
+    /**
+     * Move a balloon to a new activity state only if it is still in the expected one.
+     * The tick thread's idle and proximity checks look at the state without the lock,
+     * and the world thread may have changed it since (a TOGGLE that launched it).
+     * @param expected the state the caller saw, or null for any
+     */
+    private void setActivity(Balloon balloon, BalloonActivity expected, BalloonActivity activity) {
+        // Rare transition, but the idle/proximity checks race with the world thread here
+        synchronized (balloon) {
+            BalloonActivity previous = balloon.getActivity();
+            if (previous == activity || (expected != null && previous != expected)) return;
+
+            balloon.setActivity(activity);
+
+            if (activity.isParked() && !previous.isParked()) {
+                park(balloon);
+            } else if (!activity.isParked() && previous.isParked()) {
+                unpark(balloon);
+            }
+
+            if (activity == BalloonActivity.HIBERNATING) {
+                awakeBalloons.remove(balloon);
+                LOG.debug("#{} hibernating", balloon.getId());
+            } else {
+                awakeBalloons.add(balloon);
             }
         }
+        updateAwakeState();
+    }
+
+    private void park(Balloon balloon) {
+        Vector3d pos = balloon.getLastKnownPosition();
+        long key = cellKey(((int) Math.floor(pos.x)) >> 4, ((int) Math.floor(pos.z)) >> 4);
+        balloon.setParkedCellKey(key);
+        parkedByCell.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(balloon);
+    }
+
+    private void unpark(Balloon balloon) {
+        Long key = balloon.getParkedCellKey();
+        if (key == null) return;
+        balloon.setParkedCellKey(null);
+        parkedByCell.computeIfPresent(key, (k, parked) -> {
+            parked.remove(balloon);
+            return parked.isEmpty() ? null : parked;
+        });
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
     }
 
     /**
@@ -462,27 +1369,74 @@ public class BalloonSystem {
     }
 
     /**
-     * Update a single balloon
+     * Update the due balloons of one world in a single task on its thread
      */
-    private void updateBalloon(Balloon balloon) {
-        // Get the world and execute on its thread
-        World world = Universe.get().getWorld(balloon.getWorldUuid());
+    private void updateWorld(UUID worldUuid, List<Balloon> due, PlayerPositions positions) {
+        World world = Universe.get().getWorld(worldUuid);
         if (world == null) return;
 
+        BalloonInbox inbox = inboxes.get(worldUuid);
+        double windTime = tickCounter * BalloonFlightSimulator.TIMESTEP;
+
         // Queue the physics update on the world thread
         world.execute(() -> {
-            try {
-                applyBalloonForce(balloon);
-            } catch (Exception e) {
-                System.err.println("[Balloon] Error in world thread: " + e.getMessage());
+            // Apply state transitions first so this tick sees them
+            if (inbox != null) {
+                inbox.drain(transition -> {
+                    try {
+                        applyTransition(transition);
+                    } catch (Exception e) {
+                        LOG.error("Error applying {} to balloon #{}: {}",
+                            transition.getType(), transition.getBalloonId(), e.getMessage());
+                    }
+                });
+            }
+
+            // Balloons left over from the last world tick go first, so none is starved
+            List<Balloon> work = due;
+            List<Balloon> backlog = worldBacklogs.remove(worldUuid);
+            if (backlog != null) {
+                Set<Balloon> queued = new HashSet<>(backlog);
+                work = new ArrayList<>(backlog);
+                for (Balloon balloon : due) {
+                    if (queued.add(balloon)) {
+                        work.add(balloon);
+                    }
+                }
+            }
+
+            // Move the wind on once per world tick; sampling below just reads the tiles
+            if (!work.isEmpty()) {
+                getWindField(worldUuid).advance(windTime);
+            }
+
+            // The tick budget only sees the tick thread - this work is bounded here instead
+            long deadline = System.nanoTime() + WORLD_BUDGET_NANOS;
+            for (int i = 0; i < work.size(); i++) {
+                if (i > 0 && System.nanoTime() - deadline > 0) {
+                    worldBacklogs.put(worldUuid, List.copyOf(work.subList(i, work.size())));
+                    LOG.debug("World {} out of time, {} balloon(s) carried over", worldUuid, work.size() - i);
+                    break;
+                }
+                Balloon balloon = work.get(i);
+                // Removed or put to sleep by a transition above
+                if (!balloons.containsKey(balloon.getId())) continue;
+                try {
+                    applyBalloonForce(balloon, positions);
+                } catch (Exception e) {
+                    LOG.error("Error in world thread: {}", e.getMessage());
+                }
             }
+
+            // One batched send per passenger for everything queued this tick
+            flushFanout(worldUuid, positions);
         });
     }
 
     /**
      * Check if balloon has landed and handle the landing (disable gravity, register brazier)
      */
-    private void checkAndHandleLanding(Balloon balloon, Vector3d currentPos) {
+    private void checkAndHandleLanding(Balloon balloon, Vector3d currentPos, PlayerPositions positions) {
         // Check if any block is on ground using physics provider
         boolean anyOnGround = false;
         for (Ref<EntityStore> blockRef : balloon.getBlockRefs()) {
@@ -500,7 +1454,7 @@ public class BalloonSystem {
         }
 
         if (anyOnGround) {
-            System.out.println("[Balloon] #" + balloon.getId() + " has landed at Y=" + currentPos.y);
+            LOG.info("#{} has landed at Y={}", balloon.getId(), currentPos.y);
             balloon.setLanded(true);
 
             // Disable gravity on all blocks so they stay in place
@@ -516,50 +1470,68 @@ public class BalloonSystem {
                         block.getSimplePhysicsProvider().setVelocity(new Vector3d(0, 0, 0));
                     }
                 } catch (Exception e) {
-                    System.err.println("[Balloon] Error disabling gravity: " + e.getMessage());
+                    LOG.error("Error disabling gravity: {}", e.getMessage());
                 }
             }
 
-            // Place toggle block as a WORLD BLOCK on top of the center (Y+1)
-            // World blocks work with UseBlockEvent for F key interactions
-            int brazierX = (int) Math.floor(currentPos.x);
-            int brazierY = (int) Math.floor(currentPos.y) + 1;  // ON TOP of platform
-            int brazierZ = (int) Math.floor(currentPos.z);
-
-            World world = Universe.get().getWorld(balloon.getWorldUuid());
-            if (world != null) {
-                System.out.println("[Balloon] Placing toggle WORLD BLOCK at (" + brazierX + "," + brazierY + "," + brazierZ + ") type=" + TOGGLE_BLOCK_TYPE);
+            placeBrazier(balloon, currentPos);
 
-                // Place the lever as a world block
-                world.setBlock(brazierX, brazierY, brazierZ, TOGGLE_BLOCK_TYPE);
+            // Lit while falling - take off right away, otherwise park it
+            balloon.setLastPlayerNearbyTick(tickCounter);
+            setActivity(balloon, balloon.isFlying() ? BalloonActivity.FLYING : BalloonActivity.LANDED_IDLE);
 
-                // Verify placement
-                BlockType placedType = world.getBlockType(brazierX, brazierY, brazierZ);
-                if (placedType != null) {
-                    System.out.println("[Balloon] Placed toggle world block verified: " + placedType.getId());
-                } else {
-                    System.err.println("[Balloon] WARNING: Toggle block placement verification failed!");
-                }
-            } else {
-                System.err.println("[Balloon] ERROR: World is null, cannot place toggle block!");
-            }
+            // Let the owner, passengers and anyone nearby know (sent with this tick's fan-out)
+            queueLandingNotice(balloon, currentPos, positions);
+        }
+    }
 
-            balloon.setBrazierBlockPos(new Vector3i(brazierX, brazierY, brazierZ));
-            registerBrazierPosition(balloon.getId(), brazierX, brazierY, brazierZ);
+    /**
+     * Put the balloon's brazier at the blueprint's toggle offset from its center, removing
+     * the previous one if the balloon has moved since - world thread only
+     */
+    private void placeBrazier(Balloon balloon, Vector3d pos) {
+        // World blocks work with UseBlockEvent for F key interactions
+        BalloonBlueprint blueprint = balloon.getBlueprint();
+        int brazierX = (int) Math.floor(pos.x) + blueprint.getToggleX();
+        int brazierY = (int) Math.floor(pos.y) + blueprint.getToggleY();
+        int brazierZ = (int) Math.floor(pos.z) + blueprint.getToggleZ();
+
+        Vector3i previous = balloon.getBrazierBlockPos();
+        if (previous != null && previous.x == brazierX && previous.y == brazierY && previous.z == brazierZ) {
+            return; // Settled where it took off
+        }
 
-            System.out.println("[Balloon] #" + balloon.getId() + " registered brazier at (" + brazierX + "," + brazierY + "," + brazierZ + ")");
+        World world = Universe.get().getWorld(balloon.getWorldUuid());
+        if (world == null) {
+            LOG.error("World is null, cannot place toggle block");
+        } else {
+            if (previous != null) {
+                clearStaleBrazier(world, previous.x, previous.y, previous.z);
+            }
+            LOG.debug("Placing toggle WORLD BLOCK at ({},{},{}) type={}", brazierX, brazierY, brazierZ, TOGGLE_BLOCK_TYPE);
+            world.setBlock(brazierX, brazierY, brazierZ, TOGGLE_BLOCK_TYPE);
 
-            // Notify any online players
-            for (PlayerRef player : onlinePlayers.values()) {
-                player.sendMessage(Message.raw("[Balloon] Balloon has landed! Press F on the brazier to activate.").color(java.awt.Color.GREEN));
+            // Verify placement
+            BlockType placedType = world.getBlockType(brazierX, brazierY, brazierZ);
+            if (placedType != null) {
+                LOG.debug("Placed toggle world block verified: {}", placedType.getId());
+            } else {
+                LOG.warn("Toggle block placement verification failed");
             }
         }
+
+        if (previous != null) {
+            unregisterBrazierPosition(previous.x, previous.y, previous.z);
+        }
+        balloon.setBrazierBlockPos(new Vector3i(brazierX, brazierY, brazierZ));
+        registerBrazierPosition(balloon.getId(), brazierX, brazierY, brazierZ);
+        LOG.debug("#{} registered brazier at ({},{},{})", balloon.getId(), brazierX, brazierY, brazierZ);
     }
 
     /**
      * Apply force to balloon - must be called on world thread
      */
-    private void applyBalloonForce(Balloon balloon) {
+    private void applyBalloonForce(Balloon balloon, PlayerPositions positions) {
         // Get current balloon position
         Vector3d balloonPos = getBalloonPosition(balloon);
         if (balloonPos == null) return;
@@ -569,72 +1541,57 @@ public class BalloonSystem {
 
         // Check if balloon has landed yet (spawned from sky)
         if (!balloon.isLanded()) {
-            checkAndHandleLanding(balloon, balloonPos);
+            checkAndHandleLanding(balloon, balloonPos, positions);
             // Don't apply any forces while falling - let gravity do its job
             return;
         }
 
+        // Board and drop passengers while airborne
+        updatePassengers(balloon, balloonPos, positions);
+
         // Spawn fire particles while flying (every ~500ms, so every 5 updates)
-        if (balloon.isFlying() && balloon.getRider() != null) {
+        if (balloon.isFlying()) {
             balloon.incrementParticleTick();
             if (balloon.getParticleTick() >= 5) {
                 balloon.resetParticleTick();
-                PlayerRef rider = onlinePlayers.get(balloon.getRider());
-                if (rider != null) {
-                    spawnFireParticles(rider, balloonPos);
-                }
+                balloon.requestParticles();
             }
         }
-
-        // Find ground level
-        double groundY = findGroundLevel(balloon.getWorldUuid(), balloonPos.x, balloonPos.y, balloonPos.z);
-        double targetY = groundY + FLIGHT_HEIGHT;
-        double yDiff = targetY - balloonPos.y;
-
-        // Calculate the velocity to apply
-        double velocity = 0.0;
-
-        if (balloon.isFlying()) {
-            // Flying mode: rise to target height, then hover
-            if (yDiff > 1.0) {
-                // Below target - rise (slower as we approach)
-                velocity = Math.min(ASCENT_SPEED, yDiff * 0.5);
-            } else if (yDiff < -1.0) {
-                // Above target - descend slowly
-                velocity = Math.max(-DESCENT_SPEED, yDiff * 0.5);
-            } else {
-                // At target height - hover (no movement)
-                velocity = 0.0;
-            }
-        } else {
-            // Landing mode: descend slowly until near ground
-            double heightAboveGround = balloonPos.y - groundY;
-            if (heightAboveGround > 1.5) {
-                // Still in air - descend gently
-                velocity = -DESCENT_SPEED;
-            } else {
-                // Near ground - stop
-                velocity = 0.0;
-            }
+        if (balloon.isParticleRequested()) {
+            queueFanout(balloon);
         }
 
-        System.out.println("[Balloon] #" + balloon.getId() + " y=" + balloonPos.y + " target=" + targetY + " vel=" + velocity);
-
-        // Calculate horizontal movement based on rider's look direction
-        double hVelX = 0.0;
-        double hVelZ = 0.0;
+        World world = Universe.get().getWorld(balloon.getWorldUuid());
+        if (world == null) return;
 
-        if (balloon.isFlying() && balloon.getRider() != null) {
-            PlayerRef rider = onlinePlayers.get(balloon.getRider());
-            if (rider != null) {
-                float yaw = rider.getTransform().getRotation().getYaw();
-                // Move in direction player is looking
-                hVelX = -Math.sin(yaw) * HORIZONTAL_SPEED;
-                hVelZ = Math.cos(yaw) * HORIZONTAL_SPEED;
+        // Feed the current position and controls into the flight model
+        BalloonFlightState flight = balloon.getFlightState();
+        flight.setPosition(balloonPos.x, balloonPos.y, balloonPos.z);
+        flight.setFlying(balloon.isFlying());
+        flight.clearHeading();
+        flight.clearTargetAltitude();
+        WorldTerrain terrain = getTerrain(world, balloon.getWorldUuid());
+
+        Autopilot autopilot = balloon.getAutopilot();
+        if (balloon.isFlying() && autopilot != null) {
+            // Followed player moved - the autopilot decides whether that is worth a replan
+            UUID followTarget = balloon.getFollowTarget();
+            PlayerRef target = followTarget != null ? sessions.getPlayer(followTarget) : null;
+            if (target != null && balloon.getWorldUuid().equals(target.getWorldUuid())) {
+                Vector3d targetPos = target.getTransform().getPosition();
+                autopilot.setTarget(targetPos.x, targetPos.z);
+            }
+            autopilot.steer(flight, terrain);
+        } else if (balloon.isFlying() && balloon.getPilot() != null) {
+            PlayerRef pilot = sessions.getPlayer(balloon.getPilot());
+            if (pilot != null) {
+                // Move in direction the pilot is looking
+                flight.setHeading(pilot.getTransform().getRotation().getYaw());
             }
         }
+        flightSimulator.updateVelocity(flight, terrain, getWindField(balloon.getWorldUuid()));
 
-        // Apply velocity to all blocks in the platform
+        // Apply velocity to all blocks in the platform - the engine's physics integrates the position
         for (Ref<EntityStore> blockRef : balloon.getBlockRefs()) {
             try {
                 BlockEntity block = balloon.getEntityStore().getComponent(blockRef, BlockEntity.getComponentType());
@@ -644,60 +1601,67 @@ public class BalloonSystem {
 
                 Velocity vel = balloon.getEntityStore().getComponent(blockRef, Velocity.getComponentType());
                 if (vel != null) {
-                    vel.setY(velocity);
-                    vel.setX(hVelX);
-                    vel.setZ(hVelZ);
+                    vel.setY(flight.getVelY());
+                    vel.setX(flight.getVelX());
+                    vel.setZ(flight.getVelZ());
                 }
             } catch (Exception e) {
-                System.err.println("[Balloon] Error applying velocity: " + e.getMessage());
+                LOG.error("Error applying velocity: {}", e.getMessage());
+            }
+        }
+
+        // Back on the ground with the burner off - stop ticking every 100ms.
+        // Boarding is only tracked while airborne, so everyone gets off here.
+        // The brazier follows the balloon, so the landing notice points at a reachable one.
+        if (flight.isSettled()) {
+            placeBrazier(balloon, balloonPos);
+            queueLandingNotice(balloon, balloonPos, positions);
+            for (UUID passenger : balloon.getPassengers().toArray(new UUID[0])) {
+                removePassenger(balloon, passenger);
             }
+            setActivity(balloon, BalloonActivity.LANDED_IDLE);
         }
     }
 
     /**
-     * Find ground level at a position
+     * Get the wind field for a world (seeded from the world id so wind is stable across restarts)
      */
-    private double findGroundLevel(UUID worldUuid, double x, double startY, double z) {
-        try {
-            World world = Universe.get().getWorld(worldUuid);
-            if (world == null) return 64.0;
-
-            int blockX = (int) Math.floor(x);
-            int blockZ = (int) Math.floor(z);
-            int startBlockY = (int) Math.floor(startY);
-
-            int chunkX = blockX >> 4;
-            int chunkZ = blockZ >> 4;
-            long chunkKey = ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
-            BlockAccessor accessor = world.getChunkIfLoaded(chunkKey);
+    private WindField getWindField(UUID worldUuid) {
+        return windFields.computeIfAbsent(worldUuid,
+            k -> new WindField(k.getMostSignificantBits() ^ k.getLeastSignificantBits()));
+    }
 
-            if (accessor == null) return startY - FLIGHT_HEIGHT;
+    /**
+     * Get the flight model terrain for a world (recreated if the world instance changed)
+     */
+    private WorldTerrain getTerrain(World world, UUID worldUuid) {
+        WorldTerrain terrain = terrains.get(worldUuid);
+        if (terrain == null || terrain.getWorld() != world) {
+            terrain = new WorldTerrain(world);
+            terrains.put(worldUuid, terrain);
+        }
+        return terrain;
+    }
 
-            for (int y = startBlockY; y > 0; y--) {
-                BlockType blockType = accessor.getBlockType(blockX & 15, y, blockZ & 15);
-                if (blockType != null && blockType != BlockType.EMPTY) {
-                    return y + 1.0;
-                }
-            }
+    /**
+     * A rider disconnected - let go of them on the balloon's world thread
+     */
+    private void onRiderSessionClosed(PlayerSession session, Integer balloonId) {
+        submit(BalloonTransition.Type.RIDER_LEFT, balloonId, session.getUuid(), "disconnect");
+    }
 
-            return 1.0;
-        } catch (Exception e) {
-            return startY - FLIGHT_HEIGHT;
-        }
+    /**
+     * Get all live balloons (read-only view, for overlays such as compass markers)
+     */
+    public Collection<Balloon> getBalloons() {
+        return Collections.unmodifiableCollection(balloons.values());
     }
 
     /**
-     * Handle player disconnect
+     * Get the loaded balloon blueprints
      */
-    public void onPlayerDisconnect(UUID uuid) {
-        Integer balloonId = playerBalloons.remove(uuid);
-        if (balloonId != null) {
-            Balloon balloon = balloons.get(balloonId);
-            if (balloon != null) {
-                balloon.setRider(null);
-                balloon.setFlying(false);
-            }
-        }
+    public BalloonBlueprints getBlueprints() {
+        return blueprints;
     }
 
     /**
@@ -711,254 +1675,134 @@ public class BalloonSystem {
      * Shutdown the system
      */
     public void shutdown() {
-        System.out.println("[Balloon] Shutting down balloon system...");
-        if (updateTask != null) {
-            updateTask.cancel(false);
+        LOG.info("Shutting down balloon system...");
+        shuttingDown = true;
+        if (snapshotTask != null) {
+            snapshotTask.cancel();
         }
-        scheduler.shutdown();
-        try {
-            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            scheduler.shutdownNow();
+        if (updateTask != null) {
+            updateTask.cancel();
         }
+        autopilotPlanner.shutdown();
 
-        // Remove all balloon entities
+        // Save before tearing the entities down so everything comes back on the next start
+        persistence.saveAsync(snapshotBalloons());
+        persistence.shutdown();
+
+        // Remove all balloon entities (the tick engine has stopped, so nothing else touches them)
         for (Integer id : balloons.keySet().toArray(new Integer[0])) {
-            removeBalloon(id);
+            removeBalloonNow(id);
         }
     }
 
-    /**
-     * Handle player interaction via PlayerInteractEvent (F key)
-     * Uses entity Ref directly from the event
-     */
-    public void onPlayerInteractRef(Ref<EntityStore> targetRef, Ref<EntityStore> playerEntityRef) {
-        System.out.println("[Balloon] onPlayerInteractRef called with ref: " + targetRef);
-
-        if (targetRef == null) {
-            System.out.println("[Balloon] targetRef is null");
-            return;
-        }
-
-        // Find player UUID from entity ref by checking online players
-        UUID playerUuid = null;
-        for (var entry : onlinePlayers.entrySet()) {
-            // Just use the first online player for now (single player mode)
-            playerUuid = entry.getKey();
-            break;
-        }
-
-        if (playerUuid == null) {
-            System.out.println("[Balloon] Could not find player UUID");
-            return;
-        }
-
-        System.out.println("[Balloon] Looking for ref in map. Map size: " + blockToBalloon.size());
-        System.out.println("[Balloon] Target ref: " + targetRef + " (hash: " + System.identityHashCode(targetRef) + ")");
-
-        // Check all entries to find matching balloon
-        Integer balloonId = blockToBalloon.get(targetRef);
-
-        // If direct lookup fails, compare using equals
-        if (balloonId == null) {
-            System.out.println("[Balloon] Direct lookup failed, trying equals comparison");
-            for (var entry : blockToBalloon.entrySet()) {
-                System.out.println("[Balloon] Comparing: " + entry.getKey() + " vs " + targetRef);
-                if (entry.getKey().equals(targetRef)) {
-                    balloonId = entry.getValue();
-                    System.out.println("[Balloon] Found match via equals!");
-                    break;
-                }
-            }
-        }
-
-        if (balloonId == null) {
-            System.out.println("[Balloon] No balloon found for this ref");
-            return;
-        }
-
-        System.out.println("[Balloon] Found balloon #" + balloonId + " for interaction");
-
-        Balloon balloon = balloons.get(balloonId);
-        if (balloon == null) return;
-
-        PlayerRef player = onlinePlayers.get(playerUuid);
-
-        if (balloon.isFlying()) {
-            // Turn off
-            balloon.setFlying(false);
-            balloon.setRider(null);
-            playerBalloons.remove(playerUuid);
-            if (player != null) {
-                player.sendMessage(Message.raw("[Balloon] Balloon deactivated. Landing...").color(java.awt.Color.YELLOW));
-            }
-            System.out.println("[Balloon] Balloon #" + balloonId + " deactivated by F key");
-        } else {
-            // Turn on
-            balloon.setFlying(true);
-            balloon.setRider(playerUuid);
-            playerBalloons.put(playerUuid, balloonId);
-            if (player != null) {
-                player.sendMessage(Message.raw("[Balloon] Balloon activated! Rising...").color(java.awt.Color.CYAN));
-            }
-            System.out.println("[Balloon] Balloon #" + balloonId + " activated by F key");
-        }
-    }
+    // ==================== Event Handlers ====================
 
     /**
-     * Handle player interaction via PlayerInteractEvent (F key)
-     * Player ref is an entity ref, so we find the player UUID by checking online players
+     * Plugin events, on the tick thread in the simulation phase (before the balloon update)
      */
-    public void onPlayerInteractEntity(com.hypixel.hytale.server.core.entity.Entity targetEntity, Ref<EntityStore> playerEntityRef) {
-        System.out.println("[Balloon] onPlayerInteractEntity called");
-
-        // Find player UUID from entity ref by checking online players
-        UUID playerUuid = null;
-        for (var entry : onlinePlayers.entrySet()) {
-            // Just use the first online player for now (single player mode)
-            playerUuid = entry.getKey();
-            break;
-        }
-
-        if (playerUuid != null) {
-            onPlayerInteract(targetEntity, playerUuid);
-        } else {
-            System.out.println("[Balloon] Could not find player UUID");
+    private void onEvent(PluginEvent event) {
+        switch (event.getType()) {
+            case ENTITY_INTERACT:
+                onPlayerInteractRef(event.getTarget(), playerLookup.apply(event.getPlayerEntity()));
+                break;
+            case BLOCK_USE:
+                onUseBlockEvent(event.getBlockX(), event.getBlockY(), event.getBlockZ(), event.getBlockType(),
+                    playerLookup.apply(event.getPlayerEntity()));
+                break;
+            case RIGHT_CLICK:
+                onRightClick(event.getPlayer().getUuid());
+                break;
+            default:
+                break;
         }
     }
 
     /**
-     * Handle player interaction with center block - toggle balloon on/off
+     * Handle player interaction via PlayerInteractEvent (F key)
+     * Uses the target entity Ref directly from the event
+     * @param playerUuid The interacting player, resolved from their entity ref (may be null)
      */
-    public void onPlayerInteract(com.hypixel.hytale.server.core.entity.Entity targetEntity, UUID playerUuid) {
-        System.out.println("[Balloon] onPlayerInteract called with entity: " + targetEntity);
-
-        if (targetEntity == null) {
-            System.out.println("[Balloon] targetEntity is null");
-            return;
-        }
-        Ref<EntityStore> targetRef = targetEntity.getReference();
-        if (targetRef == null) {
-            System.out.println("[Balloon] targetRef is null");
-            return;
-        }
-
-        System.out.println("[Balloon] Looking for ref in map. Map size: " + blockToBalloon.size());
-        System.out.println("[Balloon] Target ref: " + targetRef + " (hash: " + System.identityHashCode(targetRef) + ")");
-        for (var entry : blockToBalloon.entrySet()) {
-            System.out.println("[Balloon] Map entry: " + entry.getKey() + " (hash: " + System.identityHashCode(entry.getKey()) + ") -> " + entry.getValue());
-            System.out.println("[Balloon] Equals check: " + entry.getKey().equals(targetRef));
-        }
-
+    private void onPlayerInteractRef(Ref<EntityStore> targetRef, UUID playerUuid) {
         Integer balloonId = blockToBalloon.get(targetRef);
         if (balloonId == null) {
-            System.out.println("[Balloon] No balloon found for this ref");
-            return;
+            return; // Not one of our platform blocks
         }
 
-        System.out.println("[Balloon] Found balloon #" + balloonId + " for interaction");
-
-        Balloon balloon = balloons.get(balloonId);
-        if (balloon == null) return;
-
-        PlayerRef player = onlinePlayers.get(playerUuid);
-
-        if (balloon.isFlying()) {
-            // Turn off
-            balloon.setFlying(false);
-            balloon.setRider(null);
-            playerBalloons.remove(playerUuid);
-            if (player != null) {
-                player.sendMessage(Message.raw("[Balloon] Balloon deactivated. Landing...").color(java.awt.Color.YELLOW));
-            }
-            System.out.println("[Balloon] Balloon #" + balloonId + " deactivated by right-click");
-        } else {
-            // Turn on
-            balloon.setFlying(true);
-            balloon.setRider(playerUuid);
-            playerBalloons.put(playerUuid, balloonId);
-            if (player != null) {
-                player.sendMessage(Message.raw("[Balloon] Balloon activated! Rising...").color(java.awt.Color.CYAN));
-            }
-            System.out.println("[Balloon] Balloon #" + balloonId + " activated by right-click");
-        }
+        submit(BalloonTransition.Type.TOGGLE, balloonId, playerUuid, "F key");
     }
 
     /**
      * Handle UseBlockEvent for brazier world blocks (F key interaction)
-     * @param blockPos The position of the block that was used
      * @param blockTypeKey The block type key
+     * @param playerUuid The interacting player (may be null)
      * @return true if the interaction was handled
      */
-    public boolean onUseBlockEvent(Vector3i blockPos, String blockTypeKey) {
-        System.out.println("[Balloon] onUseBlockEvent called at " + blockPos + " type=" + blockTypeKey);
-
+    private boolean onUseBlockEvent(int x, int y, int z, String blockTypeKey, UUID playerUuid) {
         // Check if this is a brazier
         if (!TOGGLE_BLOCK_TYPE.equals(blockTypeKey)) {
             return false;
         }
 
-        return toggleBalloonAtPosition(blockPos);
+        boolean handled = toggleBalloonAtPosition(x, y, z, playerUuid);
+        if (handled) {
+            LOG.debug("Balloon handled world block interaction");
+        }
+        return handled;
+    }
+
+    /**
+     * Right-click fallback: toggle the balloon the player stands next to (within 3 blocks)
+     */
+    private void onRightClick(UUID playerUuid) {
+        Integer nearestBalloon = getNearestBalloonInRange(playerUuid, 3.0);
+        if (nearestBalloon != null) {
+            LOG.debug("Right-click detected near balloon #{}", nearestBalloon);
+            toggle(nearestBalloon, playerUuid);
+        }
     }
 
     /**
      * Toggle a balloon at a specific block position
-     * @param blockPos The position of the brazier block
+     * @param playerUuid The interacting player (may be null)
      * @return true if the interaction was handled
      */
-    public boolean toggleBalloonAtPosition(Vector3i blockPos) {
+    public boolean toggleBalloonAtPosition(int x, int y, int z, UUID playerUuid) {
         // Look up balloon by position
-        String posKey = blockPos.x + "," + blockPos.y + "," + blockPos.z;
-        Integer balloonId = brazierPositionToBalloon.get(posKey);
-
+        Integer balloonId = brazierPositionToBalloon.get(positionKey(x, y, z));
         if (balloonId == null) {
-            System.out.println("[Balloon] No balloon found for brazier at " + posKey);
             return false;
         }
 
-        System.out.println("[Balloon] Found balloon #" + balloonId + " for brazier interaction!");
-
-        // Find player (single player mode - use first online)
-        UUID playerUuid = null;
-        for (var entry : onlinePlayers.entrySet()) {
-            playerUuid = entry.getKey();
-            break;
-        }
-
-        if (playerUuid == null) {
-            System.out.println("[Balloon] No player found");
+        // Same coordinates in another world are not this brazier
+        Balloon balloon = balloons.get(balloonId);
+        PlayerRef player = playerUuid != null ? sessions.getPlayer(playerUuid) : null;
+        if (balloon == null || (player != null && !balloon.getWorldUuid().equals(player.getWorldUuid()))) {
             return false;
         }
 
-        // Toggle the balloon
-        toggle(balloonId, playerUuid);
-        return true;
+        return submit(BalloonTransition.Type.TOGGLE, balloonId, playerUuid, "brazier");
     }
 
     /**
-     * Create a position key string for the brazier map
+     * Pack a block position into a map key (26 bits X, 26 bits Z, 12 bits Y)
      */
-    private String positionKey(int x, int y, int z) {
-        return x + "," + y + "," + z;
+    private static long positionKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
     }
 
     /**
      * Register a brazier position for a balloon
      */
     public void registerBrazierPosition(int balloonId, int x, int y, int z) {
-        String key = positionKey(x, y, z);
-        brazierPositionToBalloon.put(key, balloonId);
-        System.out.println("[Balloon] Registered brazier position " + key + " for balloon #" + balloonId);
+        brazierPositionToBalloon.put(positionKey(x, y, z), balloonId);
+        LOG.debug("Registered brazier position {},{},{} for balloon #{}", x, y, z, balloonId);
     }
 
     /**
      * Unregister a brazier position
      */
     public void unregisterBrazierPosition(int x, int y, int z) {
-        String key = positionKey(x, y, z);
-        brazierPositionToBalloon.remove(key);
+        brazierPositionToBalloon.remove(positionKey(x, y, z));
     }
 
     /**
@@ -966,43 +1810,75 @@ public class BalloonSystem {
      */
     public static class Balloon {
         private final int id;
+        private final BalloonBlueprint blueprint;
         private final List<Ref<EntityStore>> blockRefs;  // All platform blocks
         private final Ref<EntityStore> centerRef;        // Center block (interactable, for position tracking)
         private final Store<EntityStore> entityStore;
         private final UUID worldUuid;
+        private volatile UUID owner;       // Player who spawned it, null if unknown
         private Vector3d lastKnownPosition;
-        private UUID rider;
-        private boolean flying;
+        private UUID pilot;                // Passenger steering the balloon - world thread only (see BalloonInbox)
+        private final Set<UUID> passengers = ConcurrentHashMap.newKeySet(); // Everyone aboard, pilot included
+        private final List<Message> pendingMessages = new ArrayList<>(); // Queued for the next fan-out - world thread only
+        private boolean particlesRequested;  // Burner particles due in the next fan-out
+        private boolean fanoutQueued;        // Already in this tick's fan-out queue
+        private boolean flying;            // Written on the world thread only
         private Vector3i brazierBlockPos;  // World block position for brazier (set after landing)
         private Vector3i targetLandingPos; // Target X/Z landing position
         private boolean landed;            // Has the balloon landed?
         private int particleTick;          // Counter for particle spawning
-
-        public Balloon(int id, List<Ref<EntityStore>> blockRefs, Ref<EntityStore> centerRef,
+        private volatile BalloonActivity activity;     // Decides the tick rate
+        private int ticksUntilUpdate;                  // Countdown to the next update at the current rate
+        private volatile long lastPlayerNearbyTick;    // Last tick a player was in range while parked
+        private long filterCellKey = Long.MIN_VALUE;   // Cell last indexed for event filters - tick thread only
+        private volatile Long parkedCellKey;           // Cell in the parked index, null when not parked
+        private final BalloonFlightState flightState = new BalloonFlightState(); // Flight model memory, world thread only
+        private Autopilot autopilot;       // Null when steered by the pilot - world thread only
+        private UUID followTarget;         // Player the autopilot follows, null for a fixed target
+
+        public Balloon(int id, BalloonBlueprint blueprint, List<Ref<EntityStore>> blockRefs, Ref<EntityStore> centerRef,
                        Store<EntityStore> entityStore, UUID worldUuid, Vector3d initialPosition) {
             this.id = id;
+            this.blueprint = blueprint;
             this.blockRefs = blockRefs;
             this.centerRef = centerRef;
             this.entityStore = entityStore;
             this.worldUuid = worldUuid;
             this.lastKnownPosition = initialPosition;
-            this.rider = null;
+            this.pilot = null;
             this.flying = false;
             this.brazierBlockPos = null;
             this.targetLandingPos = null;
             this.landed = false;
             this.particleTick = 0;
+            this.activity = BalloonActivity.FALLING;
+            this.ticksUntilUpdate = 0;
         }
 
         public int getId() { return id; }
+        public BalloonBlueprint getBlueprint() { return blueprint; }
         public List<Ref<EntityStore>> getBlockRefs() { return blockRefs; }
         public Ref<EntityStore> getCenterRef() { return centerRef; }
         public Store<EntityStore> getEntityStore() { return entityStore; }
         public UUID getWorldUuid() { return worldUuid; }
+        public UUID getOwner() { return owner; }
+        public void setOwner(UUID owner) { this.owner = owner; }
         public Vector3d getLastKnownPosition() { return lastKnownPosition; }
         public void setLastKnownPosition(Vector3d pos) { this.lastKnownPosition = pos; }
-        public UUID getRider() { return rider; }
-        public void setRider(UUID rider) { this.rider = rider; }
+        public UUID getPilot() { return pilot; }
+        public void setPilot(UUID pilot) { this.pilot = pilot; }
+        public Set<UUID> getPassengers() { return passengers; }
+        List<Message> getPendingMessages() { return pendingMessages; }
+        boolean isFanoutQueued() { return fanoutQueued; }
+        void setFanoutQueued(boolean queued) { this.fanoutQueued = queued; }
+        void requestParticles() { this.particlesRequested = true; }
+        boolean isParticleRequested() { return particlesRequested; }
+
+        boolean consumeParticleRequest() {
+            boolean requested = particlesRequested;
+            particlesRequested = false;
+            return requested;
+        }
         public boolean isFlying() { return flying; }
         public void setFlying(boolean flying) { this.flying = flying; }
         public Vector3i getBrazierBlockPos() { return brazierBlockPos; }
@@ -1014,5 +1890,31 @@ public class BalloonSystem {
         public int getParticleTick() { return particleTick; }
         public void incrementParticleTick() { this.particleTick++; }
         public void resetParticleTick() { this.particleTick = 0; }
+        public BalloonActivity getActivity() { return activity; }
+        public BalloonFlightState getFlightState() { return flightState; }
+        public Autopilot getAutopilot() { return autopilot; }
+        public UUID getFollowTarget() { return followTarget; }
+        public void setAutopilot(Autopilot autopilot, UUID followTarget) {
+            this.autopilot = autopilot;
+            this.followTarget = followTarget;
+        }
+        public long getLastPlayerNearbyTick() { return lastPlayerNearbyTick; }
+        public void setLastPlayerNearbyTick(long tick) { this.lastPlayerNearbyTick = tick; }
+        Long getParkedCellKey() { return parkedCellKey; }
+        void setParkedCellKey(Long key) { this.parkedCellKey = key; }
+
+        void setActivity(BalloonActivity activity) {
+            this.activity = activity;
+            this.ticksUntilUpdate = 0; // Update on the next pass at the new rate
+        }
+
+        /**
+         * Count down to the next update; true when this balloon is due
+         */
+        boolean consumeTick() {
+            if (--ticksUntilUpdate > 0) return false;
+            ticksUntilUpdate = activity.getTickInterval();
+            return true;
+        }
     }
 }
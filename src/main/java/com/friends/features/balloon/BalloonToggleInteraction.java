@@ -4,6 +4,7 @@ import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Sim
 import com.hypixel.hytale.server.core.entity.InteractionContext;
 import com.hypixel.hytale.server.core.modules.interaction.interaction.CooldownHandler;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.protocol.InteractionType;
 import com.hypixel.hytale.component.CommandBuffer;
@@ -12,6 +13,9 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.friends.FriendsPlugin;
+import com.friends.log.Log;
+
+import java.util.UUID;
 
 /**
  * Custom interaction for toggling balloon flight when pressing F on the brazier.
@@ -21,6 +25,8 @@ import com.friends.FriendsPlugin;
  */
 public class BalloonToggleInteraction extends SimpleInstantInteraction {
 
+    private static final Log LOG = Log.get("BalloonToggle");
+
     public static final BuilderCodec<BalloonToggleInteraction> CODEC =
         BuilderCodec.builder(BalloonToggleInteraction.class, BalloonToggleInteraction::new).build();
 
@@ -34,26 +40,23 @@ public class BalloonToggleInteraction extends SimpleInstantInteraction {
             InteractionContext context,
             CooldownHandler cooldownHandler
     ) {
-        System.out.println("[BalloonToggle] ============================================");
-        System.out.println("[BalloonToggle] firstRun() CALLED!");
-        System.out.println("[BalloonToggle] InteractionType: " + interactionType);
-        System.out.println("[BalloonToggle] ============================================");
+        LOG.debug("firstRun() called, InteractionType: {}", interactionType);
 
         // Get the command buffer to access entity data
         CommandBuffer<EntityStore> commandBuffer = context.getCommandBuffer();
         if (commandBuffer == null) {
-            System.out.println("[BalloonToggle] CommandBuffer is null");
+            LOG.debug("CommandBuffer is null");
             return;
         }
 
         // Get the entity (player) from the interaction context
         Ref<EntityStore> entityRef = context.getEntity();
         if (entityRef == null) {
-            System.out.println("[BalloonToggle] No entity ref");
+            LOG.debug("No entity ref");
             return;
         }
 
-        System.out.println("[BalloonToggle] Entity ref: " + entityRef);
+        LOG.debug("Entity ref: {}", entityRef);
 
         // Get the store to access components
         Store<EntityStore> store = commandBuffer.getExternalData().getStore();
@@ -63,21 +66,30 @@ public class BalloonToggleInteraction extends SimpleInstantInteraction {
         Vector3d position = null;
         if (transform != null) {
             position = transform.getPosition();
-            System.out.println("[BalloonToggle] Player position: " + position.x + ", " + position.y + ", " + position.z);
+            LOG.debug("Player position: {}, {}, {}", position.x, position.y, position.z);
         } else {
-            System.out.println("[BalloonToggle] No transform component");
+            LOG.debug("No transform component");
         }
 
         // Get the balloon system
         BalloonSystem balloonSystem = FriendsPlugin.getInstance().getBalloonSystem();
         if (balloonSystem == null) {
-            System.out.println("[BalloonToggle] No balloon system");
+            LOG.warn("No balloon system");
+            return;
+        }
+
+        // Only balloons in the interacting player's world count
+        UUID playerUuid = FriendsPlugin.getInstance().getRadarSystem().getPlayerUuid(entityRef);
+        PlayerRef player = playerUuid != null ? FriendsPlugin.getInstance().getSessions().getPlayer(playerUuid) : null;
+        if (player == null) {
+            LOG.debug("No online player for entity ref");
             return;
         }
 
         // Try to find a balloon near the player and toggle it
         if (position != null) {
             Integer nearestBalloon = balloonSystem.getNearestBalloonInRangeByPosition(
+                player.getWorldUuid(),
                 position.x,
                 position.y,
                 position.z,
@@ -85,13 +97,13 @@ public class BalloonToggleInteraction extends SimpleInstantInteraction {
             );
 
             if (nearestBalloon != null) {
-                System.out.println("[BalloonToggle] Found balloon #" + nearestBalloon + " near player, toggling!");
-                balloonSystem.toggle(nearestBalloon, null); // Pass null for UUID, toggle will handle it
+                LOG.debug("Found balloon #{} near player, toggling", nearestBalloon);
+                balloonSystem.toggle(nearestBalloon, playerUuid);
             } else {
-                System.out.println("[BalloonToggle] No balloon found near player");
+                LOG.debug("No balloon found near player");
             }
         } else {
-            System.out.println("[BalloonToggle] Cannot find balloon - no position available");
+            LOG.debug("Cannot find balloon - no position available");
         }
     }
 }
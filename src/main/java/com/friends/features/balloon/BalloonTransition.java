@@ -0,0 +1,53 @@
+package com.friends.features.balloon;
+
+import java.util.UUID;
+
+/**
+ * A requested balloon state change, submitted from any thread and applied on
+ * the balloon's world thread (see {@link BalloonInbox}).
+ */
+public final class BalloonTransition {
+
+    public enum Type {
+        TOGGLE,      // Light the burner if it is out, put it out if it is lit
+        TURN_ON,     // Light the burner and make the player the pilot
+        TURN_OFF,    // Put the burner out and land
+        RIDER_LEFT,  // The player disconnected or boarded another balloon - drop them as passenger
+        REMOVE,      // Remove the balloon from the world
+        AUTOPILOT,   // Fly to targetX/targetZ, or follow targetPlayer when set
+        MANUAL       // Switch the autopilot off, back to steering by looking
+    }
+
+    private final Type type;
+    private final int balloonId;
+    private final UUID playerUuid;  // May be null when the player is unknown
+    private final String source;    // What triggered it, for messages and logs
+
+    // Autopilot target (AUTOPILOT only)
+    private final double targetX;
+    private final double targetZ;
+    private final UUID targetPlayer;  // Player to follow, null for a fixed position
+
+    public BalloonTransition(Type type, int balloonId, UUID playerUuid, String source) {
+        this(type, balloonId, playerUuid, source, 0.0, 0.0, null);
+    }
+
+    public BalloonTransition(Type type, int balloonId, UUID playerUuid, String source,
+                             double targetX, double targetZ, UUID targetPlayer) {
+        this.type = type;
+        this.balloonId = balloonId;
+        this.playerUuid = playerUuid;
+        this.source = source;
+        this.targetX = targetX;
+        this.targetZ = targetZ;
+        this.targetPlayer = targetPlayer;
+    }
+
+    public Type getType() { return type; }
+    public int getBalloonId() { return balloonId; }
+    public UUID getPlayerUuid() { return playerUuid; }
+    public String getSource() { return source; }
+    public double getTargetX() { return targetX; }
+    public double getTargetZ() { return targetZ; }
+    public UUID getTargetPlayer() { return targetPlayer; }
+}
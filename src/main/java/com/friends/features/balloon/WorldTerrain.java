@@ -0,0 +1,86 @@
+package com.friends.features.balloon;
+
+import com.friends.features.balloon.flight.TerrainProvider;
+import com.friends.log.Log;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.accessor.BlockAccessor;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WorldTerrain - Flight simulator terrain backed by the loaded chunks of a world
+ *
+ * Only reads chunks that are already loaded; missing chunks are requested
+ * asynchronously, once per chunk until the load completes.
+ * Queries must run on the world thread.
+ */
+final class WorldTerrain implements TerrainProvider {
+
+    private static final Log LOG = Log.get("Balloon");
+
+    private final World world;
+
+    // Chunks requested asynchronously and not loaded yet
+    private final Set<Long> pendingChunkLoads = ConcurrentHashMap.newKeySet();
+
+    WorldTerrain(World world) {
+        this.world = world;
+    }
+
+    World getWorld() {
+        return world;
+    }
+
+    @Override
+    public double groundHeight(double x, double startY, double z) {
+        try {
+            int blockX = (int) Math.floor(x);
+            int blockZ = (int) Math.floor(z);
+            int startBlockY = (int) Math.floor(startY);
+
+            BlockAccessor accessor = world.getChunkIfLoaded(chunkKey(blockX, blockZ));
+
+            if (accessor == null) return Double.NaN;
+
+            for (int y = startBlockY; y > 0; y--) {
+                BlockType blockType = accessor.getBlockType(blockX & 15, y, blockZ & 15);
+                if (blockType != null && blockType != BlockType.EMPTY) {
+                    return y + 1.0;
+                }
+            }
+
+            return 1.0;
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public boolean isLoaded(int blockX, int blockZ) {
+        return world.getChunkIfLoaded(chunkKey(blockX, blockZ)) != null;
+    }
+
+    @Override
+    public void requestLoad(int blockX, int blockZ) {
+        long key = chunkKey(blockX, blockZ);
+        if (!pendingChunkLoads.add(key)) return;
+
+        try {
+            world.getChunkAsync(key).whenComplete((chunk, error) -> pendingChunkLoads.remove(key));
+        } catch (Exception e) {
+            pendingChunkLoads.remove(key);
+            LOG.error("Error requesting chunk load: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Chunk key for a block position (same packing as the world's chunk index)
+     */
+    private static long chunkKey(int blockX, int blockZ) {
+        int chunkX = blockX >> 4;
+        int chunkZ = blockZ >> 4;
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,165 @@
+package com.friends.features.balloon.flight;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Autopilot - Flies a balloon along planned routes to a target
+ *
+ * Owned by one balloon and used from its world thread only. Routes come from
+ * the {@link AutopilotPlanner} in the background; while one is being planned
+ * the balloon keeps flying the old route. When the target moves, the part of
+ * the route up to the next waypoint is kept and only the rest is replanned.
+ */
+public final class Autopilot {
+
+    private static final double WAYPOINT_RADIUS = 3.0;   // Horizontal distance at which a waypoint counts as reached
+    private static final double ARRIVE_RADIUS = 3.0;     // Hover once this close to the target
+    private static final double HOLD_RADIUS = 8.0;       // Fly back if wind pushes us this far off the target
+    private static final double REPLAN_DISTANCE = 8.0;   // Replan when the target moved this far from the planned one
+    private static final int REPLAN_COOLDOWN_STEPS = 20; // At most one replan per 2s for a moving target
+    private static final int TILE_BUILDS_PER_STEP = 1;   // Clearance tile build calls per step while the route has gaps (each a quarter tile)
+
+    private final AutopilotPlanner planner;
+    private final ClearanceGrid grid;
+
+    private double targetX;
+    private double targetZ;
+
+    private FlightPath path;
+    private int waypointIndex;
+    private CompletableFuture<FlightPath> pendingPlan;
+    private int pendingKeep;          // Waypoints of the current path kept by the pending plan
+    private int cooldown;
+    private boolean arrived;
+
+    public Autopilot(AutopilotPlanner planner, ClearanceGrid grid, double targetX, double targetZ) {
+        this.planner = planner;
+        this.grid = grid;
+        this.targetX = targetX;
+        this.targetZ = targetZ;
+    }
+
+    /**
+     * Move the target (e.g. a followed player); replanned incrementally once it moved far enough
+     */
+    public void setTarget(double x, double z) {
+        this.targetX = x;
+        this.targetZ = z;
+    }
+
+    /**
+     * Set heading and cruise altitude for the next step
+     */
+    public void steer(BalloonFlightState state, TerrainProvider terrain) {
+        adoptPlan();
+        if (cooldown > 0) cooldown--;
+
+        // Fill in clearance tiles the route was planned without, then replan over them
+        if (path != null && !path.isComplete()) {
+            int built = 0;
+            for (long tileKey : path.getMissingTiles()) {
+                if (grid.isBuilt(tileKey)) continue;
+                if (built++ >= TILE_BUILDS_PER_STEP) break;
+                grid.build(tileKey, terrain);
+            }
+        }
+
+        if (needsPlan()) {
+            requestPlan(state, terrain); // Waits a few steps while the tile under the balloon is built
+        }
+
+        if (path == null || path.size() == 0) {
+            // Nothing to fly yet - hover where we are
+            state.clearHeading();
+            state.clearTargetAltitude();
+            return;
+        }
+
+        // Skip waypoints we have reached
+        while (waypointIndex < path.size() - 1
+                && horizontalDistance(state, path.getX(waypointIndex), path.getZ(waypointIndex)) < WAYPOINT_RADIUS) {
+            waypointIndex++;
+        }
+
+        double toTarget = horizontalDistance(state, targetX, targetZ);
+        arrived = arrived ? toTarget < HOLD_RADIUS : toTarget < ARRIVE_RADIUS;
+
+        state.setTargetAltitude(path.getY(waypointIndex));
+        if (arrived) {
+            state.clearHeading();
+            return;
+        }
+
+        double dx = path.getX(waypointIndex) - state.x;
+        double dz = path.getZ(waypointIndex) - state.z;
+        if (waypointIndex == path.size() - 1 && dx * dx + dz * dz < WAYPOINT_RADIUS * WAYPOINT_RADIUS) {
+            // End of a partial route - head straight for the target until the next plan arrives
+            dx = targetX - state.x;
+            dz = targetZ - state.z;
+        }
+        // Yaw convention of the flight model: velocity = (-sin(yaw), cos(yaw))
+        state.setHeading((float) Math.atan2(-dx, dz));
+    }
+
+    public boolean hasArrived() {
+        return arrived;
+    }
+
+    public double getTargetX() { return targetX; }
+    public double getTargetZ() { return targetZ; }
+
+    private void adoptPlan() {
+        if (pendingPlan == null || !pendingPlan.isDone()) return;
+
+        CompletableFuture<FlightPath> done = pendingPlan;
+        pendingPlan = null;
+        if (done.isCompletedExceptionally()) return;  // Planned again after the cooldown
+
+        FlightPath planned = done.join();
+
+        // Waypoints before the kept prefix end are behind us or being flown to
+        waypointIndex = Math.min(waypointIndex, Math.max(0, pendingKeep - 1));
+        path = planned;
+    }
+
+    private boolean needsPlan() {
+        if (pendingPlan != null || cooldown > 0) return false;
+        if (path == null) return true;
+
+        // Target moved
+        double dx = targetX - path.getTargetX();
+        double dz = targetZ - path.getTargetZ();
+        if (dx * dx + dz * dz > REPLAN_DISTANCE * REPLAN_DISTANCE) return true;
+
+        // Gaps in the clearance data have been filled since planning
+        if (!path.isComplete()) {
+            for (long tileKey : path.getMissingTiles()) {
+                if (!grid.isBuilt(tileKey)) return false;
+            }
+            return true;
+        }
+
+        // Partial route (too long to plan at once) used up
+        return waypointIndex == path.size() - 1 && !arrived
+            && (path.getX(waypointIndex) - targetX) * (path.getX(waypointIndex) - targetX)
+             + (path.getZ(waypointIndex) - targetZ) * (path.getZ(waypointIndex) - targetZ) > ARRIVE_RADIUS * ARRIVE_RADIUS;
+    }
+
+    private void requestPlan(BalloonFlightState state, TerrainProvider terrain) {
+        // Plan once the tile under the balloon is there, building a part of it per step
+        if (!grid.build(ClearanceGrid.tileKeyAt(state.x, state.z), terrain)) return;
+
+        // Keep the route up to and including the waypoint being flown to
+        int keep = path != null && path.isComplete() ? Math.min(waypointIndex + 1, path.size()) : 0;
+        pendingKeep = keep;
+        pendingPlan = planner.planAsync(grid, keep > 0 ? path : null, keep,
+            state.x, state.y, state.z, targetX, targetZ);
+        cooldown = REPLAN_COOLDOWN_STEPS;
+    }
+
+    private static double horizontalDistance(BalloonFlightState state, double x, double z) {
+        double dx = x - state.x;
+        double dz = z - state.z;
+        return Math.sqrt(dx * dx + dz * dz);
+    }
+}
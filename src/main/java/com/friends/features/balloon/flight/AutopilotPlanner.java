@@ -0,0 +1,139 @@
+package com.friends.features.balloon.flight;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AutopilotPlanner - Plans autopilot routes off the world thread
+ *
+ * Routes are straight lines over the {@link ClearanceGrid}: the ground profile
+ * is sampled every cell, the required altitude is propagated backwards so the
+ * balloon starts climbing early enough to clear rising terrain at its climb
+ * rate, and the profile is then reduced to the few waypoints where the cruise
+ * altitude changes.
+ */
+public final class AutopilotPlanner {
+
+    private static final double CLEARANCE_MARGIN = 2.0;    // Extra height over the highest ground nearby
+    private static final int WIDTH_CELLS = 1;              // Cells either side of the line that count as "nearby"
+    private static final double ALTITUDE_STEP = 2.0;       // New waypoint when cruise altitude changes this much
+    private static final double MAX_WAYPOINT_SPACING = 64.0; // Keep waypoints this close so heading errors stay small
+    private static final int MAX_STEPS = 4096;             // ~16k blocks; longer routes are cut short and replanned
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Friends-Autopilot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final double flightHeight;  // Cruise height above ground
+    private final double climbPerBlock; // Height gained per block flown at full climb
+
+    public AutopilotPlanner(BalloonFlightSimulator simulator) {
+        this.flightHeight = simulator.getFlightHeight();
+        this.climbPerBlock = simulator.getAscentSpeed() / simulator.getHorizontalSpeed();
+    }
+
+    /**
+     * Plan a route in the background, keeping the first keepCount waypoints of
+     * a previous route and only planning the rest from the last kept one
+     * @param previous route to keep a prefix of, or null to plan from the start position
+     */
+    public CompletableFuture<FlightPath> planAsync(ClearanceGrid grid, FlightPath previous, int keepCount,
+                                                   double startX, double startY, double startZ,
+                                                   double targetX, double targetZ) {
+        return CompletableFuture.supplyAsync(
+            () -> plan(grid, previous, keepCount, startX, startY, startZ, targetX, targetZ), executor);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    FlightPath plan(ClearanceGrid grid, FlightPath previous, int keepCount,
+                    double startX, double startY, double startZ, double targetX, double targetZ) {
+        // Continue from the end of the kept prefix
+        int kept = previous != null ? Math.min(keepCount, previous.size()) : 0;
+        double fromX = kept > 0 ? previous.getX(kept - 1) : startX;
+        double fromZ = kept > 0 ? previous.getZ(kept - 1) : startZ;
+        double fromY = kept > 0 ? previous.getY(kept - 1) : startY;
+
+        double dx = targetX - fromX;
+        double dz = targetZ - fromZ;
+        double length = Math.sqrt(dx * dx + dz * dz);
+        int steps = Math.max(1, Math.min(MAX_STEPS, (int) Math.ceil(length / ClearanceGrid.CELL_SIZE)));
+        double stepX = dx / steps;
+        double stepZ = dz / steps;
+        double sideX = length > 0 ? -dz / length * ClearanceGrid.CELL_SIZE : 0.0;
+        double sideZ = length > 0 ? dx / length * ClearanceGrid.CELL_SIZE : 0.0;
+
+        // Ground profile along the line; unknown cells reuse the last known height
+        double[] required = new double[steps + 1];
+        long[] missing = new long[8];
+        int missingCount = 0;
+        double lastKnown = fromY - flightHeight;
+
+        for (int i = 0; i <= steps; i++) {
+            double x = fromX + stepX * i;
+            double z = fromZ + stepZ * i;
+            double highest = Double.NaN;
+            for (int side = -WIDTH_CELLS; side <= WIDTH_CELLS; side++) {
+                double ground = grid.heightAt(x + sideX * side, z + sideZ * side);
+                if (Double.isNaN(ground)) {
+                    long key = ClearanceGrid.tileKeyAt(x + sideX * side, z + sideZ * side);
+                    if (!contains(missing, missingCount, key)) {
+                        if (missingCount == missing.length) missing = Arrays.copyOf(missing, missingCount * 2);
+                        missing[missingCount++] = key;
+                    }
+                } else if (Double.isNaN(highest) || ground > highest) {
+                    highest = ground;
+                }
+            }
+            if (!Double.isNaN(highest)) lastKnown = highest;
+            required[i] = lastKnown + flightHeight + CLEARANCE_MARGIN;
+        }
+
+        // Climb early: each point must be high enough to reach the next one's altitude at full climb
+        double climbPerStep = climbPerBlock * Math.sqrt(stepX * stepX + stepZ * stepZ);
+        for (int i = steps - 1; i >= 0; i--) {
+            required[i] = Math.max(required[i], required[i + 1] - climbPerStep);
+        }
+
+        // Reduce to waypoints: keep the highest altitude of each run, split when it changes or the run gets long
+        float[] points = new float[(kept + steps + 1) * 3];
+        if (kept > 0) {
+            System.arraycopy(previous.getPoints(), 0, points, 0, kept * 3);
+        }
+        int count = kept;
+        int runStart = 0;
+        double runAltitude = required[0];
+        int maxRun = Math.max(1, (int) (MAX_WAYPOINT_SPACING / ClearanceGrid.CELL_SIZE));
+
+        for (int i = 1; i <= steps; i++) {
+            boolean altitudeChanged = Math.abs(required[i] - runAltitude) >= ALTITUDE_STEP;
+            if (altitudeChanged || i - runStart >= maxRun || i == steps) {
+                // A rising segment is flown at its end altitude, so the climb starts before it
+                double altitude = Math.max(runAltitude, required[i]);
+                points[count * 3] = (float) (fromX + stepX * i);
+                points[count * 3 + 1] = (float) altitude;
+                points[count * 3 + 2] = (float) (fromZ + stepZ * i);
+                count++;
+                runStart = i;
+                runAltitude = required[i];
+            } else {
+                runAltitude = Math.max(runAltitude, required[i]);
+            }
+        }
+
+        return new FlightPath(Arrays.copyOf(points, count * 3), Arrays.copyOf(missing, missingCount), targetX, targetZ);
+    }
+
+    private static boolean contains(long[] values, int count, long value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+}
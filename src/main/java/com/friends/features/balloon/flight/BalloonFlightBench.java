@@ -0,0 +1,74 @@
+package com.friends.features.balloon.flight;
+
+/**
+ * Offline benchmark for the balloon flight model - no server required.
+ *
+ * Usage:
+ *   java -cp HytaleFriends-0.1.0.jar com.friends.features.balloon.flight.BalloonFlightBench [balloons] [seconds]
+ *
+ * Flies the given number of balloons over rolling hills in a breeze for the given
+ * amount of simulated time and reports how many balloon steps per second the model manages.
+ */
+public final class BalloonFlightBench {
+
+    private BalloonFlightBench() {
+    }
+
+    public static void main(String[] args) {
+        int balloonCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int simulatedSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        int steps = (int) (simulatedSeconds / BalloonFlightSimulator.TIMESTEP);
+
+        BalloonFlightSimulator simulator = new BalloonFlightSimulator();
+        TerrainProvider hills = new RollingHills();
+        WindField wind = new WindField(42L);
+
+        BalloonFlightState[] states = new BalloonFlightState[balloonCount];
+        for (int i = 0; i < balloonCount; i++) {
+            BalloonFlightState state = new BalloonFlightState();
+            state.setPosition(i * 7.0, 80.0, i * 3.0);
+            state.setFlying(true);
+            state.setHeading((float) (i * 0.37));
+            states[i] = state;
+        }
+
+        // Warm up the JIT before measuring
+        double time = 0.0;
+        for (int step = 0; step < Math.min(steps, 1000); step++) {
+            wind.advance(time += BalloonFlightSimulator.TIMESTEP);
+            for (BalloonFlightState state : states) {
+                simulator.step(state, hills, wind);
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            wind.advance(time += BalloonFlightSimulator.TIMESTEP);
+            for (BalloonFlightState state : states) {
+                simulator.step(state, hills, wind);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long totalSteps = (long) steps * balloonCount;
+        System.out.printf("%d balloons x %d steps in %.3fs: %.0f steps/s, %.1f ns/step%n",
+            balloonCount, steps, seconds, totalSteps / seconds, seconds * 1e9 / totalSteps);
+        System.out.printf("Sample balloon ended at (%.1f, %.1f, %.1f), %d wind tiles cached%n",
+            states[0].getX(), states[0].getY(), states[0].getZ(), wind.getTileCount());
+    }
+
+    /**
+     * Smooth sine hills, always loaded
+     */
+    private static final class RollingHills implements TerrainProvider {
+        @Override
+        public double groundHeight(double x, double startY, double z) {
+            return 64.0 + 12.0 * Math.sin(x * 0.02) * Math.cos(z * 0.015);
+        }
+
+        @Override
+        public boolean isLoaded(int blockX, int blockZ) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.friends.features.balloon.flight;
+
+/**
+ * BalloonFlightSimulator - Deterministic, allocation-free balloon flight model
+ *
+ * Works on a fixed timestep and a {@link TerrainProvider}, with no server
+ * dependencies. The live BalloonSystem uses {@link #updateVelocity} and lets the
+ * engine's physics move the platform; offline harnesses use {@link #step},
+ * which also integrates the position, to tune handling or benchmark.
+ *
+ * With a {@link WindField}, airborne balloons drift with the wind on top of
+ * the rider's steering (and rise or sink a little with its gusts).
+ */
+public final class BalloonFlightSimulator {
+
+    // Fixed timestep in seconds - matches the 100ms balloon tick
+    public static final double TIMESTEP = 0.1;
+
+    // Look-ahead terrain loading
+    private static final double LOOKAHEAD_SECONDS = 8.0;        // Request terrain this far ahead (in flight time)
+    private static final double LOOKAHEAD_STEP = 8.0;           // Sample the projected path every 8 blocks
+    private static final double SLOWDOWN_HORIZON_SECONDS = 2.0; // Terrain this close must be loaded for full speed
+    private static final double SPEED_LOSS_PER_STEP = 0.15;     // Ease off when the path ahead isn't ready
+    private static final double SPEED_GAIN_PER_STEP = 0.05;     // Ease back in once it is
+
+    // Hover band and landing
+    private static final double HOVER_BAND = 1.0;       // No vertical movement within this of the target height
+    private static final double APPROACH_RATE = 0.5;    // Vertical speed per block of height difference
+    private static final double SETTLE_HEIGHT = 1.5;    // Close enough to the ground to stop descending
+
+    // Flight parameters
+    private final double flightHeight;     // Height above ground when flying
+    private final double ascentSpeed;      // Max velocity for rising (blocks/sec)
+    private final double descentSpeed;     // Max velocity for descending
+    private final double horizontalSpeed;  // Speed for horizontal movement
+
+    public BalloonFlightSimulator() {
+        this(10.0, 1.0, 1.0, 1.5);
+    }
+
+    public BalloonFlightSimulator(double flightHeight, double ascentSpeed, double descentSpeed, double horizontalSpeed) {
+        this.flightHeight = flightHeight;
+        this.ascentSpeed = ascentSpeed;
+        this.descentSpeed = descentSpeed;
+        this.horizontalSpeed = horizontalSpeed;
+    }
+
+    /**
+     * Advance the state by one fixed timestep (velocity, then position)
+     * @param wind wind to drift with, or null for calm air
+     */
+    public void step(BalloonFlightState state, TerrainProvider terrain, WindField wind) {
+        updateVelocity(state, terrain, wind);
+        state.x += state.velX * TIMESTEP;
+        state.y += state.velY * TIMESTEP;
+        state.z += state.velZ * TIMESTEP;
+    }
+
+    /**
+     * Compute the velocity for the next timestep from the current position and controls
+     * @param wind wind to drift with, or null for calm air
+     */
+    public void updateVelocity(BalloonFlightState state, TerrainProvider terrain, WindField wind) {
+        if (wind != null) {
+            wind.sampleInto(state);
+        } else {
+            state.windX = 0.0;
+            state.windY = 0.0;
+            state.windZ = 0.0;
+        }
+
+        // Find ground level - keep tracking the last known ground while the column is unavailable
+        double groundY = terrain.groundHeight(state.x, state.y, state.z);
+        if (Double.isNaN(groundY)) {
+            groundY = Double.isNaN(state.lastGroundY) ? state.y - flightHeight : state.lastGroundY;
+        } else {
+            state.lastGroundY = groundY;
+        }
+
+        double velY;
+        state.settled = false;
+
+        if (state.flying) {
+            // Flying mode: rise to target height (or the autopilot's cruise altitude), then hover
+            double targetY = groundY + flightHeight;
+            if (!Double.isNaN(state.targetAltitude)) {
+                targetY = Math.max(targetY, state.targetAltitude);
+            }
+            double yDiff = targetY - state.y;
+            if (yDiff > HOVER_BAND) {
+                // Below target - rise (slower as we approach)
+                velY = Math.min(ascentSpeed, yDiff * APPROACH_RATE);
+            } else if (yDiff < -HOVER_BAND) {
+                // Above target - descend slowly
+                velY = Math.max(-descentSpeed, yDiff * APPROACH_RATE);
+            } else {
+                // At target height - hover
+                velY = 0.0;
+            }
+        } else {
+            // Landing mode: descend slowly until near ground
+            if (state.y - groundY > SETTLE_HEIGHT) {
+                velY = -descentSpeed;
+            } else {
+                velY = 0.0;
+                state.settled = true;
+            }
+        }
+
+        // Horizontal movement in the direction the rider is looking
+        double velX = 0.0;
+        double velZ = 0.0;
+        if (state.flying && state.steering) {
+            velX = -Math.sin(state.headingYaw) * horizontalSpeed;
+            velZ = Math.cos(state.headingYaw) * horizontalSpeed;
+        }
+
+        // Drift with the wind while airborne
+        if (!state.settled) {
+            velX += state.windX;
+            velZ += state.windZ;
+            if (state.flying) {
+                velY += state.windY;
+            }
+        }
+
+        if (velX != 0.0 || velZ != 0.0) {
+            // Request terrain along the projected path and slow down if it isn't ready in time
+            boolean pathReady = preloadPath(state, terrain, velX, velZ);
+            state.speedFactor = pathReady
+                ? Math.min(1.0, state.speedFactor + SPEED_GAIN_PER_STEP)
+                : Math.max(0.0, state.speedFactor - SPEED_LOSS_PER_STEP);
+            velX *= state.speedFactor;
+            velZ *= state.speedFactor;
+        }
+
+        state.velX = velX;
+        state.velY = velY;
+        state.velZ = velZ;
+    }
+
+    /**
+     * Project the path ahead from the horizontal velocity and request any
+     * terrain along it that is not available yet.
+     * @return true if the near part of the path is loaded and full speed is safe
+     */
+    private boolean preloadPath(BalloonFlightState state, TerrainProvider terrain, double velX, double velZ) {
+        double speed = Math.sqrt(velX * velX + velZ * velZ);
+        double dirX = velX / speed;
+        double dirZ = velZ / speed;
+        double lookahead = speed * LOOKAHEAD_SECONDS;
+        double horizon = speed * SLOWDOWN_HORIZON_SECONDS;
+
+        boolean nearPathLoaded = true;
+        int previousChunkX = ((int) Math.floor(state.x)) >> 4;
+        int previousChunkZ = ((int) Math.floor(state.z)) >> 4;
+
+        for (double distance = Math.min(LOOKAHEAD_STEP, horizon); distance <= lookahead; distance += LOOKAHEAD_STEP) {
+            int blockX = (int) Math.floor(state.x + dirX * distance);
+            int blockZ = (int) Math.floor(state.z + dirZ * distance);
+
+            // One check per chunk column along the path
+            if ((blockX >> 4) == previousChunkX && (blockZ >> 4) == previousChunkZ) continue;
+            previousChunkX = blockX >> 4;
+            previousChunkZ = blockZ >> 4;
+
+            if (terrain.isLoaded(blockX, blockZ)) continue;
+
+            if (distance <= horizon) {
+                nearPathLoaded = false;
+            }
+            terrain.requestLoad(blockX, blockZ);
+        }
+
+        return nearPathLoaded;
+    }
+
+    public double getFlightHeight() { return flightHeight; }
+    public double getAscentSpeed() { return ascentSpeed; }
+    public double getHorizontalSpeed() { return horizontalSpeed; }
+}
@@ -0,0 +1,82 @@
+package com.friends.features.balloon.flight;
+
+/**
+ * Mutable flight state of one balloon, stepped by {@link BalloonFlightSimulator}.
+ *
+ * Plain fields only, so a state can be reused every tick without allocating.
+ */
+public final class BalloonFlightState {
+
+    // Position of the anchor block
+    double x;
+    double y;
+    double z;
+
+    // Velocity computed by the last step (blocks/sec)
+    double velX;
+    double velY;
+    double velZ;
+
+    // Controls
+    boolean flying;      // Burner lit
+    boolean steering;    // Someone is steering with headingYaw
+    float headingYaw;    // Rider look direction (radians)
+    double targetAltitude = Double.NaN;  // Autopilot cruise altitude, NaN to follow the ground below
+
+    // Wind at the position, filled in by WindField.sampleInto (blocks/sec)
+    double windX;
+    double windY;
+    double windZ;
+
+    // Simulator memory
+    double lastGroundY = Double.NaN;  // Ground below at the last available scan
+    double speedFactor = 1.0;         // Horizontal speed scale, eased down when terrain lags behind
+    boolean settled;                  // Burner out and resting on the ground
+
+    public void setPosition(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public void setFlying(boolean flying) {
+        this.flying = flying;
+    }
+
+    /**
+     * Steer towards a look direction
+     */
+    public void setHeading(float yaw) {
+        this.steering = true;
+        this.headingYaw = yaw;
+    }
+
+    public void clearHeading() {
+        this.steering = false;
+    }
+
+    /**
+     * Fly at least this high (absolute Y), e.g. to clear terrain ahead
+     */
+    public void setTargetAltitude(double altitude) {
+        this.targetAltitude = altitude;
+    }
+
+    public void clearTargetAltitude() {
+        this.targetAltitude = Double.NaN;
+    }
+
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+    public double getVelX() { return velX; }
+    public double getVelY() { return velY; }
+    public double getVelZ() { return velZ; }
+    public double getWindX() { return windX; }
+    public double getWindY() { return windY; }
+    public double getWindZ() { return windZ; }
+    public boolean isFlying() { return flying; }
+    public double getLastGroundY() { return lastGroundY; }
+    public double getSpeedFactor() { return speedFactor; }
+    public boolean isSettled() { return settled; }
+}
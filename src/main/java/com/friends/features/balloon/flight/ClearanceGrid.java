@@ -0,0 +1,160 @@
+package com.friends.features.balloon.flight;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * ClearanceGrid - Cached coarse heightmap for autopilot planning
+ *
+ * Terrain is summarised in 64x64 block tiles of 4x4 block cells, each cell
+ * holding the highest ground found in it. Tiles are built on the world
+ * thread from a {@link TerrainProvider} a few cells per call, so no single
+ * step stalls the world; finished tiles never change afterwards, so the
+ * planner thread can read them without locking.
+ *
+ * Each column is scanned down from just above the previous cell's ground
+ * rather than from the top of the world, falling back to a full scan only
+ * where the terrain rises above that start.
+ */
+public final class ClearanceGrid {
+
+    static final int TILE_SIZE = 64;                        // Blocks per tile side (4x4 chunks)
+    static final int CELL_SIZE = 4;                         // Blocks per cell side
+    private static final int CELLS = TILE_SIZE / CELL_SIZE; // Cells per tile side
+    private static final int SAMPLE_STEP = 2;               // Scan every 2nd column within a cell
+    private static final int SCAN_TOP = 319;                // Highest block scanned for ground
+    private static final int SCAN_MARGIN = 24;              // Start scanning this far above the previous cell's ground
+    private static final int CELLS_PER_BUILD = 64;          // Cells built per call (a quarter tile)
+    private static final int MAX_TILES = 4096;              // ~2MB of cached tiles per world
+
+    private final Map<Long, short[]> tiles = new ConcurrentHashMap<>();
+    private final Queue<Long> buildOrder = new ConcurrentLinkedQueue<>();
+
+    // Tiles being built, by key (world thread only)
+    private final Map<Long, TileBuild> inProgress = new HashMap<>();
+
+    /**
+     * Highest ground in the cell containing this block
+     * @return the ground height, or NaN if the tile has not been built yet
+     */
+    public double heightAt(double x, double z) {
+        int blockX = (int) Math.floor(x);
+        int blockZ = (int) Math.floor(z);
+        short[] tile = tiles.get(tileKey(Math.floorDiv(blockX, TILE_SIZE), Math.floorDiv(blockZ, TILE_SIZE)));
+        if (tile == null) return Double.NaN;
+
+        int cellX = Math.floorMod(blockX, TILE_SIZE) / CELL_SIZE;
+        int cellZ = Math.floorMod(blockZ, TILE_SIZE) / CELL_SIZE;
+        return tile[cellZ * CELLS + cellX];
+    }
+
+    public boolean isBuilt(long tileKey) {
+        return tiles.containsKey(tileKey);
+    }
+
+    /**
+     * Build part of a tile if all of its chunks are loaded, requesting the ones that aren't - world thread only
+     * @return true if the tile is available afterwards, false if it is not ready yet (call again later)
+     */
+    public boolean build(long tileKey, TerrainProvider terrain) {
+        if (tiles.containsKey(tileKey)) return true;
+
+        int originX = tileX(tileKey) * TILE_SIZE;
+        int originZ = tileZ(tileKey) * TILE_SIZE;
+
+        TileBuild build = inProgress.get(tileKey);
+        if (build == null) {
+            boolean loaded = true;
+            for (int chunkZ = 0; chunkZ < TILE_SIZE; chunkZ += 16) {
+                for (int chunkX = 0; chunkX < TILE_SIZE; chunkX += 16) {
+                    if (!terrain.isLoaded(originX + chunkX, originZ + chunkZ)) {
+                        terrain.requestLoad(originX + chunkX, originZ + chunkZ);
+                        loaded = false;
+                    }
+                }
+            }
+            if (!loaded) return false;
+            build = new TileBuild();
+            inProgress.put(tileKey, build);
+        }
+
+        int end = Math.min(build.nextCell + CELLS_PER_BUILD, CELLS * CELLS);
+        for (int cell = build.nextCell; cell < end; cell++) {
+            int cellX = cell % CELLS;
+            int cellZ = cell / CELLS;
+
+            // Neighbouring ground is a good guess: the previous cell in the row, or the one above it
+            int hint = cellX > 0 ? build.heights[cell - 1] : cellZ > 0 ? build.heights[cell - CELLS] : -1;
+            double highest = 0.0;
+            for (int dz = 0; dz < CELL_SIZE; dz += SAMPLE_STEP) {
+                for (int dx = 0; dx < CELL_SIZE; dx += SAMPLE_STEP) {
+                    double ground = columnGround(terrain,
+                        originX + cellX * CELL_SIZE + dx + 0.5, originZ + cellZ * CELL_SIZE + dz + 0.5, hint);
+                    if (Double.isNaN(ground)) {
+                        inProgress.remove(tileKey); // Chunk unloaded meanwhile - start over once it is back
+                        return false;
+                    }
+                    if (ground > highest) highest = ground;
+                }
+            }
+            build.heights[cell] = (short) Math.ceil(highest);
+        }
+        build.nextCell = end;
+        if (end < CELLS * CELLS) return false;
+
+        inProgress.remove(tileKey);
+        tiles.put(tileKey, build.heights);
+        buildOrder.add(tileKey);
+
+        // Drop the oldest tiles once the cache is full
+        while (tiles.size() > MAX_TILES) {
+            Long oldest = buildOrder.poll();
+            if (oldest == null) break;
+            tiles.remove(oldest);
+        }
+        return true;
+    }
+
+    /**
+     * Ground in one column, scanning down from a little above the hint when there is one
+     */
+    private static double columnGround(TerrainProvider terrain, double x, double z, int hint) {
+        if (hint >= 0 && hint + SCAN_MARGIN < SCAN_TOP) {
+            int start = hint + SCAN_MARGIN;
+            double ground = terrain.groundHeight(x, start, z);
+            // Solid at the start block means the ground may be higher still - scan the whole column
+            if (Double.isNaN(ground) || ground <= start) return ground;
+        }
+        return terrain.groundHeight(x, SCAN_TOP, z);
+    }
+
+    /**
+     * Tile key for a block position
+     */
+    public static long tileKeyAt(double x, double z) {
+        return tileKey(Math.floorDiv((int) Math.floor(x), TILE_SIZE), Math.floorDiv((int) Math.floor(z), TILE_SIZE));
+    }
+
+    private static long tileKey(int tileX, int tileZ) {
+        return ((long) tileX << 32) | (tileZ & 0xFFFFFFFFL);
+    }
+
+    private static int tileX(long tileKey) {
+        return (int) (tileKey >> 32);
+    }
+
+    private static int tileZ(long tileKey) {
+        return (int) tileKey;
+    }
+
+    /**
+     * A tile partway through being built
+     */
+    private static final class TileBuild {
+        private final short[] heights = new short[CELLS * CELLS];
+        private int nextCell;
+    }
+}
@@ -0,0 +1,45 @@
+package com.friends.features.balloon.flight;
+
+/**
+ * FlightPath - Compact, immutable autopilot route
+ *
+ * Waypoints are stored as packed (x, altitude, z) float triples. Altitudes
+ * are absolute cruise heights that already include terrain clearance and an
+ * early climb ahead of rising ground.
+ */
+public final class FlightPath {
+
+    private final float[] points;       // x, y, z per waypoint
+    private final long[] missingTiles;  // Clearance tiles that were not built when planning
+    private final double targetX;       // Target the path was planned for
+    private final double targetZ;
+
+    FlightPath(float[] points, long[] missingTiles, double targetX, double targetZ) {
+        this.points = points;
+        this.missingTiles = missingTiles;
+        this.targetX = targetX;
+        this.targetZ = targetZ;
+    }
+
+    public int size() { return points.length / 3; }
+    public float getX(int index) { return points[index * 3]; }
+    public float getY(int index) { return points[index * 3 + 1]; }
+    public float getZ(int index) { return points[index * 3 + 2]; }
+    public double getTargetX() { return targetX; }
+    public double getTargetZ() { return targetZ; }
+
+    /**
+     * Whether parts of the route were planned over unknown terrain
+     */
+    public boolean isComplete() {
+        return missingTiles.length == 0;
+    }
+
+    long[] getMissingTiles() {
+        return missingTiles;
+    }
+
+    float[] getPoints() {
+        return points;
+    }
+}
@@ -0,0 +1,28 @@
+package com.friends.features.balloon.flight;
+
+/**
+ * Terrain queries needed by the flight simulator.
+ *
+ * The live implementation reads loaded chunks of a Hytale world; offline
+ * implementations can be anything from a flat plane to a noise heightmap.
+ */
+public interface TerrainProvider {
+
+    /**
+     * Y just above the highest solid block at or below startY in the column at (x, z)
+     * @return the ground height, or NaN if the column is not available yet
+     */
+    double groundHeight(double x, double startY, double z);
+
+    /**
+     * Whether terrain data for the column containing this block is available
+     */
+    boolean isLoaded(int blockX, int blockZ);
+
+    /**
+     * Ask for the column containing this block to be made available (asynchronously).
+     * Providers that always have all terrain can ignore this.
+     */
+    default void requestLoad(int blockX, int blockZ) {
+    }
+}
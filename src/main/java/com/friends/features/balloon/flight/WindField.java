@@ -0,0 +1,259 @@
+package com.friends.features.balloon.flight;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * WindField - Coarse, time-varying 3D wind generated from value noise
+ *
+ * The world is split into 64x64 block region tiles. Each tile holds a small
+ * lattice of wind vectors (every 16 blocks horizontally, every 32 blocks of
+ * altitude), computed lazily the first time a balloon samples it and evicted
+ * once no balloon has sampled it for a while.
+ *
+ * Wind changes over time by blending between two noise epochs held by each
+ * tile, so sampling is a trilinear read of 8 lattice points in each epoch and
+ * the per-tick cost scales with balloons, not with the number of cached tiles.
+ *
+ * Deterministic for a given seed and time. Not thread-safe: one field per
+ * world, used from the world thread only.
+ */
+public final class WindField {
+
+    // Lattice layout
+    private static final int TILE_SIZE = 64;          // Blocks per region tile side
+    private static final int CELL_SIZE = 16;          // Blocks between lattice points
+    private static final int POINTS = TILE_SIZE / CELL_SIZE + 1;  // Lattice points per tile side (edges shared with neighbours)
+    private static final int LAYER_HEIGHT = 32;       // Blocks between altitude layers
+    private static final int LAYERS = 10;             // Covers y 0..288, clamped beyond
+    private static final int LATTICE_SIZE = POINTS * POINTS * LAYERS * 3;
+
+    // Wind shape
+    private static final double EPOCH_SECONDS = 60.0;     // Time between noise epochs
+    private static final double NOISE_SCALE = 256.0;      // Blocks per noise feature
+    private static final double MAX_SPEED = 0.8;          // Horizontal wind at the top layer (blocks/sec)
+    private static final double GROUND_SPEED_SCALE = 0.3; // Fraction of MAX_SPEED near the ground
+    private static final double MAX_LIFT = 0.15;          // Vertical gusts (blocks/sec)
+    private static final double LAYER_VEER = 0.37;        // Noise offset per layer, turns the wind with altitude
+
+    // Tiles nobody sampled for this long are dropped
+    private static final double EVICT_AFTER_SECONDS = 30.0;
+    private static final double EVICT_SCAN_SECONDS = 5.0;   // How often to look for idle tiles
+
+    private final long seed;
+    private final Map<Long, Tile> tiles = new HashMap<>();
+
+    // Last tile sampled - consecutive samples from one balloon nearly always hit it
+    private Tile lastTile;
+
+    private double time;
+    private long epoch;
+    private double blend;
+    private double lastEvictScan;
+
+    public WindField(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Move the field to a new time (seconds) and evict tiles that went idle
+     */
+    public void advance(double timeSeconds) {
+        time = timeSeconds;
+        epoch = (long) Math.floor(timeSeconds / EPOCH_SECONDS);
+        blend = timeSeconds / EPOCH_SECONDS - epoch;
+
+        if (time - lastEvictScan < EVICT_SCAN_SECONDS) return;
+        lastEvictScan = time;
+
+        Iterator<Tile> iterator = tiles.values().iterator();
+        while (iterator.hasNext()) {
+            Tile tile = iterator.next();
+            if (time - tile.lastSampled > EVICT_AFTER_SECONDS) {
+                iterator.remove();
+                if (tile == lastTile) lastTile = null;
+            }
+        }
+    }
+
+    /**
+     * Sample the wind at the state's position into its wind fields
+     */
+    public void sampleInto(BalloonFlightState state) {
+        int blockX = (int) Math.floor(state.x);
+        int blockZ = (int) Math.floor(state.z);
+        int tileX = Math.floorDiv(blockX, TILE_SIZE);
+        int tileZ = Math.floorDiv(blockZ, TILE_SIZE);
+
+        Tile tile = lastTile;
+        if (tile == null || tile.tileX != tileX || tile.tileZ != tileZ) {
+            tile = getTile(tileX, tileZ);
+            lastTile = tile;
+        }
+        tile.lastSampled = time;
+        if (tile.epoch != epoch) {
+            refresh(tile);
+        }
+
+        // Lattice cell and fractions within it
+        double localX = (state.x - (double) tileX * TILE_SIZE) / CELL_SIZE;
+        double localZ = (state.z - (double) tileZ * TILE_SIZE) / CELL_SIZE;
+        double localY = Math.max(0.0, Math.min(state.y / LAYER_HEIGHT, LAYERS - 1));
+        int ix = Math.min((int) localX, POINTS - 2);
+        int iz = Math.min((int) localZ, POINTS - 2);
+        int iy = Math.min((int) localY, LAYERS - 2);
+        double fx = localX - ix;
+        double fz = localZ - iz;
+        double fy = localY - iy;
+
+        float[] a = tile.current;
+        float[] b = tile.next;
+        int i000 = index(ix, iy, iz);
+        int i100 = i000 + 3;
+        int i001 = i000 + POINTS * 3;
+        int i101 = i001 + 3;
+        int layerStride = POINTS * POINTS * 3;
+
+        state.windX = lerp(blend,
+            trilinear(a, i000, i100, i001, i101, layerStride, fx, fy, fz),
+            trilinear(b, i000, i100, i001, i101, layerStride, fx, fy, fz));
+        state.windY = lerp(blend,
+            trilinear(a, i000 + 1, i100 + 1, i001 + 1, i101 + 1, layerStride, fx, fy, fz),
+            trilinear(b, i000 + 1, i100 + 1, i001 + 1, i101 + 1, layerStride, fx, fy, fz));
+        state.windZ = lerp(blend,
+            trilinear(a, i000 + 2, i100 + 2, i001 + 2, i101 + 2, layerStride, fx, fy, fz),
+            trilinear(b, i000 + 2, i100 + 2, i001 + 2, i101 + 2, layerStride, fx, fy, fz));
+    }
+
+    private static double trilinear(float[] v, int i000, int i100, int i001, int i101, int layerStride,
+                                    double fx, double fy, double fz) {
+        double bottom = lerp(fz, lerp(fx, v[i000], v[i100]), lerp(fx, v[i001], v[i101]));
+        double top = lerp(fz,
+            lerp(fx, v[i000 + layerStride], v[i100 + layerStride]),
+            lerp(fx, v[i001 + layerStride], v[i101 + layerStride]));
+        return lerp(fy, bottom, top);
+    }
+
+    /**
+     * Number of region tiles currently cached
+     */
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    private Tile getTile(int tileX, int tileZ) {
+        long key = ((long) tileX << 32) | (tileZ & 0xFFFFFFFFL);
+        Tile tile = tiles.get(key);
+        if (tile == null) {
+            tile = new Tile(tileX, tileZ);
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Bring a tile's two epochs up to date
+     */
+    private void refresh(Tile tile) {
+        if (tile.epoch == epoch - 1) {
+            // Moved on by one epoch: the old "next" becomes "current"
+            float[] swap = tile.current;
+            tile.current = tile.next;
+            tile.next = swap;
+        } else {
+            generate(tile, epoch, tile.current);
+        }
+        generate(tile, epoch + 1, tile.next);
+        tile.epoch = epoch;
+    }
+
+    /**
+     * Fill a tile's lattice with wind vectors for one noise epoch
+     */
+    private void generate(Tile tile, long noiseEpoch, float[] out) {
+        for (int layer = 0; layer < LAYERS; layer++) {
+            double altitude = (double) layer / (LAYERS - 1);
+            double maxSpeed = MAX_SPEED * (GROUND_SPEED_SCALE + (1.0 - GROUND_SPEED_SCALE) * altitude);
+            double veer = layer * LAYER_VEER;
+
+            for (int pz = 0; pz < POINTS; pz++) {
+                for (int px = 0; px < POINTS; px++) {
+                    double nx = ((double) tile.tileX * TILE_SIZE + px * CELL_SIZE) / NOISE_SCALE;
+                    double nz = ((double) tile.tileZ * TILE_SIZE + pz * CELL_SIZE) / NOISE_SCALE;
+
+                    double angle = Math.PI * 2.0 * noise(nx + veer, nz, noiseEpoch, 0);
+                    double speed = maxSpeed * (0.5 + 0.5 * noise(nx, nz + veer, noiseEpoch, 1));
+                    double lift = MAX_LIFT * (noise(nx * 4.0, nz * 4.0, noiseEpoch, 2 + layer) * 2.0 - 1.0);
+
+                    int i = index(px, layer, pz);
+                    out[i] = (float) (-Math.sin(angle) * speed);
+                    out[i + 1] = (float) lift;
+                    out[i + 2] = (float) (Math.cos(angle) * speed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Smooth 2D value noise in [0, 1]
+     */
+    private double noise(double x, double z, long noiseEpoch, int channel) {
+        int x0 = (int) Math.floor(x);
+        int z0 = (int) Math.floor(z);
+        double fx = smooth(x - x0);
+        double fz = smooth(z - z0);
+
+        double a = hash(x0, z0, noiseEpoch, channel);
+        double b = hash(x0 + 1, z0, noiseEpoch, channel);
+        double c = hash(x0, z0 + 1, noiseEpoch, channel);
+        double d = hash(x0 + 1, z0 + 1, noiseEpoch, channel);
+        return lerp(fz, lerp(fx, a, b), lerp(fx, c, d));
+    }
+
+    private double hash(int x, int z, long noiseEpoch, int channel) {
+        long h = seed;
+        h = mix(h ^ x);
+        h = mix(h ^ z);
+        h = mix(h ^ noiseEpoch);
+        h = mix(h ^ channel);
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private static long mix(long h) {
+        // SplitMix64 finalizer
+        h += 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    private static double smooth(double t) {
+        return t * t * (3.0 - 2.0 * t);
+    }
+
+    private static double lerp(double t, double a, double b) {
+        return a + (b - a) * t;
+    }
+
+    private static int index(int px, int layer, int pz) {
+        return ((layer * POINTS + pz) * POINTS + px) * 3;
+    }
+
+    /**
+     * Lattice of one region tile
+     */
+    private static final class Tile {
+        private final int tileX;
+        private final int tileZ;
+        private float[] current = new float[LATTICE_SIZE];  // Wind at the start of the epoch
+        private float[] next = new float[LATTICE_SIZE];     // Wind at the start of the next epoch
+        private long epoch = Long.MIN_VALUE;
+        private double lastSampled;
+
+        private Tile(int tileX, int tileZ) {
+            this.tileX = tileX;
+            this.tileZ = tileZ;
+        }
+    }
+}
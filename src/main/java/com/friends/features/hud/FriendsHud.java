@@ -4,18 +4,117 @@ import com.hypixel.hytale.server.core.entity.entities.player.hud.CustomUIHud;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Custom HUD that displays nearby players and their distances.
+ *
+ * The HUD is made of {@link HudWidget}s. Changes are not sent as they happen:
+ * the HUD is queued with the {@link HudRenderer} once, and at the next packet
+ * flush every dirty widget renders into a single command batch. A HUD with
+ * nothing changed sends nothing, and a hidden HUD sends nothing until it is
+ * shown again.
  */
 public class FriendsHud extends CustomUIHud {
 
-    public FriendsHud(PlayerRef player) {
+    private static final String DOCUMENT = "Hud/Friends/FriendsHud.ui";
+    private static final String ROOT = "#FriendsHud";
+
+    private final HudRenderer renderer;
+    private final List<HudWidget> widgets = new CopyOnWriteArrayList<>();
+
+    private final AtomicBoolean queued = new AtomicBoolean();  // Waiting in the renderer's queue
+    private volatile boolean visible = true;                   // What the player asked for
+    private boolean sentVisible = true;                        // What the client has (guarded by this)
+
+    // Registered with the player's HUD manager and built
+    private volatile boolean shown;
+
+    public FriendsHud(PlayerRef player, HudRenderer renderer) {
         super(player);
+        this.renderer = renderer;
+    }
+
+    /**
+     * Add a widget (before the HUD is shown, so the first build includes it)
+     */
+    public <W extends HudWidget> W addWidget(W widget) {
+        widget.attach(this);
+        widgets.add(widget);
+        return widget;
     }
 
     @Override
-    protected void build(UICommandBuilder builder) {
-        // Try appending to our HUD's PlayerList container
-        builder.append("#FriendsHud #Content #PlayerList", "Label #TestLabel {\n  Style: LabelStyle(FontSize: 14);\n}");
+    protected synchronized void build(UICommandBuilder builder) {
+        builder.append(DOCUMENT);
+        for (HudWidget widget : widgets) {
+            widget.takeDirty();
+            widget.build(builder);
+        }
+        builder.set(ROOT + ".Visible", visible);
+        sentVisible = visible;
+    }
+
+    /**
+     * Send everything that changed since the last flush as one batch - packet flush phase
+     * @return true if an update was sent
+     */
+    synchronized boolean flush() {
+        queued.set(false);
+        if (!shown) return false; // The first build sends the whole state
+
+        boolean send = false;
+        UICommandBuilder builder = new UICommandBuilder();
+        boolean visibleNow = visible;
+        if (visibleNow != sentVisible) {
+            builder.set(ROOT + ".Visible", visibleNow);
+            sentVisible = visibleNow;
+            send = true;
+        }
+        if (visibleNow) {
+            // Hidden: widgets stay dirty and are rendered when the HUD is shown again
+            for (HudWidget widget : widgets) {
+                if (widget.takeDirty() && widget.render(builder)) {
+                    send = true;
+                }
+            }
+        }
+
+        if (!send) return false;
+        update(false, builder);
+        return true;
+    }
+
+    /**
+     * Show or hide the panel (hidden panels are neither computed nor sent)
+     */
+    public void setVisible(boolean visible) {
+        if (this.visible == visible) return;
+        this.visible = visible;
+        widgetChanged();
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public boolean isShown() {
+        return shown;
+    }
+
+    /**
+     * Called once the HUD manager has it and it has been built
+     */
+    void markShown() {
+        shown = true;
+        widgetChanged(); // Pick up anything changed while it was being built
+    }
+
+    void widgetChanged() {
+        if (queued.compareAndSet(false, true)) {
+            renderer.enqueue(this);
+        }
     }
 }
@@ -0,0 +1,284 @@
+package com.friends.features.hud;
+
+import com.friends.features.radar.PlayerRadarSystem;
+import com.friends.log.Log;
+import com.friends.session.PlayerSession;
+import com.friends.session.PlayerSessions;
+import com.friends.session.SessionKey;
+import com.friends.tick.TickContext;
+import com.friends.tick.TickEngine;
+import com.friends.tick.TickPhase;
+import com.friends.util.PlayerPositions;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * FriendsHudSystem - Keeps every player's nearby-friends panel up to date
+ *
+ * Driven by the radar: each radar pass hands over a player position snapshot,
+ * and one pass over the viewers follows in the interest phase. A viewer's
+ * panel is recomputed at most once per {@link #REFRESH_TICKS}; the result goes
+ * into the panel's {@link NearbyFriendsWidget}, which the {@link HudRenderer}
+ * sends in the packet flush phase if it changed. While the radar is dormant
+ * there is no snapshot and this system does not tick either.
+ */
+public class FriendsHudSystem {
+
+    private static final Log LOG = Log.get("Friends");
+
+    private static final int REFRESH_TICKS = 10;    // A panel is recomputed at most once a second
+    private static final double RANGE = 300.0;      // Friends further away are not listed
+    private static final int MAX_ROWS = 6;          // Nearest friends shown
+
+    private static final String[] DIRECTIONS = {"N", "NE", "E", "SE", "S", "SW", "W", "NW"};
+
+    private final PlayerSessions sessions;
+    private final PlayerRadarSystem radar;
+    private final TickEngine tickEngine;
+    private TickEngine.Registration refreshTask;
+    private HudRenderer renderer;
+
+    // Each player's panel, dropped with their session
+    private final SessionKey<HudState> hudKey;
+
+    // Latest radar snapshot, and whether a pass over the viewers is owed for it
+    private volatile PlayerPositions snapshot = PlayerPositions.empty();
+    private final AtomicBoolean snapshotChanged = new AtomicBoolean();
+
+    // Pass in progress (tick thread only; null between passes)
+    private PlayerSession[] passViewers;
+    private PlayerPositions passSnapshot;
+    private int passCursor;
+
+    // Nearest friends of the viewer being refreshed (tick thread only)
+    private final int[] nearest = new int[MAX_ROWS];
+    private final double[] nearestDistSq = new double[MAX_ROWS];
+    private int nearestCount;
+    private final String[] rowNames = new String[MAX_ROWS];
+    private final String[] rowDetails = new String[MAX_ROWS];
+
+    public FriendsHudSystem(PlayerSessions sessions, TickEngine tickEngine, PlayerRadarSystem radar) {
+        this.sessions = sessions;
+        this.hudKey = sessions.createKey("hud.friends");
+        this.tickEngine = tickEngine;
+        this.radar = radar;
+    }
+
+    /**
+     * Start following radar snapshots
+     */
+    public void start() {
+        if (refreshTask != null) return;
+        renderer = new HudRenderer(tickEngine);
+        refreshTask = tickEngine.schedule("hud-friends", TickPhase.INTEREST, 1, this::refresh);
+        refreshTask.setActive(false);
+        radar.addSnapshotListener(this::onSnapshot);
+        LOG.info("Friends HUD started (refresh every {}ms at most)", REFRESH_TICKS * tickEngine.getTickMillis());
+    }
+
+    public void stop() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            renderer.stop();
+        }
+    }
+
+    /**
+     * Show the panel to a player (undoes {@link #hide}) - world thread, with their Player component
+     */
+    public void show(PlayerSession session, Player playerEntity) {
+        HudState state = session.get(hudKey);
+        if (state != null && state.hud != null) {
+            state.hud.setVisible(true);
+            return;
+        }
+        state = createHud(session);
+        session.set(hudKey, state);
+        install(session, state, playerEntity);
+    }
+
+    /**
+     * Hide a player's panel until they show it again
+     */
+    public void hide(PlayerSession session) {
+        HudState state = session.computeIfAbsent(hudKey, () -> new HudState(null, null));
+        if (state.hud != null) {
+            state.hud.setVisible(false);
+        }
+    }
+
+    // ==================== Refresh ====================
+
+    private void onSnapshot(PlayerPositions positions) {
+        snapshot = positions;
+        snapshotChanged.set(true);
+        TickEngine.Registration task = refreshTask;
+        if (task != null) {
+            task.setActive(true);
+        }
+    }
+
+    /**
+     * Interest phase - refresh the panels that are due, resuming where the budget cut the last tick off
+     * @return true while the pass is unfinished
+     */
+    private boolean refresh(TickContext context) {
+        if (passViewers == null) {
+            snapshotChanged.set(false);
+            passSnapshot = snapshot;
+            passViewers = sessions.snapshot();
+            passCursor = 0;
+        }
+
+        // Without a snapshot nobody has friends around: clear every panel now, not when it is next due
+        boolean force = passSnapshot.size() == 0;
+        while (passCursor < passViewers.length) {
+            if (context.isOverBudget()) {
+                return true;
+            }
+            PlayerSession session = passViewers[passCursor++];
+            if (session == null || !session.isOpen()) continue;
+            try {
+                refreshViewer(session, context.getTick(), force);
+            } catch (Exception e) {
+                LOG.error("Error refreshing friends HUD for {}: {}", session.getPlayer().getUsername(), e.getMessage());
+            }
+        }
+        passViewers = null;
+        passSnapshot = null;
+
+        // Park until the radar's next pass (re-check so a snapshot published meanwhile is not missed)
+        refreshTask.setActive(false);
+        if (snapshotChanged.get()) {
+            refreshTask.setActive(true);
+        }
+        return false;
+    }
+
+    private void refreshViewer(PlayerSession session, long tick, boolean force) {
+        HudState state = session.get(hudKey);
+        if (state == null) {
+            attach(session);
+            return;
+        }
+        if (state.hud == null || !state.friends.isVisible()) return; // Hidden panels cost nothing
+        if (!force && tick < state.nextRefreshTick) return;
+        state.nextRefreshTick = tick + REFRESH_TICKS;
+
+        PlayerRef viewer = session.getPlayer();
+        UUID world = viewer.getWorldUuid();
+        nearestCount = 0;
+        if (world != null && !force) {
+            Vector3d position = viewer.getTransform().getPosition();
+            collectNearest(passSnapshot, viewer.getUuid(), world, position.x, position.z);
+            for (int i = 0; i < nearestCount; i++) {
+                int index = nearest[i];
+                rowNames[i] = passSnapshot.getPlayer(index).getUsername();
+                rowDetails[i] = describe(passSnapshot.getX(index) - position.x, passSnapshot.getZ(index) - position.z,
+                    Math.sqrt(nearestDistSq[i]));
+            }
+        }
+        state.friends.setFriends(rowNames, rowDetails, nearestCount);
+    }
+
+    /**
+     * Keep the MAX_ROWS nearest friends of a viewer, sorted by distance
+     */
+    private void collectNearest(PlayerPositions positions, UUID viewerUuid, UUID world, double x, double z) {
+        positions.forEachNear(world, x, z, RANGE, index -> {
+            UUID uuid = positions.getUuid(index);
+            if (uuid.equals(viewerUuid) || !radar.areFriends(viewerUuid, uuid)) return;
+
+            double dx = positions.getX(index) - x;
+            double dz = positions.getZ(index) - z;
+            double distSq = dx * dx + dz * dz;
+            if (nearestCount == MAX_ROWS && distSq >= nearestDistSq[MAX_ROWS - 1]) return;
+
+            // Insertion into the short sorted list
+            int at = nearestCount < MAX_ROWS ? nearestCount++ : MAX_ROWS - 1;
+            while (at > 0 && nearestDistSq[at - 1] > distSq) {
+                nearest[at] = nearest[at - 1];
+                nearestDistSq[at] = nearestDistSq[at - 1];
+                at--;
+            }
+            nearest[at] = index;
+            nearestDistSq[at] = distSq;
+        });
+    }
+
+    /**
+     * Distance and compass direction, rounded so small moves don't change the text
+     */
+    private static String describe(double dx, double dz, double distance) {
+        long rounded = distance < 100 ? Math.round(distance) : Math.round(distance / 10) * 10;
+        // North is -Z; angle clockwise from north
+        double angle = Math.toDegrees(Math.atan2(dx, -dz));
+        int sector = (int) Math.floorMod(Math.round(angle / 45.0), 8L);
+        return rounded + "m " + DIRECTIONS[sector];
+    }
+
+    // ==================== Attaching ====================
+
+    /**
+     * Give a player their panel once they have an entity in a world
+     */
+    private void attach(PlayerSession session) {
+        PlayerRef player = session.getPlayer();
+        Ref<EntityStore> ref = player.getReference();
+        UUID worldUuid = player.getWorldUuid();
+        World world = ref != null && worldUuid != null ? Universe.get().getWorld(worldUuid) : null;
+        if (world == null) return; // Not in a world yet (or a fake player) - tried again next pass
+
+        HudState state = createHud(session);
+        session.set(hudKey, state);
+        world.execute(() -> {
+            try {
+                Player playerEntity = ref.isValid() ? ref.getStore().getComponent(ref, Player.getComponentType()) : null;
+                if (playerEntity != null) {
+                    install(session, state, playerEntity);
+                    return;
+                }
+            } catch (Exception e) {
+                LOG.error("Error showing friends HUD to {}: {}", player.getUsername(), e.getMessage());
+            }
+            session.remove(hudKey, state); // Try again on a later pass
+        });
+    }
+
+    private HudState createHud(PlayerSession session) {
+        FriendsHud hud = new FriendsHud(session.getPlayer(), renderer);
+        return new HudState(hud, hud.addWidget(new NearbyFriendsWidget()));
+    }
+
+    /**
+     * Register the panel with the player's HUD manager - world thread
+     */
+    private void install(PlayerSession session, HudState state, Player playerEntity) {
+        if (!session.isOpen()) return;
+        playerEntity.getHudManager().setCustomHud(session.getPlayer(), state.hud);
+        state.hud.show();
+        state.hud.markShown();
+    }
+
+    /**
+     * A player's panel and when it may next be recomputed
+     */
+    private static final class HudState {
+        private final FriendsHud hud;               // Null if the player hid the panel before it was ever shown
+        private final NearbyFriendsWidget friends;
+        private long nextRefreshTick;               // Tick thread only
+
+        private HudState(FriendsHud hud, NearbyFriendsWidget friends) {
+            this.hud = hud;
+            this.friends = friends;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.friends.features.hud;
+
+import com.friends.log.Log;
+import com.friends.tick.TickContext;
+import com.friends.tick.TickEngine;
+import com.friends.tick.TickPhase;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * HudRenderer - Writes HUD changes once per tick, in the packet flush phase
+ *
+ * Only HUDs with a dirty widget are queued (each at most once), so the cost
+ * follows what changed, not how many players have a HUD. The flush task is
+ * only active while something is queued.
+ */
+public class HudRenderer {
+
+    private static final Log LOG = Log.get("Friends");
+
+    private final ConcurrentLinkedQueue<FriendsHud> dirtyHuds = new ConcurrentLinkedQueue<>();
+    private final TickEngine.Registration flushTask;
+
+    public HudRenderer(TickEngine tickEngine) {
+        flushTask = tickEngine.schedule("hud-flush", TickPhase.PACKET_FLUSH, 1, this::flush);
+        flushTask.setActive(false);
+    }
+
+    void enqueue(FriendsHud hud) {
+        dirtyHuds.add(hud);
+        flushTask.setActive(true);
+    }
+
+    /**
+     * Packet flush phase - one batch per changed HUD
+     * @return true if the budget ran out with HUDs still queued
+     */
+    private boolean flush(TickContext context) {
+        FriendsHud hud;
+        while ((hud = dirtyHuds.poll()) != null) {
+            try {
+                hud.flush();
+            } catch (Exception e) {
+                LOG.error("Error updating HUD for {}: {}", hud.getPlayerRef().getUsername(), e.getMessage());
+            }
+            if (context.isOverBudget()) {
+                return !dirtyHuds.isEmpty();
+            }
+        }
+
+        // Park until a widget changes (re-check so a HUD queued meanwhile is not missed)
+        flushTask.setActive(false);
+        if (!dirtyHuds.isEmpty()) {
+            flushTask.setActive(true);
+        }
+        return false;
+    }
+
+    public void stop() {
+        flushTask.cancel();
+    }
+}
@@ -0,0 +1,62 @@
+package com.friends.features.hud;
+
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HudWidget - One independently updated part of a {@link FriendsHud}
+ *
+ * Features change a widget's state whenever they like; the widget marks
+ * itself dirty and its HUD is queued for the next packet flush. There the
+ * HUD asks each dirty widget to render what changed since the last render,
+ * and all of it goes to the client as one batch. State changes in between
+ * are coalesced: only the latest state is rendered.
+ *
+ * Subclasses guard their state with their own monitor (setters, build and
+ * render synchronized) and call {@link #markDirty()} after a real change.
+ */
+public abstract class HudWidget {
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile FriendsHud hud;
+
+    /**
+     * Flag the widget for the next flush
+     */
+    protected final void markDirty() {
+        if (dirty.compareAndSet(false, true)) {
+            FriendsHud owner = hud;
+            if (owner != null) {
+                owner.widgetChanged();
+            }
+        }
+    }
+
+    /**
+     * Whether the HUD this widget is on is visible - compute nothing for a hidden HUD
+     */
+    public boolean isVisible() {
+        FriendsHud owner = hud;
+        return owner != null && owner.isShown() && owner.isVisible();
+    }
+
+    void attach(FriendsHud hud) {
+        this.hud = hud;
+    }
+
+    boolean takeDirty() {
+        return dirty.getAndSet(false);
+    }
+
+    /**
+     * Add the widget's full current state to a freshly built HUD
+     */
+    protected abstract void build(UICommandBuilder builder);
+
+    /**
+     * Add the commands that bring the client up to the current state
+     * @return false if the client is already up to date
+     */
+    protected abstract boolean render(UICommandBuilder builder);
+}
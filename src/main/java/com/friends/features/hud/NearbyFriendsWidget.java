@@ -0,0 +1,112 @@
+package com.friends.features.hud;
+
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows of nearby friends, nearest first.
+ *
+ * Remembers what the client is showing, so a render sends only the
+ * difference: changed labels are set, rows are appended or removed when the
+ * number of friends changes.
+ */
+public class NearbyFriendsWidget extends HudWidget {
+
+    private static final String LIST = "#FriendsHud #Content #PlayerList";
+    private static final String EMPTY = "#FriendsHud #Content #Empty";
+    private static final String[] NONE = new String[0];
+
+    // Latest state from the friends HUD system
+    private String[] wantedNames = NONE;
+    private String[] wantedDetails = NONE;
+
+    // Rows as the client has them
+    private final List<String> names = new ArrayList<>();
+    private final List<String> details = new ArrayList<>();
+
+    /**
+     * Set the friends to list; marks the widget dirty only if they differ
+     */
+    public synchronized void setFriends(String[] newNames, String[] newDetails, int count) {
+        if (matches(wantedNames, newNames, count) && matches(wantedDetails, newDetails, count)) return;
+        wantedNames = Arrays.copyOf(newNames, count);
+        wantedDetails = Arrays.copyOf(newDetails, count);
+        markDirty();
+    }
+
+    @Override
+    protected synchronized void build(UICommandBuilder builder) {
+        names.clear();
+        details.clear();
+        for (int i = 0; i < wantedNames.length; i++) {
+            appendRow(builder, i, wantedNames[i], wantedDetails[i]);
+            names.add(wantedNames[i]);
+            details.add(wantedDetails[i]);
+        }
+        builder.set(EMPTY + ".Visible", names.isEmpty());
+    }
+
+    @Override
+    protected synchronized boolean render(UICommandBuilder builder) {
+        boolean changed = false;
+        int oldCount = names.size();
+        int count = wantedNames.length;
+
+        // Rows both lists have: set only the labels that differ
+        for (int i = 0; i < Math.min(oldCount, count); i++) {
+            if (!names.get(i).equals(wantedNames[i])) {
+                builder.set(rowSelector(i) + " #Name.Text", wantedNames[i]);
+                names.set(i, wantedNames[i]);
+                changed = true;
+            }
+            if (!details.get(i).equals(wantedDetails[i])) {
+                builder.set(rowSelector(i) + " #Detail.Text", wantedDetails[i]);
+                details.set(i, wantedDetails[i]);
+                changed = true;
+            }
+        }
+
+        // More friends: append rows. Fewer: remove the extra rows from the end.
+        for (int i = oldCount; i < count; i++) {
+            appendRow(builder, i, wantedNames[i], wantedDetails[i]);
+            names.add(wantedNames[i]);
+            details.add(wantedDetails[i]);
+            changed = true;
+        }
+        for (int i = oldCount - 1; i >= count; i--) {
+            builder.remove(rowSelector(i));
+            names.remove(i);
+            details.remove(i);
+            changed = true;
+        }
+        if ((oldCount == 0) != (count == 0)) {
+            builder.set(EMPTY + ".Visible", count == 0);
+        }
+        return changed;
+    }
+
+    private static boolean matches(String[] current, String[] next, int count) {
+        if (current.length != count) return false;
+        for (int i = 0; i < count; i++) {
+            if (!current[i].equals(next[i])) return false;
+        }
+        return true;
+    }
+
+    private static void appendRow(UICommandBuilder builder, int index, String name, String detail) {
+        builder.appendInline(LIST, "Group #Row" + index + " {\n"
+            + "  LayoutMode: Left;\n"
+            + "  Label #Name {\n    Style: LabelStyle(FontSize: 14);\n  }\n"
+            + "  Label #Detail {\n    Style: LabelStyle(FontSize: 14);\n    Padding: (Left: 10);\n  }\n"
+            + "}");
+        builder.set(rowSelector(index) + " #Name.Text", name);
+        builder.set(rowSelector(index) + " #Detail.Text", detail);
+    }
+
+    private static String rowSelector(int index) {
+        return LIST + " #Row" + index;
+    }
+}
@@ -0,0 +1,62 @@
+package com.friends.features.party;
+
+import java.util.UUID;
+
+/**
+ * A group of players who see each other highlighted on the compass.
+ *
+ * Members are stored as session slots in a small int array, replaced as a
+ * whole on every change (copy-on-write), so party-wide loops read one array
+ * without locking. Changes go through {@link PartySystem}.
+ */
+public final class Party {
+
+    private final int id;
+    private volatile UUID leader;
+    private volatile int[] members = new int[0];  // Session slots, in join order
+
+    Party(int id, UUID leader) {
+        this.id = id;
+        this.leader = leader;
+    }
+
+    public int getId() { return id; }
+    public UUID getLeader() { return leader; }
+    public int size() { return members.length; }
+
+    /**
+     * Member session slots (never modified once returned - don't modify it either)
+     */
+    public int[] getMembers() {
+        return members;
+    }
+
+    void setLeader(UUID leader) {
+        this.leader = leader;
+    }
+
+    void addMember(int slot) {
+        int[] current = members;
+        int[] next = new int[current.length + 1];
+        System.arraycopy(current, 0, next, 0, current.length);
+        next[current.length] = slot;
+        members = next;
+    }
+
+    void removeMember(int slot) {
+        int[] current = members;
+        int index = -1;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == slot) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) return;
+
+        int[] next = new int[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+        members = next;
+    }
+}
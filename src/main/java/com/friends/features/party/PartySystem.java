@@ -0,0 +1,195 @@
+package com.friends.features.party;
+
+import com.friends.log.Log;
+import com.friends.session.PlayerSession;
+import com.friends.session.PlayerSessions;
+import com.friends.session.SessionKey;
+import com.hypixel.hytale.server.core.Message;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PartySystem - Parties of players (create, invite, accept, leave)
+ *
+ * Membership is kept per session slot: {@link #getPartyBySlot()} holds every
+ * slot's party id (0 for none), so "are these two in the same party" is one
+ * int comparison in the radar's per-pair loop. Each {@link Party} keeps its
+ * members as an int array of slots for party-wide broadcasts.
+ *
+ * Both arrays are copy-on-write: changes (commands, disconnects) are rare
+ * and happen under this, readers never lock.
+ */
+public class PartySystem {
+
+    private static final Log LOG = Log.get("Party");
+
+    private static final int MAX_MEMBERS = 8;
+    private static final int NO_PARTY = 0;
+
+    private final PlayerSessions sessions;
+
+    private final Map<Integer, Party> parties = new ConcurrentHashMap<>();
+    private int nextPartyId = 1;  // Guarded by this
+
+    // Party id per session slot, NO_PARTY where a slot has none (copy-on-write, replaced under this)
+    private volatile int[] partyBySlot = new int[0];
+
+    // Party a player has been invited to, dropped with their session
+    private final SessionKey<Integer> inviteKey;
+
+    public PartySystem(PlayerSessions sessions) {
+        this.sessions = sessions;
+        this.inviteKey = sessions.createKey("party.invite");
+
+        sessions.addListener(new PlayerSessions.Listener() {
+            @Override
+            public void sessionOpened(PlayerSession session) {
+                ensureSlot(session.getSlot());
+            }
+
+            @Override
+            public void sessionClosed(PlayerSession session) {
+                leave(session); // The slot is only handed to someone else after this
+            }
+        });
+    }
+
+    /**
+     * Start a party led by this player
+     * @return the new party, or null if they are already in one
+     */
+    public Party create(PlayerSession leader) {
+        Party party;
+        synchronized (this) {
+            if (getPartyId(leader.getSlot()) != NO_PARTY) return null;
+            party = new Party(nextPartyId++, leader.getUuid());
+            parties.put(party.getId(), party);
+            join(party, leader);
+        }
+        LOG.info("{} created party #{}", leader.getPlayer().getUsername(), party.getId());
+        return party;
+    }
+
+    /**
+     * Invite a player to the inviter's party
+     * @return false if the inviter has no party, or the invitee already has one
+     */
+    public boolean invite(PlayerSession from, PlayerSession to) {
+        Party party = getParty(from);
+        if (party == null || getParty(to) != null) return false;
+        to.set(inviteKey, party.getId());
+        to.getPlayer().sendMessage(Message.raw("[Party] " + from.getPlayer().getUsername()
+            + " invited you to their party. Use /party accept to join.").color(Color.CYAN));
+        return true;
+    }
+
+    /**
+     * Join the party the player was last invited to
+     * @return the joined party, or null if there is no open invite (or the party is gone or full)
+     */
+    public Party accept(PlayerSession session) {
+        Integer partyId = session.remove(inviteKey);
+        if (partyId == null) return null;
+
+        Party party;
+        synchronized (this) {
+            party = parties.get(partyId);
+            if (party == null || party.size() >= MAX_MEMBERS || getPartyId(session.getSlot()) != NO_PARTY) return null;
+            join(party, session);
+        }
+        broadcast(party, Message.raw("[Party] " + session.getPlayer().getUsername() + " joined the party.").color(Color.GREEN));
+        return party;
+    }
+
+    /**
+     * Leave the current party. The next member leads if the leader leaves; an empty party is disbanded.
+     * @return false if the player was not in a party
+     */
+    public boolean leave(PlayerSession session) {
+        Party party;
+        synchronized (this) {
+            party = parties.get(getPartyId(session.getSlot()));
+            if (party == null) return false;
+
+            party.removeMember(session.getSlot());
+            setSlotParty(session.getSlot(), NO_PARTY);
+            if (party.size() == 0) {
+                parties.remove(party.getId());
+                LOG.info("Party #{} disbanded", party.getId());
+                return true;
+            }
+            if (session.getUuid().equals(party.getLeader())) {
+                PlayerSession next = sessionAt(party.getMembers()[0]);
+                party.setLeader(next != null ? next.getUuid() : null);
+            }
+        }
+        broadcast(party, Message.raw("[Party] " + session.getPlayer().getUsername() + " left the party.").color(Color.YELLOW));
+        return true;
+    }
+
+    /**
+     * Send a message to every member - walks the member array only
+     */
+    public void broadcast(Party party, Message message) {
+        for (int slot : party.getMembers()) {
+            PlayerSession member = sessionAt(slot);
+            if (member != null) {
+                member.getPlayer().sendMessage(message);
+            }
+        }
+    }
+
+    /**
+     * Party ids by session slot (NO_PARTY = 0). Slots past the end have no party.
+     * The array is never modified once returned - don't modify it either.
+     */
+    public int[] getPartyBySlot() {
+        return partyBySlot;
+    }
+
+    public int getPartyId(int slot) {
+        int[] current = partyBySlot;
+        return slot < current.length ? current[slot] : NO_PARTY;
+    }
+
+    /**
+     * Get a player's party, or null
+     */
+    public Party getParty(PlayerSession session) {
+        int id = getPartyId(session.getSlot());
+        return id != NO_PARTY ? parties.get(id) : null;
+    }
+
+    /**
+     * The session in a slot, or null if the slot is free
+     */
+    public PlayerSession sessionAt(int slot) {
+        PlayerSession[] slots = sessions.snapshot();
+        return slot < slots.length ? slots[slot] : null;
+    }
+
+    // Guarded by this
+    private void join(Party party, PlayerSession session) {
+        party.addMember(session.getSlot());
+        setSlotParty(session.getSlot(), party.getId());
+    }
+
+    // Guarded by this
+    private void setSlotParty(int slot, int partyId) {
+        int[] next = Arrays.copyOf(partyBySlot, Math.max(partyBySlot.length, slot + 1));
+        next[slot] = partyId;
+        partyBySlot = next;
+    }
+
+    /**
+     * Grow the slot table with the session table, so readers can index it directly
+     */
+    private synchronized void ensureSlot(int slot) {
+        if (slot >= partyBySlot.length) {
+            partyBySlot = Arrays.copyOf(partyBySlot, Math.max(slot + 1, partyBySlot.length * 2));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.friends.features.ping;
+
+import com.hypixel.hytale.protocol.Direction;
+import com.hypixel.hytale.protocol.Position;
+import com.hypixel.hytale.protocol.Transform;
+import com.hypixel.hytale.protocol.packets.worldmap.MapMarker;
+
+import java.util.UUID;
+
+/**
+ * A ping or waypoint dropped by a player. Shown to the owner's party while
+ * they are in one, otherwise to their friends.
+ *
+ * A ping never moves, so its marker is built once and shared by every viewer
+ * for as long as it lives.
+ */
+final class Ping {
+
+    private static final String PING_IMAGE = "Ping.png";          // Icons in Common/UI/WorldMap/MapMarkers
+    private static final String WAYPOINT_IMAGE = "Waypoint.png";
+    private static final String MARKER_PREFIX = "ping_";          // Prefix for marker keys and IDs
+
+    private final int id;
+    private final UUID owner;
+    private final UUID worldUuid;
+    private final boolean waypoint;
+    private final String key;
+    private final MapMarker marker;
+
+    // Tick thread only
+    private boolean live;
+
+    Ping(int id, UUID owner, String ownerName, UUID worldUuid, double x, double y, double z,
+         boolean waypoint, String label) {
+        this.id = id;
+        this.owner = owner;
+        this.worldUuid = worldUuid;
+        this.waypoint = waypoint;
+        this.key = MARKER_PREFIX + id;
+
+        String displayName = ownerName + (label.isEmpty() ? (waypoint ? "'s waypoint" : "'s ping") : ": " + label);
+        Transform transform = new Transform(new Position(x, y, z), new Direction());
+        this.marker = new MapMarker(key, displayName, waypoint ? WAYPOINT_IMAGE : PING_IMAGE, transform, null);
+    }
+
+    int getId() { return id; }
+    UUID getOwner() { return owner; }
+    UUID getWorldUuid() { return worldUuid; }
+    boolean isWaypoint() { return waypoint; }
+    String getKey() { return key; }
+    MapMarker getMarker() { return marker; }
+
+    boolean isLive() { return live; }
+    void setLive(boolean live) { this.live = live; }
+}
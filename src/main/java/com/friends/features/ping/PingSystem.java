@@ -0,0 +1,314 @@
+package com.friends.features.ping;
+
+import com.friends.features.party.PartySystem;
+import com.friends.features.radar.MarkerProvider;
+import com.friends.log.Log;
+import com.friends.session.PlayerSession;
+import com.friends.session.PlayerSessions;
+import com.friends.session.SessionKey;
+import com.friends.tick.TickContext;
+import com.friends.tick.TickEngine;
+import com.friends.tick.TickPhase;
+import com.friends.util.TimingWheel;
+import com.friends.util.TokenBucket;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+
+/**
+ * PingSystem - Pings and waypoints shown on friends' or party members' compasses
+ *
+ * Pings are dropped from commands and handed to the tick thread. At the
+ * start of each radar pass they are indexed by world (friend pings) and by
+ * the owner's current party (party pings), so joining or leaving a party
+ * moves a player's pings with them; the radar fans them out through its
+ * per-viewer UpdateWorldMap batch. Expiry runs off
+ * a timing wheel, so a tick only looks at the pings due in it, and the task
+ * is parked while there are none.
+ *
+ * Every player has a token bucket, so nobody can flood others with pings.
+ */
+public class PingSystem implements MarkerProvider {
+
+    private static final Log LOG = Log.get("Ping");
+
+    private static final long PING_LIFETIME_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long WAYPOINT_LIFETIME_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final int BUCKET_CAPACITY = 3;                              // Pings in a burst
+    private static final long BUCKET_REFILL_NANOS = TimeUnit.SECONDS.toNanos(10); // One more ping every 10s
+    private static final int WHEEL_BUCKETS = 1024;                            // ~100s per turn at 100ms ticks
+    private static final int MAX_LABEL_LENGTH = 32;
+    private static final int NO_PARTY = 0;
+
+    /**
+     * Outcome of dropping a ping
+     */
+    public enum Result {
+        DROPPED,
+        RATE_LIMITED,
+        NO_WORLD
+    }
+
+    private final PlayerSessions sessions;
+    private final PartySystem parties;
+    private final BiPredicate<UUID, UUID> areFriends;
+    private final TickEngine tickEngine;
+
+    private final SessionKey<TokenBucket> bucketKey;
+    private final SessionKey<Ping> waypointKey;
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    // Handed from command threads to the tick thread
+    private final ConcurrentLinkedQueue<Ping> dropped = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Ping> cleared = new ConcurrentLinkedQueue<>();
+
+    // Live pings - tick thread only (the radar collects in the interest phase)
+    private final Map<Integer, Ping> live = new LinkedHashMap<>();
+    private final Map<UUID, Ping> waypoints = new HashMap<>();
+
+    // Live pings by audience, as of the start of the radar pass (tick thread only)
+    private Map<UUID, List<Ping>> friendPingsByWorld = Map.of();
+    private Map<Integer, List<Ping>> partyPings = Map.of();
+    private final TimingWheel<Ping> expiries = new TimingWheel<>(WHEEL_BUCKETS);
+
+    private volatile int liveCount;
+    private volatile Runnable changeListener = () -> {};
+
+    private long pingLifetimeTicks;
+    private long waypointLifetimeTicks;
+    private TickEngine.Registration expiryTask;
+
+    /**
+     * @param areFriends whether the second player may see the first player's pings
+     */
+    public PingSystem(PlayerSessions sessions, PartySystem parties, TickEngine tickEngine,
+                      BiPredicate<UUID, UUID> areFriends) {
+        this.sessions = sessions;
+        this.bucketKey = sessions.createKey("ping.bucket");
+        this.waypointKey = sessions.createKey("ping.waypoint");
+        this.parties = parties;
+        this.tickEngine = tickEngine;
+        this.areFriends = areFriends;
+    }
+
+    public void start() {
+        pingLifetimeTicks = Math.max(1, PING_LIFETIME_MILLIS / tickEngine.getTickMillis());
+        waypointLifetimeTicks = Math.max(1, WAYPOINT_LIFETIME_MILLIS / tickEngine.getTickMillis());
+
+        expiryTask = tickEngine.schedule("pings", TickPhase.SIMULATION, 1, this::update);
+        expiryTask.setActive(false);
+        LOG.info("Ping system started");
+    }
+
+    public void stop() {
+        if (expiryTask != null) {
+            expiryTask.cancel();
+            expiryTask = null;
+        }
+    }
+
+    // ==================== Commands ====================
+
+    /**
+     * Drop a ping (or the player's waypoint, replacing the previous one) where the player stands
+     */
+    public Result drop(PlayerSession session, String label, boolean waypoint) {
+        PlayerRef player = session.getPlayer();
+        UUID worldUuid = player.getWorldUuid();
+        if (worldUuid == null) return Result.NO_WORLD;
+
+        TokenBucket bucket = session.computeIfAbsent(bucketKey,
+            () -> new TokenBucket(BUCKET_CAPACITY, BUCKET_REFILL_NANOS));
+        if (!bucket.tryTake()) return Result.RATE_LIMITED;
+
+        String trimmed = label.trim();
+        if (trimmed.length() > MAX_LABEL_LENGTH) {
+            trimmed = trimmed.substring(0, MAX_LABEL_LENGTH);
+        }
+        Vector3d pos = player.getTransform().getPosition();
+        Ping ping = new Ping(nextId.incrementAndGet(), session.getUuid(), player.getUsername(), worldUuid,
+            pos.x, pos.y, pos.z, waypoint, trimmed);
+
+        if (waypoint) {
+            session.set(waypointKey, ping);
+        }
+        dropped.add(ping);
+        expiryTask.setActive(true);
+        return Result.DROPPED;
+    }
+
+    /**
+     * Remove the player's waypoint
+     * @return false if they have none
+     */
+    public boolean clearWaypoint(PlayerSession session) {
+        Ping waypoint = session.remove(waypointKey);
+        if (waypoint == null) return false;
+        cleared.add(waypoint);
+        expiryTask.setActive(true);
+        return true;
+    }
+
+    /**
+     * Seconds until the player may ping again, 0 if they may now
+     */
+    public long secondsUntilNextPing(PlayerSession session) {
+        TokenBucket bucket = session.get(bucketKey);
+        return bucket == null ? 0 : TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilToken() + 999_999_999L);
+    }
+
+    // ==================== Tick ====================
+
+    /**
+     * Simulation phase - take in new pings and expire the ones that are due
+     */
+    private boolean update(TickContext context) {
+        long tick = context.getTick();
+        int before = liveCount;
+
+        Ping ping;
+        while ((ping = dropped.poll()) != null) {
+            add(ping, tick);
+        }
+        while ((ping = cleared.poll()) != null) {
+            remove(ping);
+        }
+        expiries.advanceTo(tick, this::expire);
+
+        if ((before == 0) != (liveCount == 0)) {
+            changeListener.run(); // Wake the radar for the first ping, let it sleep after the last
+        }
+
+        // Park until the next ping (re-check so one dropped meanwhile is not missed).
+        // Entries left for replaced or cleared pings would only be skipped, so drop them.
+        if (liveCount == 0) {
+            expiries.clear();
+            expiryTask.setActive(false);
+            if (!dropped.isEmpty() || !cleared.isEmpty()) {
+                expiryTask.setActive(true);
+            }
+        }
+        return false;
+    }
+
+    private void add(Ping ping, long tick) {
+        if (ping.isWaypoint()) {
+            Ping previous = waypoints.put(ping.getOwner(), ping);
+            if (previous != null) {
+                remove(previous);
+            }
+        }
+        live.put(ping.getId(), ping);
+        ping.setLive(true);
+        liveCount++;
+        expiries.schedule(ping, tick + (ping.isWaypoint() ? waypointLifetimeTicks : pingLifetimeTicks));
+    }
+
+    private void expire(Ping ping) {
+        if (!ping.isLive()) return; // Replaced or cleared already
+        remove(ping);
+        if (ping.isWaypoint()) {
+            PlayerSession owner = sessions.get(ping.getOwner());
+            if (owner != null) {
+                owner.remove(waypointKey, ping);
+            }
+        }
+    }
+
+    /**
+     * Take a ping off the compass. Its wheel entry stays and is skipped when due.
+     */
+    private void remove(Ping ping) {
+        if (!ping.isLive()) return;
+        ping.setLive(false);
+        liveCount--;
+        if (ping.isWaypoint()) {
+            waypoints.remove(ping.getOwner(), ping);
+        }
+        live.remove(ping.getId());
+    }
+
+    // ==================== Markers ====================
+
+    /**
+     * Sort live pings by audience: the owner's party as it is now, or their friends
+     */
+    @Override
+    public void beginPass() {
+        if (live.isEmpty()) {
+            friendPingsByWorld = Map.of();
+            partyPings = Map.of();
+            return;
+        }
+
+        Map<UUID, List<Ping>> byWorld = new HashMap<>();
+        Map<Integer, List<Ping>> byParty = new HashMap<>();
+        for (Ping ping : live.values()) {
+            PlayerSession owner = sessions.get(ping.getOwner());
+            int partyId = owner != null ? parties.getPartyId(owner.getSlot()) : NO_PARTY;
+            if (partyId != NO_PARTY) {
+                byParty.computeIfAbsent(partyId, k -> new ArrayList<>()).add(ping);
+            } else {
+                byWorld.computeIfAbsent(ping.getWorldUuid(), k -> new ArrayList<>()).add(ping);
+            }
+        }
+        friendPingsByWorld = byWorld;
+        partyPings = byParty;
+    }
+
+    @Override
+    public void collectMarkers(PlayerRef viewer, MarkerSink sink) {
+        if (liveCount == 0) return;
+        UUID viewerUuid = viewer.getUuid();
+        UUID viewerWorld = viewer.getWorldUuid();
+
+        // A pass can span ticks: skip pings that expired since it began
+        List<Ping> inWorld = friendPingsByWorld.get(viewerWorld);
+        if (inWorld != null) {
+            for (Ping ping : inWorld) {
+                if (!ping.isLive()) continue;
+                if (ping.getOwner().equals(viewerUuid) || areFriends.test(ping.getOwner(), viewerUuid)) {
+                    sink.add(ping.getKey(), ping.getMarker());
+                }
+            }
+        }
+
+        PlayerSession session = sessions.get(viewerUuid);
+        int partyId = session != null ? parties.getPartyId(session.getSlot()) : NO_PARTY;
+        if (partyId != NO_PARTY) {
+            List<Ping> partyIndex = partyPings.get(partyId);
+            if (partyIndex != null) {
+                for (Ping ping : partyIndex) {
+                    if (ping.isLive() && ping.getWorldUuid().equals(viewerWorld)) {
+                        sink.add(ping.getKey(), ping.getMarker());
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean hasMarkers() {
+        return liveCount > 0;
+    }
+
+    @Override
+    public void setChangeListener(Runnable listener) {
+        this.changeListener = listener;
+    }
+
+    public int getLiveCount() {
+        return liveCount;
+    }
+}
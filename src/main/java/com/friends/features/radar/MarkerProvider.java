@@ -0,0 +1,48 @@
+package com.friends.features.radar;
+
+import com.hypixel.hytale.protocol.packets.worldmap.MapMarker;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+/**
+ * Source of extra compass/world-map markers that ride along in the radar's
+ * per-viewer UpdateWorldMap batch (see {@link PlayerRadarSystem#addMarkerProvider}).
+ *
+ * Markers are tracked per viewer by a stable key. The radar only sends a
+ * marker when its id differs from the one the viewer already has, so a
+ * provider signals "this marker changed" by giving it a new id, and can reuse
+ * the same MapMarker instance for every viewer while it is unchanged.
+ */
+public interface MarkerProvider {
+
+    /**
+     * Called once per radar pass, before any viewer is collected
+     */
+    default void beginPass() {
+    }
+
+    /**
+     * Add the markers this viewer should currently see
+     */
+    void collectMarkers(PlayerRef viewer, MarkerSink sink);
+
+    /**
+     * Whether there is anything to show right now. The radar stays awake for
+     * a player who is alone in their world only while a provider has markers.
+     */
+    default boolean hasMarkers() {
+        return false;
+    }
+
+    /**
+     * Called with a callback to run whenever {@link #hasMarkers()} may have changed
+     */
+    default void setChangeListener(Runnable listener) {
+    }
+
+    /**
+     * Receives markers for one viewer
+     */
+    interface MarkerSink {
+        void add(String key, MapMarker marker);
+    }
+}
@@ -1,8 +1,6 @@
 package com.friends.features.radar;
 
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
-import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.protocol.Position;
@@ -10,17 +8,32 @@ import com.hypixel.hytale.protocol.Direction;
 import com.hypixel.hytale.protocol.Transform;
 import com.hypixel.hytale.protocol.packets.worldmap.MapMarker;
 import com.hypixel.hytale.protocol.packets.worldmap.UpdateWorldMap;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.friends.features.party.Party;
+import com.friends.features.party.PartySystem;
+import com.friends.log.Log;
+import com.friends.session.PlayerSession;
+import com.friends.session.PlayerSessions;
+import com.friends.session.SessionKey;
+import com.friends.tick.TickContext;
+import com.friends.tick.TickEngine;
+import com.friends.tick.TickPhase;
+import com.friends.util.EntityRefIndex;
+import com.friends.util.PlayerPositions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * PlayerRadarSystem - Shows all players on the HUD compass
@@ -29,132 +42,498 @@ import java.util.concurrent.TimeUnit;
  * (the same place where portals, death markers, etc. appear).
  *
  * This is always enabled for all players - no commands needed.
+ *
+ * The radar only runs while someone has something to see: two players in the
+ * same world, or a marker provider with markers. Otherwise its tick tasks are
+ * switched off, with a slow world check only while players are online in
+ * different worlds (they may meet without connecting or disconnecting).
+ *
+ * Party members get their own icon and are shown at any distance, even when
+ * a cull range is configured for everyone else.
+ *
+ * Only players within the compass range ride the fast stream. Players further
+ * away are on a slow world-map layer: their markers are snapped to coarse
+ * cells, shared by every viewer and re-checked per viewer only every 10s, so
+ * the whole server stays on the map without compass-rate packets for it.
  */
 public class PlayerRadarSystem {
 
+    private static final Log LOG = Log.get("Friends");
+
     private final JavaPlugin plugin;
 
     // All online players
-    private final Map<UUID, PlayerRef> onlinePlayers = new ConcurrentHashMap<>();
+    private final PlayerSessions sessions;
+
+    // Party members are highlighted and never culled
+    private final PartySystem parties;
 
-    // Track which markers each player currently has (viewer UUID -> Set of target UUIDs)
-    private final Map<UUID, Set<UUID>> activeMarkers = new ConcurrentHashMap<>();
+    // Per-viewer radar state, dropped with the viewer's session
+    private final SessionKey<ViewerState> viewerKey;
 
-    // Radar update scheduler
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-    private ScheduledFuture<?> updateTask;
+    // Each player's world-map layer marker, shared by all viewers (tick thread only)
+    private final SessionKey<MapPresence> mapPresenceKey;
+
+    // Player entity ref -> player UUID, for attributing interactions to the right player
+    private final EntityRefIndex<UUID> playerByEntity = new EntityRefIndex<>();
+
+    // Radar updates run on the plugin tick engine
+    private final TickEngine tickEngine;
+    private TickEngine.Registration interestTask;
+    private TickEngine.Registration joinTask;
+    private TickEngine.Registration flushTask;
+    private TickEngine.Registration worldWatchTask;
+    private TickEngine.Registration refWatchTask;
+    private final Object activityLock = new Object();
+    private boolean awake;           // Guarded by activityLock
+    private boolean passCompleted;   // Tick thread only
 
     // Configuration
-    private static final long UPDATE_INTERVAL_MS = 500; // Update positions every 500ms
+    private static final int UPDATE_INTERVAL_TICKS = 5; // Update positions every 5 engine ticks (500ms)
+    private static final int WORLD_WATCH_TICKS = 50; // While dormant, look for players sharing a world every 5s
+    private static final int REF_WATCH_TICKS = 1; // Pick up player entity refs that changed (world switches) every tick
     private static final String MARKER_IMAGE = "Player.png"; // Icon for player markers
+    private static final String PARTY_MARKER_IMAGE = "Party.png"; // Icon for party members (Common/UI/WorldMap/MapMarkers)
+    // Players further away than this are left off the compass and map entirely, except party members.
+    // Opt-in (-Dfriends.radarRange=N): by default nobody is culled, far players just move to the world-map layer
+    private static final double CULL_RANGE = Double.parseDouble(System.getProperty("friends.radarRange", "Infinity"));
     private static final String MARKER_PREFIX = "friend_"; // Prefix for marker IDs
-
-    // Track previous marker IDs to remove them on next update
-    private final Map<UUID, Set<String>> previousMarkerIds = new ConcurrentHashMap<>();
+    // Players further away than this go on the slow world-map layer instead of the compass stream (-Dfriends.compassRange=N)
+    private static final double COMPASS_RANGE = Double.parseDouble(System.getProperty("friends.compassRange", "256"));
+    private static final int MAP_REFRESH_PASSES = 20; // World-map layer: re-check each viewer every 20 passes (10s)
+    private static final int MAP_CELL_SIZE = 32; // World-map layer positions are snapped to 32-block cells
+    private static final String MAP_MARKER_PREFIX = "friendmap_"; // Prefix for world-map layer marker IDs
 
     // Update counter to force unique marker IDs
     private long updateCounter = 0;
 
-    public PlayerRadarSystem(JavaPlugin plugin) {
+    // Other systems' markers, sent in the same packets as the player markers
+    private final List<MarkerProvider> markerProviders = new CopyOnWriteArrayList<>();
+
+    // Viewers of the pass in progress and how far it got (tick thread only; null between passes)
+    private PlayerSession[] passViewers;
+    private PlayerPositions passPositions;
+    private int passCursor;
+
+    // Compass scan results for the viewer being updated (tick thread only)
+    private int[] nearIndices = new int[16];
+    private int nearCount;
+
+    // Told about each pass's player positions (and an empty snapshot when the radar goes dormant)
+    private final List<Consumer<PlayerPositions>> snapshotListeners = new CopyOnWriteArrayList<>();
+
+    // Newly connected players waiting for their first markers
+    private final ConcurrentLinkedQueue<PlayerSession> joinedViewers = new ConcurrentLinkedQueue<>();
+
+    // Marker packets prepared in the interest phase, written in the packet flush phase
+    private final ConcurrentLinkedQueue<MarkerUpdate> outgoing = new ConcurrentLinkedQueue<>();
+
+    public PlayerRadarSystem(JavaPlugin plugin, TickEngine tickEngine, PlayerSessions sessions, PartySystem parties) {
         this.plugin = plugin;
+        this.tickEngine = tickEngine;
+        this.sessions = sessions;
+        this.viewerKey = sessions.createKey("radar.viewer", this::onViewerClosed);
+        this.mapPresenceKey = sessions.createKey("radar.mapPresence");
+        this.parties = parties;
+
+        // Sessions open and close first thing in the tick, before anything reads the player list
+        sessions.addListener(new PlayerSessions.Listener() {
+            @Override
+            public void sessionOpened(PlayerSession session) {
+                onPlayerConnect(session);
+            }
+
+            @Override
+            public void sessionClosed(PlayerSession session) {
+                onPlayerDisconnect(session);
+            }
+        });
     }
 
     /**
      * Start the radar update loop
      */
     public void start() {
-        if (updateTask != null && !updateTask.isCancelled()) {
+        if (interestTask != null) {
             return;
         }
 
-        updateTask = scheduler.scheduleAtFixedRate(
-                this::updateAllPlayerMarkers,
-                0,
-                UPDATE_INTERVAL_MS,
-                TimeUnit.MILLISECONDS
-        );
+        interestTask = tickEngine.schedule("radar-interest", TickPhase.INTEREST, UPDATE_INTERVAL_TICKS, this::updateAllPlayerMarkers);
+        joinTask = tickEngine.schedule("radar-joins", TickPhase.INTEREST, 1, this::updateJoinedViewers);
+        flushTask = tickEngine.schedule("radar-flush", TickPhase.PACKET_FLUSH, 1, this::flushMarkerUpdates);
+        worldWatchTask = tickEngine.schedule("radar-world-watch", TickPhase.INTEREST, WORLD_WATCH_TICKS, context -> {
+            refreshActivity(false);
+            return false;
+        });
+        refWatchTask = tickEngine.schedule("radar-player-refs", TickPhase.SNAPSHOT, REF_WATCH_TICKS, this::reindexPlayerEntities);
+        synchronized (activityLock) {
+            awake = true;
+            setAwake(false);
+        }
+        refreshActivity(false);
 
-        System.out.println("[Friends] Player radar started (updates every " + UPDATE_INTERVAL_MS + "ms)");
+        LOG.info("Player radar started (updates every {}ms)", UPDATE_INTERVAL_TICKS * tickEngine.getTickMillis());
     }
 
     /**
      * Stop the radar update loop
      */
     public void stop() {
-        if (updateTask != null) {
-            updateTask.cancel(false);
-            updateTask = null;
+        synchronized (activityLock) {
+            if (interestTask != null) {
+                interestTask.cancel();
+                joinTask.cancel();
+                flushTask.cancel();
+                worldWatchTask.cancel();
+                refWatchTask.cancel();
+                interestTask = null;
+            }
         }
-        scheduler.shutdown();
-        System.out.println("[Friends] Player radar stopped");
+        LOG.info("Player radar stopped");
     }
 
     /**
-     * Main update loop - sends player positions to all players' HUD compass
+     * Interest phase - work out every viewer's compass markers. A pass that
+     * runs out of tick budget resumes from the same viewer on the next tick.
+     * @return true while the pass is unfinished
      */
-    private void updateAllPlayerMarkers() {
+    private boolean updateAllPlayerMarkers(TickContext context) {
         try {
-            updateCounter++; // Increment for unique marker IDs
+            if (passViewers == null) {
+                updateCounter++; // Increment for unique marker IDs
 
-            // For each online player, send them markers for all other players
-            for (Map.Entry<UUID, PlayerRef> viewerEntry : onlinePlayers.entrySet()) {
-                PlayerRef viewer = viewerEntry.getValue();
-                updateMarkersForViewer(viewer);
+                for (MarkerProvider provider : markerProviders) {
+                    provider.beginPass();
+                }
+                passViewers = sessions.snapshot();
+                passCursor = 0;
+                passPositions = PlayerPositions.capture(passViewers);
+                publishSnapshot(passPositions);
+            }
+
+            // For each online player, queue markers for all other players
+            while (passCursor < passViewers.length) {
+                if (context.isOverBudget()) {
+                    return true;
+                }
+                PlayerSession viewer = passViewers[passCursor++];
+                if (viewer != null && viewer.isOpen()) {
+                    updateMarkersForViewer(viewer, passPositions, false);
+                }
             }
         } catch (Exception e) {
-            System.err.println("[Friends] Error updating player markers: " + e.getMessage());
+            LOG.error("Error updating player markers: {}", e.getMessage());
+        }
+        passViewers = null;
+        passPositions = null;
+        passCompleted = true;
+        return false;
+    }
+
+    /**
+     * Interest phase - send existing players to newly connected players without waiting for the next pass
+     */
+    private boolean updateJoinedViewers(TickContext context) {
+        PlayerSession viewer;
+        PlayerPositions positions = null;
+        while ((viewer = joinedViewers.poll()) != null) {
+            if (viewer.isOpen()) {
+                if (positions == null) {
+                    positions = PlayerPositions.capture(sessions.snapshot());
+                }
+                updateMarkersForViewer(viewer, positions, true);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Packet flush phase - write the marker packets prepared this tick
+     */
+    private boolean flushMarkerUpdates(TickContext context) {
+        MarkerUpdate update;
+        while ((update = outgoing.poll()) != null) {
+            sendMarkerUpdate(update.viewer, update.markers, update.removals);
+        }
+
+        // Go dormant only after a full pass has cleared markers nobody should see any more
+        if (passCompleted) {
+            passCompleted = false;
+            refreshActivity(true);
+        }
+        return false;
+    }
+
+    // ==================== Activation ====================
+
+    /**
+     * Wake the radar when someone has something to see.
+     * @param allowSleep also put it to sleep if nobody does (packet flush phase only)
+     */
+    private void refreshActivity(boolean allowSleep) {
+        synchronized (activityLock) {
+            if (interestTask == null) return; // Not started, or stopped
+
+            boolean wanted = hasAudience() || (awake && !allowSleep);
+            if (wanted != awake) {
+                setAwake(wanted);
+                LOG.info("Player radar {}", wanted ? "active" : "dormant");
+            }
+            if (!awake) {
+                joinedViewers.clear(); // Nothing to send them yet; the first pass covers them
+            }
+            worldWatchTask.setActive(!awake && sessions.size() >= 2);
+        }
+    }
+
+    private void setAwake(boolean awake) {
+        this.awake = awake;
+        interestTask.setActive(awake);
+        joinTask.setActive(awake);
+        flushTask.setActive(awake);
+        if (!awake) {
+            publishSnapshot(PlayerPositions.empty());
+        }
+    }
+
+    private void publishSnapshot(PlayerPositions positions) {
+        for (Consumer<PlayerPositions> listener : snapshotListeners) {
+            listener.accept(positions);
+        }
+    }
+
+    /**
+     * Whether any player shares a world with another player, or a provider has markers to show
+     */
+    private boolean hasAudience() {
+        if (sessions.isEmpty()) return false;
+        for (MarkerProvider provider : markerProviders) {
+            if (provider.hasMarkers()) return true;
+        }
+        if (sessions.size() < 2) return false;
+
+        Set<UUID> worlds = new HashSet<>();
+        for (PlayerSession session : sessions.snapshot()) {
+            if (session == null) continue;
+            UUID worldUuid = session.getPlayer().getWorldUuid();
+            if (worldUuid != null && !worlds.add(worldUuid)) return true;
         }
+        return false;
     }
 
     /**
-     * Update the HUD compass markers for a specific viewer
+     * Work out the HUD compass markers for a specific viewer and queue the packets.
+     * Compass targets come from the cells around the viewer in the pass snapshot
+     * plus the viewer's party; everyone else in the world is only walked on the
+     * viewer's world-map refresh passes.
+     * @param joined the viewer just connected and has no markers yet
      */
-    private void updateMarkersForViewer(PlayerRef viewer) {
-        UUID viewerUuid = viewer.getUuid();
+    private void updateMarkersForViewer(PlayerSession viewerSession, PlayerPositions positions, boolean joined) {
+        PlayerRef viewer = viewerSession.getPlayer();
+        ViewerState state = viewerSession.computeIfAbsent(viewerKey, ViewerState::new);
+        UUID viewerWorld = viewer.getWorldUuid();
         Vector3d viewerPos = viewer.getTransform().getPosition();
         List<MapMarker> markersToAdd = new ArrayList<>();
-        Set<String> newMarkerIds = ConcurrentHashMap.newKeySet();
+        Set<String> newMarkerIds = new HashSet<>();
+        Set<UUID> compassTargets = new HashSet<>();
+
+        // Party ids by slot: the party check is one comparison per target
+        int[] partyBySlot = parties.getPartyBySlot();
+        int viewerParty = parties.getPartyId(viewerSession.getSlot());
+        double cullRangeSq = CULL_RANGE * CULL_RANGE;
+        double compassRangeSq = COMPASS_RANGE * COMPASS_RANGE;
+
+        // World-map layer: only look for changes every few seconds (staggered across viewers)
+        Map<UUID, SentMapMarker> mapMarkers = state.mapMarkers;
+        boolean mapRefresh = joined || (updateCounter + viewerSession.getSlot()) % MAP_REFRESH_PASSES == 0;
+        Set<String> mapRemovals = new HashSet<>();
+
+        // Positions in other worlds mean nothing on this compass (or on this world's map)
+        if (viewerWorld != null) {
+            // Compass: players in the cells around the viewer
+            nearCount = 0;
+            positions.forEachNear(viewerWorld, viewerPos.x, viewerPos.z, Math.min(COMPASS_RANGE, CULL_RANGE), this::collectNear);
+            for (int i = 0; i < nearCount; i++) {
+                int index = nearIndices[i];
+                PlayerSession target = positions.getSession(index);
+                if (target == viewerSession) continue; // Don't show yourself on the compass
+
+                double distSq = distanceSq(viewerPos, positions.getX(index), positions.getY(index), positions.getZ(index));
+                if (distSq > compassRangeSq) continue; // Far above or below - world-map layer
+                int targetSlot = target.getSlot();
+                boolean partyMember = viewerParty != 0 && targetSlot < partyBySlot.length && partyBySlot[targetSlot] == viewerParty;
+                addCompassMarker(target, positions.getX(index), positions.getY(index), positions.getZ(index),
+                    distSq, partyMember, compassTargets, mapMarkers, markersToAdd, newMarkerIds, mapRemovals);
+            }
 
-        // Create markers for all other players
-        for (Map.Entry<UUID, PlayerRef> targetEntry : onlinePlayers.entrySet()) {
-            UUID targetUuid = targetEntry.getKey();
-            PlayerRef target = targetEntry.getValue();
+            // Party members are on the compass at any distance
+            if (viewerParty != 0) {
+                Party party = parties.getParty(viewerSession);
+                if (party != null) {
+                    for (int slot : party.getMembers()) {
+                        PlayerSession member = parties.sessionAt(slot);
+                        if (member == null || member == viewerSession || compassTargets.contains(member.getUuid())) continue;
+                        PlayerRef target = member.getPlayer();
+                        if (!viewerWorld.equals(target.getWorldUuid())) continue;
+
+                        Vector3d pos = target.getTransform().getPosition();
+                        addCompassMarker(member, pos.x, pos.y, pos.z, distanceSq(viewerPos, pos.x, pos.y, pos.z),
+                            true, compassTargets, mapMarkers, markersToAdd, newMarkerIds, mapRemovals);
+                    }
+                }
+            }
 
-            // Skip self - don't show yourself on the compass
-            if (targetUuid.equals(viewerUuid)) {
-                continue;
+            if (mapRefresh) {
+                // World-map layer: everyone else in the world within the cull range
+                for (int index = 0; index < positions.size(); index++) {
+                    PlayerSession target = positions.getSession(index);
+                    if (target == viewerSession || !viewerWorld.equals(positions.getWorld(index))
+                            || compassTargets.contains(target.getUuid())) {
+                        continue;
+                    }
+                    double distSq = distanceSq(viewerPos, positions.getX(index), positions.getY(index), positions.getZ(index));
+                    if (distSq > cullRangeSq) continue;
+                    addMapLayerMarker(target, positions.getX(index), positions.getY(index), positions.getZ(index),
+                        mapMarkers, markersToAdd, mapRemovals);
+                }
+            } else {
+                // Newly far since the last pass: onto the world-map layer right away
+                for (UUID uuid : state.compassTargets) {
+                    if (compassTargets.contains(uuid)) continue;
+                    PlayerSession target = sessions.get(uuid);
+                    if (target == null || !viewerWorld.equals(target.getPlayer().getWorldUuid())) continue;
+
+                    Vector3d pos = target.getPlayer().getTransform().getPosition();
+                    if (distanceSq(viewerPos, pos.x, pos.y, pos.z) > cullRangeSq) continue;
+                    addMapLayerMarker(target, pos.x, pos.y, pos.z, mapMarkers, markersToAdd, mapRemovals);
+                }
             }
+        }
 
-            // Create a marker for this player with distance (unique ID each update)
-            MapMarker marker = createPlayerMarker(target, viewerPos);
-            markersToAdd.add(marker);
-            newMarkerIds.add(marker.id);
+        // Players who left the world (or the cull range) leave the world-map layer on the next refresh
+        if (mapRefresh && !mapMarkers.isEmpty()) {
+            mapMarkers.values().removeIf(sent -> {
+                if (sent.seenPass == updateCounter) return false;
+                mapRemovals.add(sent.id);
+                return true;
+            });
         }
+        state.compassTargets = compassTargets;
 
         // Get previous marker IDs to remove
-        Set<String> oldMarkerIds = previousMarkerIds.getOrDefault(viewerUuid, Set.of());
+        Set<String> oldMarkerIds = state.previousMarkerIds;
+        if (!mapRemovals.isEmpty()) {
+            mapRemovals.addAll(oldMarkerIds);
+            oldMarkerIds = mapRemovals;
+        }
+
+        // Add provider marker changes to the same batch
+        if (!markerProviders.isEmpty() || !state.providerMarkerIds.isEmpty()) {
+            Set<String> removals = new HashSet<>(oldMarkerIds);
+            collectProviderMarkers(viewer, state.providerMarkerIds, markersToAdd, removals);
+            oldMarkerIds = removals;
+        }
 
-        // Send the update packet to the viewer
-        sendMarkerUpdate(viewer, markersToAdd, oldMarkerIds);
+        // Queue the update for the packet flush phase
+        outgoing.add(new MarkerUpdate(viewer, markersToAdd, oldMarkerIds));
 
         // Store current marker IDs for next update
-        previousMarkerIds.put(viewerUuid, newMarkerIds);
+        state.previousMarkerIds = newMarkerIds;
     }
 
     /**
-     * Create a MapMarker for a player to show on the HUD compass
+     * Put a target on the viewer's compass, taking them off the world-map layer if they were on it
+     */
+    private void addCompassMarker(PlayerSession target, double x, double y, double z, double distSq, boolean partyMember,
+                                  Set<UUID> compassTargets, Map<UUID, SentMapMarker> mapMarkers,
+                                  List<MapMarker> markersToAdd, Set<String> newMarkerIds, Set<String> mapRemovals) {
+        compassTargets.add(target.getUuid());
+        if (!mapMarkers.isEmpty()) {
+            SentMapMarker sent = mapMarkers.remove(target.getUuid());
+            if (sent != null) {
+                mapRemovals.add(sent.id);
+            }
+        }
+
+        // Create a marker for this player with distance (unique ID each update)
+        MapMarker marker = createPlayerMarker(target.getPlayer(), x, y, z, (int) Math.sqrt(distSq), partyMember);
+        markersToAdd.add(marker);
+        newMarkerIds.add(marker.id);
+    }
+
+    /**
+     * Put a target on the viewer's world-map layer, sending a marker only if their cell changed
      */
-    private MapMarker createPlayerMarker(PlayerRef player, Vector3d viewerPos) {
-        Vector3d pos = player.getTransform().getPosition();
+    private void addMapLayerMarker(PlayerSession target, double x, double y, double z, Map<UUID, SentMapMarker> mapMarkers,
+                                   List<MapMarker> markersToAdd, Set<String> mapRemovals) {
+        MapMarker marker = getMapMarker(target, x, y, z);
+        SentMapMarker sent = mapMarkers.get(target.getUuid());
+        if (sent == null) {
+            sent = new SentMapMarker();
+            mapMarkers.put(target.getUuid(), sent);
+        } else if (!sent.id.equals(marker.id)) {
+            mapRemovals.add(sent.id);
+        }
+        if (!marker.id.equals(sent.id)) {
+            sent.id = marker.id;
+            markersToAdd.add(marker);
+        }
+        sent.seenPass = updateCounter;
+    }
+
+    // PlayerPositions.Visitor for the compass scan - tick thread only
+    private void collectNear(int index) {
+        if (nearCount == nearIndices.length) {
+            nearIndices = Arrays.copyOf(nearIndices, nearCount * 2);
+        }
+        nearIndices[nearCount++] = index;
+    }
+
+    private static double distanceSq(Vector3d from, double x, double y, double z) {
+        double dx = x - from.x;
+        double dy = y - from.y;
+        double dz = z - from.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Diff provider markers against what the viewer already has: new or changed
+     * markers are added, changed and vanished ones are removed
+     */
+    private void collectProviderMarkers(PlayerRef viewer, Map<String, String> sent,
+                                        List<MapMarker> markersToAdd, Set<String> removals) {
+        Set<String> seen = new HashSet<>();
+
+        MarkerProvider.MarkerSink sink = (key, marker) -> {
+            if (!seen.add(key)) return;
+            String previousId = sent.put(key, marker.id);
+            if (marker.id.equals(previousId)) return; // Viewer already has this version
+            if (previousId != null) {
+                removals.add(previousId);
+            }
+            markersToAdd.add(marker);
+        };
+        for (MarkerProvider provider : markerProviders) {
+            try {
+                provider.collectMarkers(viewer, sink);
+            } catch (Exception e) {
+                LOG.error("Error collecting markers: {}", e.getMessage());
+            }
+        }
 
-        // Calculate distance from viewer to target
-        double dx = pos.x - viewerPos.x;
-        double dy = pos.y - viewerPos.y;
-        double dz = pos.z - viewerPos.z;
-        int distance = (int) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        sent.entrySet().removeIf(entry -> {
+            if (seen.contains(entry.getKey())) return false;
+            removals.add(entry.getValue());
+            return true;
+        });
+    }
 
+    /**
+     * Create a MapMarker for a player to show on the HUD compass
+     */
+    private MapMarker createPlayerMarker(PlayerRef player, double x, double y, double z, int distance, boolean partyMember) {
         // Create position for the marker
-        Position position = new Position(pos.x, pos.y, pos.z);
+        Position position = new Position(x, y, z);
 
         // Create orientation (facing direction)
         Direction direction = new Direction();
@@ -170,12 +549,38 @@ public class PlayerRadarSystem {
         return new MapMarker(
                 markerId,           // Unique ID
                 displayName,        // Player's username + distance shown on compass
-                MARKER_IMAGE,       // Icon to display
+                partyMember ? PARTY_MARKER_IMAGE : MARKER_IMAGE, // Icon to display
                 transform,          // Position in world
                 null                // No context menu items
         );
     }
 
+    /**
+     * A player's world-map layer marker: snapped to a coarse cell and only
+     * rebuilt (with a new ID) when they move to another cell
+     */
+    private MapMarker getMapMarker(PlayerSession target, double x, double y, double z) {
+        MapPresence presence = target.computeIfAbsent(mapPresenceKey, MapPresence::new);
+        UUID worldUuid = target.getPlayer().getWorldUuid();
+        int cellX = Math.floorDiv((int) Math.floor(x), MAP_CELL_SIZE);
+        int cellY = Math.floorDiv((int) Math.floor(y), MAP_CELL_SIZE);
+        int cellZ = Math.floorDiv((int) Math.floor(z), MAP_CELL_SIZE);
+
+        if (presence.marker == null || presence.cellX != cellX || presence.cellY != cellY
+                || presence.cellZ != cellZ || !worldUuid.equals(presence.worldUuid)) {
+            double half = MAP_CELL_SIZE / 2.0;
+            Transform transform = new Transform(new Position(
+                cellX * MAP_CELL_SIZE + half, cellY * MAP_CELL_SIZE + half, cellZ * MAP_CELL_SIZE + half), new Direction());
+            String markerId = MAP_MARKER_PREFIX + target.getUuid() + "_" + updateCounter;
+            presence.marker = new MapMarker(markerId, target.getPlayer().getUsername(), MARKER_IMAGE, transform, null);
+            presence.worldUuid = worldUuid;
+            presence.cellX = cellX;
+            presence.cellY = cellY;
+            presence.cellZ = cellZ;
+        }
+        return presence.marker;
+    }
+
     /**
      * Send marker update packet to a player
      */
@@ -202,8 +607,7 @@ public class PlayerRadarSystem {
             }
 
         } catch (Exception e) {
-            System.err.println("[Friends] Failed to send marker update to " +
-                    viewer.getUsername() + ": " + e.getMessage());
+            LOG.error("Failed to send marker update to {}: {}", viewer.getUsername(), e.getMessage());
         }
     }
 
@@ -213,16 +617,19 @@ public class PlayerRadarSystem {
     private void removePlayerMarkerFromAll(PlayerRef removedPlayer) {
         UUID removedUuid = removedPlayer.getUuid();
 
-        for (Map.Entry<UUID, PlayerRef> viewerEntry : onlinePlayers.entrySet()) {
-            UUID viewerUuid = viewerEntry.getKey();
-            PlayerRef viewer = viewerEntry.getValue();
+        for (PlayerSession viewerSession : sessions.snapshot()) {
+            if (viewerSession == null) continue;
+            PlayerRef viewer = viewerSession.getPlayer();
 
             try {
                 // Find and remove markers for this player from the viewer's previous IDs
-                Set<String> prevIds = previousMarkerIds.get(viewerUuid);
+                ViewerState state = viewerSession.get(viewerKey);
+                Set<String> prevIds = state != null ? state.previousMarkerIds : null;
                 if (prevIds != null) {
-                    String[] markersToRemove = prevIds.stream()
-                            .filter(id -> id.contains(removedUuid.toString()))
+                    SentMapMarker mapMarker = state.mapMarkers.remove(removedUuid);
+                    String[] markersToRemove = Stream.concat(
+                                    prevIds.stream().filter(id -> id.contains(removedUuid.toString())),
+                                    mapMarker != null ? Stream.of(mapMarker.id) : Stream.empty())
                             .toArray(String[]::new);
 
                     if (markersToRemove.length > 0) {
@@ -245,55 +652,158 @@ public class PlayerRadarSystem {
         }
     }
 
-    // ==================== Event Handlers ====================
+    // ==================== Sessions ====================
 
     /**
-     * Handle player connect - add to tracking and create their marker for others
+     * Handle player connect - create their marker for others (tick thread, snapshot phase)
      */
-    public void onPlayerConnect(PlayerConnectEvent event) {
-        PlayerRef player = event.getPlayerRef();
-        UUID uuid = player.getUuid();
-
-        // Add to tracking
-        onlinePlayers.put(uuid, player);
-        activeMarkers.put(uuid, ConcurrentHashMap.newKeySet());
+    private void onPlayerConnect(PlayerSession session) {
+        PlayerRef player = session.getPlayer();
+        indexPlayerEntity(session);
 
-        System.out.println("[Friends] Player connected: " + player.getUsername() +
-                " (tracking " + onlinePlayers.size() + " players)");
+        LOG.info("Player connected: {} (tracking {} players)", player.getUsername(), sessions.size());
 
-        // Send existing players to the new player immediately
-        updateMarkersForViewer(player);
+        // Send existing players to the new player on the next tick
+        joinedViewers.add(session);
+        refreshActivity(false);
     }
 
     /**
-     * Handle player disconnect - remove from tracking and remove their marker
+     * Handle player disconnect - remove their marker (tick thread, snapshot phase).
+     * Their own radar state already went with the session.
      */
-    public void onPlayerDisconnect(PlayerDisconnectEvent event) {
-        PlayerRef player = event.getPlayerRef();
-        UUID uuid = player.getUuid();
+    private void onPlayerDisconnect(PlayerSession session) {
+        PlayerRef player = session.getPlayer();
 
         // Remove their marker from everyone else's compass
         removePlayerMarkerFromAll(player);
 
-        // Remove from tracking
-        onlinePlayers.remove(uuid);
-        activeMarkers.remove(uuid);
+        LOG.info("Player disconnected: {} (tracking {} players)", player.getUsername(), sessions.size());
+        refreshActivity(false);
+    }
+
+    /**
+     * Session teardown: stop resolving the player's entity ref
+     */
+    private void onViewerClosed(PlayerSession session, ViewerState state) {
+        Ref<EntityStore> ref = state.indexedRef;
+        if (ref != null) {
+            playerByEntity.remove(ref, session.getUuid());
+        }
+    }
+
+    /**
+     * Snapshot phase - re-index players whose entity ref changed since the last tick.
+     * A player gets a new entity when they switch worlds (or enter one after connecting).
+     */
+    private boolean reindexPlayerEntities(TickContext context) {
+        for (PlayerSession session : sessions.snapshot()) {
+            if (session != null && session.isOpen()) {
+                indexPlayerEntity(session);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Index a player's current entity ref (it changes when they switch worlds)
+     */
+    private void indexPlayerEntity(PlayerSession session) {
+        Ref<EntityStore> ref = session.getPlayer().getReference();
+        if (ref == null) return; // Entity not in a world yet - picked up once it is
+
+        ViewerState state = session.computeIfAbsent(viewerKey, ViewerState::new);
+        Ref<EntityStore> previous = state.indexedRef;
+        if (ref == previous) return;
+        state.indexedRef = ref;
+        if (previous != null) {
+            playerByEntity.remove(previous, session.getUuid());
+        }
+        playerByEntity.put(ref, session.getUuid());
+    }
+
+    /**
+     * Resolve a player entity ref to the player's UUID - a single index lookup.
+     * Refs are indexed on connect and re-indexed within a tick of a world change.
+     * @return the player UUID, or null if the ref is not an online player
+     */
+    public UUID getPlayerUuid(Ref<EntityStore> entityRef) {
+        return playerByEntity.get(entityRef);
+    }
+
+    /**
+     * Add a source of markers to send along with the player markers
+     */
+    public void addMarkerProvider(MarkerProvider provider) {
+        markerProviders.add(provider);
+        provider.setChangeListener(() -> refreshActivity(false));
+    }
+
+    /**
+     * Be handed the player positions captured at the start of every radar pass.
+     * An empty snapshot means the radar went dormant: nobody shares a world.
+     */
+    public void addSnapshotListener(Consumer<PlayerPositions> listener) {
+        snapshotListeners.add(listener);
+    }
 
-        System.out.println("[Friends] Player disconnected: " + player.getUsername() +
-                " (tracking " + onlinePlayers.size() + " players)");
+    /**
+     * Whether two players see each other's things (balloons, ...) on the compass.
+     * There are no friend lists yet, so everyone counts as a friend.
+     */
+    public boolean areFriends(UUID player, UUID other) {
+        return true;
     }
 
     /**
      * Get the total number of online players being tracked
      */
     public int getOnlinePlayerCount() {
-        return onlinePlayers.size();
+        return sessions.size();
+    }
+
+    /**
+     * Radar state for one viewer, attached to their session
+     */
+    private static final class ViewerState {
+        private Set<String> previousMarkerIds = new HashSet<>();                // Player markers sent last pass (tick thread only)
+        private final Map<String, String> providerMarkerIds = new HashMap<>();  // Provider marker key -> sent marker ID (tick thread only)
+        private volatile Ref<EntityStore> indexedRef;                           // Ref the player is indexed under in playerByEntity
+        private final Map<UUID, SentMapMarker> mapMarkers = new HashMap<>();    // World-map layer: target UUID -> sent marker (tick thread only)
+        private Set<UUID> compassTargets = new HashSet<>();                     // Players on the compass last pass (tick thread only)
     }
 
     /**
-     * Get the map of online players (for other systems to use)
+     * A world-map layer marker a viewer has, and the pass it was last confirmed in
      */
-    public Map<UUID, PlayerRef> getOnlinePlayers() {
-        return onlinePlayers;
+    private static final class SentMapMarker {
+        private String id;
+        private long seenPass;
+    }
+
+    /**
+     * A player's current world-map layer marker, attached to their session
+     */
+    private static final class MapPresence {
+        private MapMarker marker;
+        private UUID worldUuid;
+        private int cellX;
+        private int cellY;
+        private int cellZ;
+    }
+
+    /**
+     * Marker changes for one viewer, waiting for the packet flush phase
+     */
+    private static final class MarkerUpdate {
+        private final PlayerRef viewer;
+        private final List<MapMarker> markers;
+        private final Set<String> removals;
+
+        private MarkerUpdate(PlayerRef viewer, List<MapMarker> markers, Set<String> removals) {
+            this.viewer = viewer;
+            this.markers = markers;
+            this.removals = removals;
+        }
     }
 }
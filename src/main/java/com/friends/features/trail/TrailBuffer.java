@@ -0,0 +1,76 @@
+package com.friends.features.trail;
+
+import java.util.UUID;
+
+/**
+ * Fixed-size ring of a player's recent positions, quantized to whole blocks
+ * and kept in primitive arrays. Memory is constant per player and recording
+ * never allocates; the oldest sample is overwritten once the ring is full.
+ *
+ * Tick thread only.
+ */
+final class TrailBuffer {
+
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] zs;
+    private int head;       // Next slot to write
+    private int count;
+    private int version;    // Bumped on every change, so markers are only rebuilt when needed
+    private UUID worldUuid; // A trail never spans worlds
+
+    TrailBuffer(int capacity) {
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.zs = new int[capacity];
+    }
+
+    /**
+     * Add a sample if the player moved at least {@code minDistance} blocks since the last one
+     * @return true if the sample was taken
+     */
+    boolean record(UUID world, double x, double y, double z, int minDistance) {
+        int qx = (int) Math.floor(x);
+        int qy = (int) Math.floor(y);
+        int qz = (int) Math.floor(z);
+
+        if (world == null || !world.equals(worldUuid)) {
+            clear();
+            worldUuid = world;
+        } else if (count > 0) {
+            int last = index(0);
+            int dx = qx - xs[last];
+            int dy = qy - ys[last];
+            int dz = qz - zs[last];
+            if (dx * dx + dy * dy + dz * dz < minDistance * minDistance) return false;
+        }
+
+        xs[head] = qx;
+        ys[head] = qy;
+        zs[head] = qz;
+        head = (head + 1) % xs.length;
+        if (count < xs.length) count++;
+        version++;
+        return true;
+    }
+
+    void clear() {
+        if (count == 0) return;
+        head = 0;
+        count = 0;
+        version++;
+    }
+
+    int size() { return count; }
+    int getVersion() { return version; }
+    UUID getWorldUuid() { return worldUuid; }
+
+    // Age 0 is the newest sample
+    int getX(int age) { return xs[index(age)]; }
+    int getY(int age) { return ys[index(age)]; }
+    int getZ(int age) { return zs[index(age)]; }
+
+    private int index(int age) {
+        return (head - 1 - age + 2 * xs.length) % xs.length;
+    }
+}
@@ -0,0 +1,225 @@
+package com.friends.features.trail;
+
+import com.friends.features.radar.MarkerProvider;
+import com.friends.log.Log;
+import com.friends.session.PlayerSession;
+import com.friends.session.PlayerSessions;
+import com.friends.session.SessionKey;
+import com.friends.tick.TickContext;
+import com.friends.tick.TickEngine;
+import com.friends.tick.TickPhase;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.protocol.Direction;
+import com.hypixel.hytale.protocol.Position;
+import com.hypixel.hytale.protocol.Transform;
+import com.hypixel.hytale.protocol.packets.worldmap.MapMarker;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * TrailSystem - Breadcrumb trails of where friends recently went
+ *
+ * Opt-in per viewer (/trail). While anyone watches, every player's position
+ * is sampled once a second into a small ring buffer attached to their
+ * session, only after they moved a few blocks. Trail markers are rebuilt
+ * every few seconds for players whose trail changed and ride along in the
+ * radar's per-viewer batch; viewers who did not opt in cost one set lookup.
+ */
+public class TrailSystem implements MarkerProvider {
+
+    private static final Log LOG = Log.get("Trail");
+
+    private static final int TRAIL_LENGTH = 8;          // Samples kept per player
+    private static final int MIN_DISTANCE = 8;          // Blocks moved before the next sample
+    private static final int SAMPLE_TICKS = 10;         // Sample positions every 10 ticks (1s)
+    private static final int REBUILD_PASSES = 10;       // Rebuild markers every 10 radar passes (5s)
+    private static final String MARKER_PREFIX = "trail_";
+    private static final String[] FADE_IMAGES = {       // Newest to oldest, in Common/UI/WorldMap/MapMarkers
+        "Trail_0.png", "Trail_1.png", "Trail_2.png", "Trail_3.png"
+    };
+
+    private final PlayerSessions sessions;
+    private final BiPredicate<UUID, UUID> areFriends;
+    private final TickEngine tickEngine;
+
+    private final SessionKey<Trail> trailKey;
+    private final SessionKey<Boolean> watchingKey;
+
+    // Players who opted in to see trails
+    private final Set<UUID> watchers = ConcurrentHashMap.newKeySet();
+    private volatile boolean resetPending;  // Samples from before the last idle period are stale
+
+    // Trails of the last rebuild by world (tick thread only)
+    private Map<UUID, List<Trail>> trailsByWorld = Map.of();
+    private long pass;
+    private long revision;
+
+    private TickEngine.Registration sampleTask;
+
+    /**
+     * @param areFriends whether the second player may see the first player's trail
+     */
+    public TrailSystem(PlayerSessions sessions, TickEngine tickEngine, BiPredicate<UUID, UUID> areFriends) {
+        this.sessions = sessions;
+        this.trailKey = sessions.createKey("trail.buffer");
+        this.watchingKey = sessions.createKey("trail.watching", this::onWatcherClosed);
+        this.tickEngine = tickEngine;
+        this.areFriends = areFriends;
+    }
+
+    public void start() {
+        sampleTask = tickEngine.schedule("trail-sample", TickPhase.SIMULATION, SAMPLE_TICKS, this::sample);
+        sampleTask.setActive(!watchers.isEmpty());
+        LOG.info("Trail system started");
+    }
+
+    public void stop() {
+        if (sampleTask != null) {
+            sampleTask.cancel();
+            sampleTask = null;
+        }
+    }
+
+    // ==================== Watchers ====================
+
+    /**
+     * Turn trails on or off for a viewer
+     */
+    public void setWatching(PlayerSession session, boolean watching) {
+        if (watching) {
+            if (session.set(watchingKey, Boolean.TRUE) == null) {
+                addWatcher(session.getUuid());
+            }
+        } else if (session.remove(watchingKey) != null) {
+            removeWatcher(session.getUuid());
+        }
+    }
+
+    public boolean isWatching(PlayerSession session) {
+        return session.get(watchingKey) != null;
+    }
+
+    private void onWatcherClosed(PlayerSession session, Boolean watching) {
+        removeWatcher(session.getUuid());
+    }
+
+    private synchronized void addWatcher(UUID uuid) {
+        if (watchers.add(uuid) && watchers.size() == 1) {
+            resetPending = true;
+            if (sampleTask != null) {
+                sampleTask.setActive(true);
+            }
+        }
+    }
+
+    private synchronized void removeWatcher(UUID uuid) {
+        if (watchers.remove(uuid) && watchers.isEmpty() && sampleTask != null) {
+            sampleTask.setActive(false);  // Nobody to show trails to - stop sampling
+        }
+    }
+
+    // ==================== Sampling ====================
+
+    /**
+     * Simulation phase - record everyone who moved far enough since their last sample
+     */
+    private boolean sample(TickContext context) {
+        boolean reset = resetPending;
+        resetPending = false;
+
+        for (PlayerSession session : sessions.snapshot()) {
+            if (session == null || !session.isOpen()) continue;
+            PlayerRef player = session.getPlayer();
+            Trail trail = session.computeIfAbsent(trailKey, () -> new Trail(session));
+            if (reset) {
+                trail.buffer.clear();
+            }
+            Vector3d pos = player.getTransform().getPosition();
+            trail.buffer.record(player.getWorldUuid(), pos.x, pos.y, pos.z, MIN_DISTANCE);
+        }
+        return false;
+    }
+
+    // ==================== Markers ====================
+
+    @Override
+    public void beginPass() {
+        if (watchers.isEmpty()) {
+            trailsByWorld = Map.of();
+            return;
+        }
+        if (pass++ % REBUILD_PASSES != 0) return;
+
+        Map<UUID, List<Trail>> byWorld = new HashMap<>();
+        for (PlayerSession session : sessions.snapshot()) {
+            if (session == null) continue;
+            Trail trail = session.get(trailKey);
+            if (trail == null || trail.buffer.size() == 0) continue;
+
+            if (trail.builtVersion != trail.buffer.getVersion()) {
+                rebuild(trail);
+            }
+            byWorld.computeIfAbsent(trail.buffer.getWorldUuid(), k -> new ArrayList<>()).add(trail);
+        }
+        trailsByWorld = byWorld;
+    }
+
+    @Override
+    public void collectMarkers(PlayerRef viewer, MarkerSink sink) {
+        UUID viewerUuid = viewer.getUuid();
+        if (!watchers.contains(viewerUuid)) return;
+
+        List<Trail> inWorld = trailsByWorld.get(viewer.getWorldUuid());
+        if (inWorld == null) return;
+
+        for (Trail trail : inWorld) {
+            UUID owner = trail.session.getUuid();
+            if (owner.equals(viewerUuid) || !areFriends.test(owner, viewerUuid)) continue;
+            for (int age = 0; age < trail.markerCount; age++) {
+                sink.add(trail.keys[age], trail.markers[age]);
+            }
+        }
+    }
+
+    private void rebuild(Trail trail) {
+        TrailBuffer buffer = trail.buffer;
+        String name = trail.session.getPlayer().getUsername() + "'s trail";
+        long id = ++revision;  // New IDs so the client replaces the old markers
+
+        for (int age = 0; age < buffer.size(); age++) {
+            Transform transform = new Transform(
+                new Position(buffer.getX(age) + 0.5, buffer.getY(age), buffer.getZ(age) + 0.5), new Direction());
+            String image = FADE_IMAGES[age * FADE_IMAGES.length / TRAIL_LENGTH];
+            trail.markers[age] = new MapMarker(trail.keys[age] + "_" + id, name, image, transform, null);
+        }
+        trail.markerCount = buffer.size();
+        trail.builtVersion = buffer.getVersion();
+    }
+
+    /**
+     * A player's samples and the markers last built from them, attached to their session
+     */
+    private static final class Trail {
+        private final PlayerSession session;
+        private final TrailBuffer buffer = new TrailBuffer(TRAIL_LENGTH);
+        private final String[] keys = new String[TRAIL_LENGTH];  // Marker key per age, stable
+        private final MapMarker[] markers = new MapMarker[TRAIL_LENGTH];
+        private int markerCount;
+        private int builtVersion = -1;
+
+        private Trail(PlayerSession session) {
+            this.session = session;
+            for (int age = 0; age < TRAIL_LENGTH; age++) {
+                keys[age] = MARKER_PREFIX + session.getUuid() + "_" + age;
+            }
+        }
+    }
+}
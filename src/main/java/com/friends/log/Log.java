@@ -0,0 +1,186 @@
+package com.friends.log;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Log - The plugin's logging facade
+ *
+ * Each subsystem gets a logger for its console tag ("Balloon", "Friends", ...).
+ * Calls check the level before doing anything, and messages use {} placeholders
+ * so nothing is concatenated or formatted on the caller's thread: the format
+ * and arguments go into a lock-free ring buffer and a background thread writes
+ * them out. Arguments are formatted later, so anything that is not a String,
+ * primitive wrapper, enum or UUID is turned into a string when it is logged,
+ * before the caller can change it (a Vector3i that is reused, ...). A trailing
+ * Throwable argument without a placeholder is printed with its stack trace.
+ *
+ * The level defaults to INFO and can be set with -Dfriends.logLevel=DEBUG.
+ */
+public final class Log {
+
+    private static final int RING_CAPACITY = 8192;
+
+    private static volatile LogLevel level = LogLevel.parse(System.getProperty("friends.logLevel"), LogLevel.INFO);
+
+    private static final LogRing RING = new LogRing(RING_CAPACITY);
+    private static final LogWriter WRITER = new LogWriter(RING);
+    private static final Map<String, Log> LOGS = new ConcurrentHashMap<>();
+
+    static {
+        WRITER.start();
+    }
+
+    private final String tag;
+
+    private Log(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Get the logger for a console tag
+     */
+    public static Log get(String tag) {
+        return LOGS.computeIfAbsent(tag, Log::new);
+    }
+
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    public static void setLevel(LogLevel newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * Write out everything queued and stop the writer thread. Later messages are written synchronously.
+     */
+    public static void shutdown() {
+        WRITER.stop(2000);
+        WRITER.drainNow();
+    }
+
+    public boolean isEnabled(LogLevel messageLevel) {
+        return messageLevel.compareTo(level) >= 0;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    // ==================== DEBUG ====================
+
+    public void debug(String message) {
+        if (isEnabled(LogLevel.DEBUG)) log(LogLevel.DEBUG, message, 0, null, null, null, null);
+    }
+
+    public void debug(String format, Object arg) {
+        if (isEnabled(LogLevel.DEBUG)) log(LogLevel.DEBUG, format, 1, arg, null, null, null);
+    }
+
+    public void debug(String format, Object arg0, Object arg1) {
+        if (isEnabled(LogLevel.DEBUG)) log(LogLevel.DEBUG, format, 2, arg0, arg1, null, null);
+    }
+
+    public void debug(String format, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.DEBUG)) log(LogLevel.DEBUG, format, 3, arg0, arg1, arg2, null);
+    }
+
+    public void debug(String format, Object... args) {
+        if (isEnabled(LogLevel.DEBUG)) log(LogLevel.DEBUG, format, args.length, null, null, null, args);
+    }
+
+    // ==================== INFO ====================
+
+    public void info(String message) {
+        if (isEnabled(LogLevel.INFO)) log(LogLevel.INFO, message, 0, null, null, null, null);
+    }
+
+    public void info(String format, Object arg) {
+        if (isEnabled(LogLevel.INFO)) log(LogLevel.INFO, format, 1, arg, null, null, null);
+    }
+
+    public void info(String format, Object arg0, Object arg1) {
+        if (isEnabled(LogLevel.INFO)) log(LogLevel.INFO, format, 2, arg0, arg1, null, null);
+    }
+
+    public void info(String format, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.INFO)) log(LogLevel.INFO, format, 3, arg0, arg1, arg2, null);
+    }
+
+    public void info(String format, Object... args) {
+        if (isEnabled(LogLevel.INFO)) log(LogLevel.INFO, format, args.length, null, null, null, args);
+    }
+
+    // ==================== WARN ====================
+
+    public void warn(String message) {
+        if (isEnabled(LogLevel.WARN)) log(LogLevel.WARN, message, 0, null, null, null, null);
+    }
+
+    public void warn(String format, Object arg) {
+        if (isEnabled(LogLevel.WARN)) log(LogLevel.WARN, format, 1, arg, null, null, null);
+    }
+
+    public void warn(String format, Object arg0, Object arg1) {
+        if (isEnabled(LogLevel.WARN)) log(LogLevel.WARN, format, 2, arg0, arg1, null, null);
+    }
+
+    public void warn(String format, Object... args) {
+        if (isEnabled(LogLevel.WARN)) log(LogLevel.WARN, format, args.length, null, null, null, args);
+    }
+
+    // ==================== ERROR ====================
+
+    public void error(String message) {
+        if (isEnabled(LogLevel.ERROR)) log(LogLevel.ERROR, message, 0, null, null, null, null);
+    }
+
+    public void error(String format, Object arg) {
+        if (isEnabled(LogLevel.ERROR)) log(LogLevel.ERROR, format, 1, arg, null, null, null);
+    }
+
+    public void error(String format, Object arg0, Object arg1) {
+        if (isEnabled(LogLevel.ERROR)) log(LogLevel.ERROR, format, 2, arg0, arg1, null, null);
+    }
+
+    public void error(String format, Object... args) {
+        if (isEnabled(LogLevel.ERROR)) log(LogLevel.ERROR, format, args.length, null, null, null, args);
+    }
+
+    private void log(LogLevel messageLevel, String format, int argCount,
+                     Object arg0, Object arg1, Object arg2, Object[] args) {
+        arg0 = capture(arg0);
+        arg1 = capture(arg1);
+        arg2 = capture(arg2);
+        if (args != null) {
+            Object[] captured = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                captured[i] = capture(args[i]);
+            }
+            args = captured;
+        }
+        if (RING.offer(messageLevel, tag, format, argCount, arg0, arg1, arg2, args)) {
+            if (WRITER.isRunning()) {
+                WRITER.signal();
+            } else {
+                WRITER.drainNow();
+            }
+        }
+    }
+
+    /**
+     * Freeze an argument as it is now: immutable values are kept as they are,
+     * anything else is rendered on the caller's thread
+     */
+    private static Object capture(Object arg) {
+        if (arg == null || arg instanceof String || arg instanceof Integer || arg instanceof Long
+                || arg instanceof Double || arg instanceof Float || arg instanceof Short || arg instanceof Byte
+                || arg instanceof Boolean || arg instanceof Character || arg instanceof Enum
+                || arg instanceof UUID || arg instanceof Throwable) {
+            return arg;
+        }
+        return String.valueOf(arg);
+    }
+}
@@ -0,0 +1,23 @@
+package com.friends.log;
+
+/**
+ * Log levels, from most to least verbose
+ */
+public enum LogLevel {
+    DEBUG,  // Per-event and per-tick detail, off unless tracing a problem
+    INFO,   // Lifecycle and player-visible actions
+    WARN,   // Something is off but the plugin carries on
+    ERROR;  // An operation failed
+
+    /**
+     * Parse a level name, falling back to the default for unknown names
+     */
+    static LogLevel parse(String name, LogLevel fallback) {
+        if (name == null) return fallback;
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
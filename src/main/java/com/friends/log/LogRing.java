@@ -0,0 +1,133 @@
+package com.friends.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer queue of log records.
+ *
+ * Slots are preallocated and reused, so logging allocates nothing beyond the
+ * caller's arguments. Each slot carries a sequence number telling producers
+ * when it is free and the consumer when it is filled. A full ring drops the
+ * record rather than blocking the game thread; drops are counted.
+ */
+final class LogRing {
+
+    private final Record[] records;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();  // Next position to claim (producers)
+    private long head;                                 // Next position to read (consumer only)
+    private final AtomicLong dropped = new AtomicLong();
+
+    LogRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        records = new Record[capacity];
+        for (int i = 0; i < capacity; i++) {
+            records[i] = new Record(i);
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Claim a slot and fill it
+     * @return false if the ring is full and the record was dropped
+     */
+    boolean offer(LogLevel level, String tag, String format, int argCount, Object arg0, Object arg1, Object arg2, Object[] args) {
+        long pos = tail.get();
+        while (true) {
+            Record record = records[(int) (pos & mask)];
+            long available = record.sequence - pos;
+            if (available == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    record.fill(level, tag, format, argCount, arg0, arg1, arg2, args);
+                    record.sequence = pos + 1;  // Publish to the consumer
+                    return true;
+                }
+                pos = tail.get();
+            } else if (available < 0) {
+                dropped.incrementAndGet();
+                return false;
+            } else {
+                pos = tail.get();  // Another producer claimed it first
+            }
+        }
+    }
+
+    /**
+     * Next filled record, or null if none is ready. Hand it back with {@link #release}.
+     */
+    Record peek() {
+        Record record = records[(int) (head & mask)];
+        return record.sequence == head + 1 ? record : null;
+    }
+
+    /**
+     * Free the record returned by {@link #peek} for reuse
+     */
+    void release(Record record) {
+        record.clear();
+        record.sequence = head + records.length;
+        head++;
+    }
+
+    boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Records dropped because the ring was full, since the last call
+     */
+    long takeDropped() {
+        return dropped.getAndSet(0);
+    }
+
+    /**
+     * One log call - the message is formatted by the writer, not the caller.
+     * Up to three arguments are held inline; more come as an array.
+     */
+    static final class Record {
+        volatile long sequence;
+        LogLevel level;
+        String tag;
+        String format;
+        int argCount;
+        private Object arg0;
+        private Object arg1;
+        private Object arg2;
+        private Object[] args;
+
+        private Record(long sequence) {
+            this.sequence = sequence;
+        }
+
+        Object arg(int index) {
+            if (args != null) return args[index];
+            switch (index) {
+                case 0: return arg0;
+                case 1: return arg1;
+                default: return arg2;
+            }
+        }
+
+        private void fill(LogLevel level, String tag, String format, int argCount, Object arg0, Object arg1, Object arg2, Object[] args) {
+            this.level = level;
+            this.tag = tag;
+            this.format = format;
+            this.argCount = argCount;
+            this.arg0 = arg0;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+            this.args = args;
+        }
+
+        private void clear() {
+            tag = null;
+            format = null;
+            arg0 = null;
+            arg1 = null;
+            arg2 = null;
+            args = null;
+        }
+    }
+}
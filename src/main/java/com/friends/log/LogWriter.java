@@ -0,0 +1,143 @@
+package com.friends.log;
+
+import java.io.PrintStream;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background thread that formats queued records and writes them to the console.
+ *
+ * Records are written in batches with one flush per batch. While the ring is
+ * empty the thread is parked; producers unpark it only when it is waiting.
+ */
+final class LogWriter implements Runnable {
+
+    private static final int MAX_BATCH = 256;  // Flush at least this often while draining a burst
+
+    private final LogRing ring;
+    private final Thread thread;
+    private final StringBuilder out = new StringBuilder(4096);
+    private final StringBuilder err = new StringBuilder(1024);
+
+    private volatile boolean running = true;
+    private volatile boolean waiting;
+
+    LogWriter(LogRing ring) {
+        this.ring = ring;
+        this.thread = new Thread(this, "Friends-Log");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Wake the writer after a record was queued (cheap when it is already busy)
+     */
+    void signal() {
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Write everything still queued and stop the thread
+     */
+    void stop(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running || !ring.isEmpty()) {
+            if (drain()) continue;
+
+            waiting = true;
+            // Re-check after announcing we wait, so a record queued in between is not missed
+            if (running && ring.isEmpty()) {
+                LockSupport.park(this);
+            }
+            waiting = false;
+        }
+    }
+
+    /**
+     * Write whatever is queued on the calling thread - used once the writer has stopped
+     */
+    void drainNow() {
+        while (drain()) {
+            // Keep going until the ring is empty
+        }
+    }
+
+    /**
+     * Write one batch (synchronized only so a late caller and the stopping thread never drain together)
+     * @return true if anything was written
+     */
+    private synchronized boolean drain() {
+        int count = 0;
+        LogRing.Record record;
+        while (count < MAX_BATCH && (record = ring.peek()) != null) {
+            StringBuilder target = record.level.compareTo(LogLevel.WARN) >= 0 ? err : out;
+            Throwable thrown = format(target, record.tag, record.format, record);
+            ring.release(record);
+            if (thrown != null) {
+                flush();
+                thrown.printStackTrace();
+            }
+            count++;
+        }
+
+        long dropped = ring.takeDropped();
+        if (dropped > 0) {
+            err.append("[Friends] ").append(dropped).append(" log message(s) dropped (log queue full)\n");
+        }
+        flush();
+        return count > 0;
+    }
+
+    private void flush() {
+        write(System.out, out);
+        write(System.err, err);
+    }
+
+    private static void write(PrintStream stream, StringBuilder buffer) {
+        if (buffer.length() == 0) return;
+        stream.print(buffer);
+        stream.flush();
+        buffer.setLength(0);
+    }
+
+    /**
+     * Append "[tag] message" with {} placeholders filled in.
+     * @return a trailing Throwable argument with no placeholder of its own, to print as a stack trace
+     */
+    static Throwable format(StringBuilder target, String tag, String format, LogRing.Record record) {
+        target.append('[').append(tag).append("] ");
+
+        int used = 0;
+        int start = 0;
+        while (used < record.argCount) {
+            int placeholder = format.indexOf("{}", start);
+            if (placeholder < 0) break;
+            target.append(format, start, placeholder).append(record.arg(used++));
+            start = placeholder + 2;
+        }
+        target.append(format, start, format.length()).append('\n');
+
+        if (used < record.argCount && record.arg(record.argCount - 1) instanceof Throwable) {
+            return (Throwable) record.arg(record.argCount - 1);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.friends.session;
+
+import com.friends.log.Log;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * PlayerSession - Everything the plugin knows about one connected player
+ *
+ * Each subsystem attaches its per-player state under its own {@link SessionKey},
+ * so a disconnect is a single {@link PlayerSessions#close} instead of one
+ * removal per map. The slot is a small dense index, unique among open sessions,
+ * for systems that keep per-player data in arrays; it is reused after close.
+ *
+ * Reads are lock free (copy-on-write attachment array); writes are rare.
+ */
+public final class PlayerSession {
+
+    private static final Log LOG = Log.get("Friends");
+
+    private static final Object[] NO_ATTACHMENTS = new Object[0];
+
+    private final PlayerRef player;
+    private final UUID uuid;
+    private final int slot;
+
+    // Attached values by key index (copy-on-write, replaced under this)
+    private volatile Object[] attachments = NO_ATTACHMENTS;
+    private volatile boolean open = true;
+
+    PlayerSession(PlayerRef player, int slot) {
+        this.player = player;
+        this.uuid = player.getUuid();
+        this.slot = slot;
+    }
+
+    public PlayerRef getPlayer() { return player; }
+    public UUID getUuid() { return uuid; }
+    public int getSlot() { return slot; }
+    public boolean isOpen() { return open; }
+
+    /**
+     * Get an attached value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(SessionKey<T> key) {
+        Object[] current = attachments;
+        int index = key.getIndex();
+        return index < current.length ? (T) current[index] : null;
+    }
+
+    /**
+     * Attach a value, replacing any previous one. Ignored once the session is closed.
+     * @return the previous value, or null
+     */
+    public synchronized <T> T set(SessionKey<T> key, T value) {
+        if (!open) return null;
+        return swap(key, value);
+    }
+
+    /**
+     * Get an attached value, creating it if there is none. A closed session
+     * does not keep the created value.
+     */
+    public synchronized <T> T computeIfAbsent(SessionKey<T> key, Supplier<? extends T> factory) {
+        T value = get(key);
+        if (value == null) {
+            value = factory.get();
+            if (open) {
+                swap(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Detach a value without running its close handler
+     * @return the removed value, or null
+     */
+    public synchronized <T> T remove(SessionKey<T> key) {
+        return get(key) != null ? swap(key, null) : null;
+    }
+
+    /**
+     * Detach a value only if it is still the expected one
+     */
+    public synchronized <T> boolean remove(SessionKey<T> key, T expected) {
+        if (!Objects.equals(get(key), expected)) return false;
+        swap(key, null);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T swap(SessionKey<T> key, T value) {
+        int index = key.getIndex();
+        Object[] current = attachments;
+        Object[] next = Arrays.copyOf(current, Math.max(current.length, index + 1));
+        T previous = index < current.length ? (T) current[index] : null;
+        next[index] = value;
+        attachments = next;
+        return previous;
+    }
+
+    /**
+     * Detach everything and run the keys' close handlers - registry only
+     */
+    void close(List<SessionKey<?>> keys) {
+        Object[] detached;
+        synchronized (this) {
+            open = false;
+            detached = attachments;
+            attachments = NO_ATTACHMENTS;
+        }
+        for (int i = 0; i < detached.length; i++) {
+            if (detached[i] == null || i >= keys.size()) continue;
+            SessionKey<?> key = keys.get(i);
+            try {
+                key.close(this, detached[i]);
+            } catch (Exception e) {
+                LOG.error("Error closing {} for {}: {}", key, player.getUsername(), e.getMessage());
+            }
+        }
+    }
+}
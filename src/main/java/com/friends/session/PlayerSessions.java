@@ -0,0 +1,220 @@
+package com.friends.session;
+
+import com.friends.event.PluginEvent;
+import com.friends.event.PluginEventBus;
+import com.friends.event.PluginEventType;
+import com.friends.log.Log;
+import com.friends.tick.TickPhase;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * PlayerSessions - Registry of connected players
+ *
+ * Opens a {@link PlayerSession} when a player connects and closes it when they
+ * leave, first thing in the tick (snapshot phase), before any system reads the
+ * player list. Closing runs every attachment's close handler and then the
+ * listeners, so per-player state never outlives the player.
+ *
+ * Sessions are also kept in a dense slot table: hot loops walk
+ * {@link #snapshot()} instead of hashing UUIDs. Freed slots are handed out
+ * again before the table grows, so it stays as large as the busiest moment.
+ */
+public class PlayerSessions {
+
+    private static final Log LOG = Log.get("Friends");
+
+    private final Map<UUID, PlayerSession> byUuid = new ConcurrentHashMap<>();
+
+    // Open sessions by slot, null where a slot is free (copy-on-write, replaced under this)
+    private volatile PlayerSession[] slots = new PlayerSession[0];
+
+    // Freed slots, reused newest first (guarded by this)
+    private int[] freeSlots = new int[8];
+    private int freeCount;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Attachment keys by index, to find close handlers when a session is torn down
+    private final List<SessionKey<?>> keys = new CopyOnWriteArrayList<>();
+
+    public PlayerSessions(PluginEventBus eventBus) {
+        // Subscribe before the systems do, so sessions exist by the time they hear of a player
+        eventBus.subscribe("sessions", TickPhase.SNAPSHOT,
+                PluginEventType.maskOf(PluginEventType.PLAYER_CONNECT, PluginEventType.PLAYER_DISCONNECT),
+                this::onEvent);
+    }
+
+    /**
+     * Plugin events, on the tick thread in the snapshot phase
+     */
+    private void onEvent(PluginEvent event) {
+        switch (event.getType()) {
+            case PLAYER_CONNECT:
+                open(event.getPlayer());
+                break;
+            case PLAYER_DISCONNECT:
+                close(event.getPlayer().getUuid());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Open a session for a player. A stale session for the same UUID is closed first.
+     */
+    public PlayerSession open(PlayerRef player) {
+        PlayerSession stale = byUuid.get(player.getUuid());
+        if (stale != null) {
+            if (stale.getPlayer() == player) return stale;
+            close(player.getUuid());
+        }
+
+        PlayerSession session;
+        synchronized (this) {
+            int slot = freeCount > 0 ? freeSlots[--freeCount] : slots.length;
+            PlayerSession[] next = Arrays.copyOf(slots, Math.max(slots.length, slot + 1));
+            session = new PlayerSession(player, slot);
+            next[slot] = session;
+            slots = next;
+            byUuid.put(session.getUuid(), session);
+        }
+
+        for (Listener listener : listeners) {
+            try {
+                listener.sessionOpened(session);
+            } catch (Exception e) {
+                LOG.error("Error opening session for {}: {}", player.getUsername(), e.getMessage());
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Close a player's session: one removal tears down everything attached to it
+     * @return the closed session, or null if there was none
+     */
+    public PlayerSession close(UUID uuid) {
+        PlayerSession session;
+        synchronized (this) {
+            session = byUuid.remove(uuid);
+            if (session == null) return null;
+
+            PlayerSession[] next = slots.clone();
+            next[session.getSlot()] = null;
+            slots = next;
+        }
+
+        session.close(keys);
+        for (Listener listener : listeners) {
+            try {
+                listener.sessionClosed(session);
+            } catch (Exception e) {
+                LOG.error("Error closing session for {}: {}", session.getPlayer().getUsername(), e.getMessage());
+            }
+        }
+
+        // Only now may the slot be reused: listeners still clear per-slot state above
+        synchronized (this) {
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = session.getSlot();
+        }
+        return session;
+    }
+
+    /**
+     * Get a player's session, or null if they are not connected
+     */
+    public PlayerSession get(UUID uuid) {
+        return uuid != null ? byUuid.get(uuid) : null;
+    }
+
+    /**
+     * Get a connected player, or null
+     */
+    public PlayerRef getPlayer(UUID uuid) {
+        PlayerSession session = get(uuid);
+        return session != null ? session.getPlayer() : null;
+    }
+
+    /**
+     * Open sessions by slot, with nulls for free slots. The array is never
+     * modified once returned - don't modify it either.
+     */
+    public PlayerSession[] snapshot() {
+        return slots;
+    }
+
+    /**
+     * All open sessions (read-only live view)
+     */
+    public Collection<PlayerSession> getSessions() {
+        return Collections.unmodifiableCollection(byUuid.values());
+    }
+
+    /**
+     * Upper bound on slots in use, for sizing per-slot arrays
+     */
+    public int getSlotBound() {
+        return slots.length;
+    }
+
+    public int size() {
+        return byUuid.size();
+    }
+
+    public boolean isEmpty() {
+        return byUuid.isEmpty();
+    }
+
+    public <T> SessionKey<T> createKey(String name) {
+        return createKey(name, null);
+    }
+
+    /**
+     * Create a key for one system's per-player state
+     * @param closeHandler called with the attached value when the session closes
+     */
+    public <T> SessionKey<T> createKey(String name, SessionKey.CloseHandler<T> closeHandler) {
+        synchronized (keys) {
+            SessionKey<T> key = new SessionKey<>(name, keys.size(), closeHandler);
+            keys.add(key);
+            return key;
+        }
+    }
+
+    /**
+     * Drop the keys and listeners, and with them the systems they refer to (plugin shutdown)
+     */
+    public void shutdown() {
+        listeners.clear();
+        keys.clear();
+    }
+
+    /**
+     * Be told about sessions opening and closing (on the thread that opens or closes them)
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Session lifecycle callbacks. Closed sessions have already dropped their attachments,
+     * but their slot is not reused until every listener has run.
+     */
+    public interface Listener {
+        default void sessionOpened(PlayerSession session) {}
+        default void sessionClosed(PlayerSession session) {}
+    }
+}
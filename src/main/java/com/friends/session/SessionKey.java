@@ -0,0 +1,45 @@
+package com.friends.session;
+
+/**
+ * SessionKey - Typed handle for one subsystem's state on a {@link PlayerSession}
+ *
+ * Keys are numbered by the {@link PlayerSessions} that created them, so a
+ * session keeps its attachments in a small array instead of a map. Create
+ * keys once per system with {@link PlayerSessions#createKey}, never per player;
+ * they go away with the registry when the plugin shuts down.
+ */
+public final class SessionKey<T> {
+
+    private final String name;
+    private final int index;
+    private final CloseHandler<T> closeHandler;  // Null if the value just needs dropping
+
+    SessionKey(String name, int index, CloseHandler<T> closeHandler) {
+        this.name = name;
+        this.index = index;
+        this.closeHandler = closeHandler;
+    }
+
+    public String getName() { return name; }
+    int getIndex() { return index; }
+
+    @SuppressWarnings("unchecked")
+    void close(PlayerSession session, Object value) {
+        if (closeHandler != null) {
+            closeHandler.onClose(session, (T) value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Teardown for an attached value, run once when its session closes
+     */
+    @FunctionalInterface
+    public interface CloseHandler<T> {
+        void onClose(PlayerSession session, T value);
+    }
+}
@@ -0,0 +1,30 @@
+package com.friends.tick;
+
+/**
+ * State of the tick being run, handed to every {@link TickTask}.
+ * Reused across ticks - do not keep a reference to it.
+ */
+public final class TickContext {
+
+    private long tick;
+    private long deadlineNanos;
+
+    void begin(long tick, long budgetNanos) {
+        this.tick = tick;
+        this.deadlineNanos = System.nanoTime() + budgetNanos;
+    }
+
+    /**
+     * Engine tick number, counting from 1
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Whether this tick has used up its CPU budget; remaining work should be carried over
+     */
+    public boolean isOverBudget() {
+        return System.nanoTime() - deadlineNanos > 0;
+    }
+}
@@ -0,0 +1,230 @@
+package com.friends.tick;
+
+import com.friends.log.Log;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TickEngine - The plugin's single tick thread
+ *
+ * Every subsystem schedules its periodic work here instead of running its
+ * own executor. Each tick runs the phases in order (snapshot, simulation,
+ * interest, packet flush); within a phase, tasks run in registration order
+ * at their own cadence (every N ticks).
+ *
+ * A tick has a CPU budget. Once it is spent, due tasks that have not started
+ * are deferred to the next tick, and running tasks that check the budget
+ * return early with their remaining work carried over. That caps how much
+ * time the plugin takes per tick under load. The budget only sees the tick
+ * thread: work a task hands to a world thread (balloon physics) is not
+ * counted, so those systems bound it themselves.
+ *
+ * Tasks can be switched off while their system has nothing to do. When no
+ * task is active the tick is unscheduled and the thread sits parked in the
+ * executor queue until a task is switched back on.
+ */
+public class TickEngine {
+
+    private static final Log LOG = Log.get("Friends");
+
+    private final long tickMillis;
+    private final long budgetNanos;
+
+    private final Map<TickPhase, List<Registration>> phases = new EnumMap<>(TickPhase.class);
+    private final TickContext context = new TickContext();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Friends-Tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> tickTask;  // Null while stopped or parked
+    private boolean started;
+    private int activeCount;
+
+    private long tick;
+
+    // Overrun statistics, reported periodically
+    private static final long REPORT_INTERVAL_TICKS = 600;  // Once a minute at 100ms ticks
+    private long overBudgetTicks;
+    private long deferredTasks;
+    private long worstTickNanos;
+
+    /**
+     * @param tickMillis   time between ticks
+     * @param budgetMillis CPU time the plugin may use per tick before work is deferred
+     */
+    public TickEngine(long tickMillis, long budgetMillis) {
+        this.tickMillis = tickMillis;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        for (TickPhase phase : TickPhase.values()) {
+            phases.put(phase, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Schedule a task to run every {@code cadence} ticks in the given phase
+     */
+    public Registration schedule(String name, TickPhase phase, int cadence, TickTask task) {
+        if (cadence < 1) {
+            throw new IllegalArgumentException("cadence must be at least 1");
+        }
+        List<Registration> tasks = phases.get(phase);
+        // Spread tasks with the same cadence over different ticks
+        Registration registration = new Registration(name, phase, cadence, tasks.size() % cadence, task);
+        tasks.add(registration);
+        synchronized (this) {
+            activeCount++;
+            updateRunning();
+        }
+        return registration;
+    }
+
+    public synchronized void start() {
+        if (started) return;
+        started = true;
+        LOG.info("Tick engine started ({}ms ticks, {}ms budget)", tickMillis, TimeUnit.NANOSECONDS.toMillis(budgetNanos));
+        updateRunning();
+    }
+
+    /**
+     * Stop ticking and wait for a running tick to finish
+     */
+    public void stop() {
+        synchronized (this) {
+            started = false;
+            updateRunning();
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Whether the tick is currently scheduled (false while parked or stopped)
+     */
+    public synchronized boolean isRunning() {
+        return tickTask != null;
+    }
+
+    /**
+     * Schedule the tick while there is active work, park it otherwise
+     */
+    private void updateRunning() {
+        boolean needed = started && activeCount > 0;
+        if (needed && tickTask == null) {
+            tickTask = executor.scheduleAtFixedRate(this::runTick, 0, tickMillis, TimeUnit.MILLISECONDS);
+        } else if (!needed && tickTask != null) {
+            tickTask.cancel(false);
+            tickTask = null;
+        }
+    }
+
+    private synchronized void setActive(Registration registration, boolean active) {
+        if (registration.cancelled || registration.active == active) return;
+        registration.active = active;
+        activeCount += active ? 1 : -1;
+        updateRunning();
+    }
+
+    private void runTick() {
+        long started = System.nanoTime();
+        tick++;
+        context.begin(tick, budgetNanos);
+
+        boolean overBudget = false;
+        for (TickPhase phase : TickPhase.values()) {
+            for (Registration registration : phases.get(phase)) {
+                if (!registration.active) {
+                    registration.carryOver = false;
+                    continue;
+                }
+                boolean due = registration.carryOver || tick % registration.cadence == registration.offset;
+                if (!due) continue;
+
+                if (context.isOverBudget()) {
+                    // Out of time - run it first thing next tick
+                    registration.carryOver = true;
+                    deferredTasks++;
+                    overBudget = true;
+                    continue;
+                }
+
+                try {
+                    registration.carryOver = registration.task.tick(context);
+                } catch (Exception e) {
+                    registration.carryOver = false;
+                    LOG.error("Error in tick task {}: {}", registration.name, e.getMessage());
+                }
+            }
+        }
+
+        long elapsed = System.nanoTime() - started;
+        worstTickNanos = Math.max(worstTickNanos, elapsed);
+        if (overBudget || elapsed > budgetNanos) {
+            overBudgetTicks++;
+        }
+        if (tick % REPORT_INTERVAL_TICKS == 0 && overBudgetTicks > 0) {
+            LOG.warn("Tick budget exceeded in {}/{} ticks ({} tasks deferred, worst tick {}ms)",
+                overBudgetTicks, REPORT_INTERVAL_TICKS, deferredTasks, TimeUnit.NANOSECONDS.toMicros(worstTickNanos) / 1000.0);
+            overBudgetTicks = 0;
+            deferredTasks = 0;
+            worstTickNanos = 0;
+        }
+    }
+
+    /**
+     * A scheduled task; cancel it to stop it running
+     */
+    public final class Registration {
+        private final String name;
+        private final TickPhase phase;
+        private final int cadence;
+        private final int offset;
+        private final TickTask task;
+        private volatile boolean cancelled;
+        private volatile boolean active = true;
+        private boolean carryOver;  // Tick thread only
+
+        private Registration(String name, TickPhase phase, int cadence, int offset, TickTask task) {
+            this.name = name;
+            this.phase = phase;
+            this.cadence = cadence;
+            this.offset = offset;
+            this.task = task;
+        }
+
+        /**
+         * Switch the task on or off; the engine parks when nothing is active
+         */
+        public void setActive(boolean active) {
+            TickEngine.this.setActive(this, active);
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void cancel() {
+            setActive(false);
+            cancelled = true;
+            phases.get(phase).remove(this);
+        }
+    }
+}
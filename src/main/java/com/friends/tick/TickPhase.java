@@ -0,0 +1,11 @@
+package com.friends.tick;
+
+/**
+ * Phases of a plugin tick, run in declaration order.
+ */
+public enum TickPhase {
+    SNAPSHOT,      // Capture shared state (player positions) once for the whole tick
+    SIMULATION,    // Advance balloons and other simulations
+    INTEREST,      // Decide what each viewer should see (markers, HUDs)
+    PACKET_FLUSH   // Write the packets prepared this tick
+}
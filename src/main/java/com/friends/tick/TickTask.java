@@ -0,0 +1,15 @@
+package com.friends.tick;
+
+/**
+ * A unit of work scheduled on the {@link TickEngine}.
+ */
+@FunctionalInterface
+public interface TickTask {
+
+    /**
+     * Run one step. Long-running tasks should check {@link TickContext#isOverBudget()}
+     * between work items and stop early.
+     * @return true if work is left over and the task should continue on the next tick
+     */
+    boolean tick(TickContext context);
+}
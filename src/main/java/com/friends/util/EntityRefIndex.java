@@ -0,0 +1,50 @@
+package com.friends.util;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * EntityRefIndex - Maps entity refs to values by ref identity
+ *
+ * A store hands out one Ref instance per entity and invalidates it when the
+ * entity is removed, so the instance itself is the entity's identity. The
+ * entity index is not: it is a slot that is reused after removals and may
+ * move when the store compacts, so keying on it can resolve a new entity to
+ * an old entry. Lookups are a single identity hash probe.
+ */
+public final class EntityRefIndex<V> {
+
+    private final Map<Ref<EntityStore>, V> entries = new IdentityHashMap<>();
+
+    public synchronized void put(Ref<EntityStore> ref, V value) {
+        entries.put(ref, value);
+    }
+
+    /**
+     * @return the value for this entity, or null if it is unknown or has been removed
+     */
+    public synchronized V get(Ref<EntityStore> ref) {
+        if (ref == null || !ref.isValid()) return null;
+        return entries.get(ref);
+    }
+
+    public synchronized V remove(Ref<EntityStore> ref) {
+        if (ref == null) return null;
+        return entries.remove(ref);
+    }
+
+    /**
+     * Remove the entry only if it still maps to the given value
+     */
+    public synchronized boolean remove(Ref<EntityStore> ref, V value) {
+        if (ref == null) return false;
+        return entries.remove(ref, value);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,238 @@
+package com.friends.util;
+
+import com.friends.session.PlayerSession;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * PlayerPositions - Immutable snapshot of where every online player is
+ *
+ * Taken once per tick and shared by everything that needs player positions
+ * that tick, so each player's transform is read once no matter how many
+ * balloons look at it. Players are sorted by 16x16 block cell (per world),
+ * which turns "who is near here" into a binary search plus a short scan.
+ */
+public final class PlayerPositions {
+
+    private static final int CELL_SHIFT = 4;  // 16x16 block cells
+
+    private static final PlayerPositions EMPTY = new PlayerPositions(
+        new PlayerSession[0], new UUID[0], new double[0], new double[0], new double[0], new long[0]);
+
+    // Parallel arrays, sorted by (world, cell)
+    private final PlayerSession[] players;
+    private final UUID[] worlds;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final long[] cells;
+
+    private PlayerPositions(PlayerSession[] players, UUID[] worlds, double[] x, double[] y, double[] z, long[] cells) {
+        this.players = players;
+        this.worlds = worlds;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.cells = cells;
+    }
+
+    public static PlayerPositions empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Read the position of every player once and index them by cell.
+     * Each player's world and position are read exactly once; sorting only
+     * looks at those copies, so a player moving or changing world meanwhile
+     * cannot upset it.
+     * @param sessions session slot table (see PlayerSessions#snapshot), free slots are null
+     */
+    public static PlayerPositions capture(PlayerSession[] sessions) {
+        int count = 0;
+        PlayerSession[] unsorted = new PlayerSession[sessions.length];
+        UUID[] unsortedWorlds = new UUID[sessions.length];
+        double[] unsortedX = new double[sessions.length];
+        double[] unsortedY = new double[sessions.length];
+        double[] unsortedZ = new double[sessions.length];
+        for (PlayerSession session : sessions) {
+            if (session == null) continue;
+            PlayerRef player = session.getPlayer();
+            try {
+                UUID world = player.getWorldUuid();
+                if (world == null) continue;
+                Vector3d pos = player.getTransform().getPosition();
+                unsorted[count] = session;
+                unsortedWorlds[count] = world;
+                unsortedX[count] = pos.x;
+                unsortedY[count] = pos.y;
+                unsortedZ[count] = pos.z;
+                count++;
+            } catch (Exception e) {
+                // Player is mid-teleport or disconnecting - skip them this tick
+            }
+        }
+        if (count == 0) return EMPTY;
+
+        // Rank worlds by UUID (there are only a few), so sorting compares ints
+        UUID[] distinctWorlds = new UUID[count];
+        int worldCount = 0;
+        int[] worldRanks = new int[count];
+        for (int i = 0; i < count; i++) {
+            worldRanks[i] = indexOf(distinctWorlds, worldCount, unsortedWorlds[i]);
+            if (worldRanks[i] < 0) {
+                distinctWorlds[worldCount] = unsortedWorlds[i];
+                worldRanks[i] = worldCount++;
+            }
+        }
+        if (worldCount > 1) {
+            UUID[] byUuid = Arrays.copyOf(distinctWorlds, worldCount);
+            Arrays.sort(byUuid);
+            for (int i = 0; i < count; i++) {
+                worldRanks[i] = indexOf(byUuid, worldCount, unsortedWorlds[i]);
+            }
+        }
+
+        // Sort by world, then cell, so each (world, cell) is one contiguous run
+        long[] unsortedCells = new long[count];
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            unsortedCells[i] = cellKey(unsortedX[i], unsortedZ[i]);
+        }
+        sortIndices(order, new int[count], 0, count, worldRanks, unsortedCells);
+
+        PlayerSession[] players = new PlayerSession[count];
+        UUID[] worlds = new UUID[count];
+        double[] x = new double[count];
+        double[] y = new double[count];
+        double[] z = new double[count];
+        long[] cells = new long[count];
+        for (int i = 0; i < count; i++) {
+            int from = order[i];
+            players[i] = unsorted[from];
+            worlds[i] = unsortedWorlds[from];
+            x[i] = unsortedX[from];
+            y[i] = unsortedY[from];
+            z[i] = unsortedZ[from];
+            cells[i] = unsortedCells[from];
+        }
+        return new PlayerPositions(players, worlds, x, y, z, cells);
+    }
+
+    public int size() { return players.length; }
+    public PlayerSession getSession(int index) { return players[index]; }
+    public PlayerRef getPlayer(int index) { return players[index].getPlayer(); }
+    public UUID getUuid(int index) { return players[index].getUuid(); }
+    public UUID getWorld(int index) { return worlds[index]; }
+    public double getX(int index) { return x[index]; }
+    public double getY(int index) { return y[index]; }
+    public double getZ(int index) { return z[index]; }
+
+    /**
+     * Visit every player in a world within a horizontal radius of a point
+     */
+    public void forEachNear(UUID world, double centerX, double centerZ, double radius, Visitor visitor) {
+        if (players.length == 0) return;
+
+        int minCellX = ((int) Math.floor(centerX - radius)) >> CELL_SHIFT;
+        int maxCellX = ((int) Math.floor(centerX + radius)) >> CELL_SHIFT;
+        int minCellZ = ((int) Math.floor(centerZ - radius)) >> CELL_SHIFT;
+        int maxCellZ = ((int) Math.floor(centerZ + radius)) >> CELL_SHIFT;
+        double radiusSq = radius * radius;
+
+        // A radius spanning more cells than there are players: scanning them all is cheaper
+        if ((long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1) > players.length) {
+            for (int i = 0; i < players.length; i++) {
+                if (!worlds[i].equals(world)) continue;
+                double dx = x[i] - centerX;
+                double dz = z[i] - centerZ;
+                if (dx * dx + dz * dz <= radiusSq) {
+                    visitor.visit(i);
+                }
+            }
+            return;
+        }
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                long cell = packCell(cellX, cellZ);
+                for (int i = firstInCell(world, cell); i < players.length && cells[i] == cell && worlds[i].equals(world); i++) {
+                    double dx = x[i] - centerX;
+                    double dz = z[i] - centerZ;
+                    if (dx * dx + dz * dz <= radiusSq) {
+                        visitor.visit(i);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Index of the first player in this (world, cell), or size() if there is none
+     */
+    private int firstInCell(UUID world, long cell) {
+        int low = 0;
+        int high = players.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int byWorld = worlds[mid].compareTo(world);
+            if (byWorld < 0 || (byWorld == 0 && cells[mid] < cell)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < players.length && cells[low] == cell && worlds[low].equals(world) ? low : players.length;
+    }
+
+    private static int indexOf(UUID[] worlds, int count, UUID world) {
+        for (int i = 0; i < count; i++) {
+            if (worlds[i].equals(world)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Merge sort of player indices by (world rank, cell) - primitive arrays only
+     */
+    private static void sortIndices(int[] order, int[] scratch, int from, int to, int[] worldRanks, long[] cells) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        sortIndices(order, scratch, from, mid, worldRanks, cells);
+        sortIndices(order, scratch, mid, to, worldRanks, cells);
+
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && compare(scratch[left], scratch[right], worldRanks, cells) <= 0)) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+
+    private static int compare(int a, int b, int[] worldRanks, long[] cells) {
+        int byWorld = Integer.compare(worldRanks[a], worldRanks[b]);
+        return byWorld != 0 ? byWorld : Long.compare(cells[a], cells[b]);
+    }
+
+    private static long cellKey(double x, double z) {
+        return packCell(((int) Math.floor(x)) >> CELL_SHIFT, ((int) Math.floor(z)) >> CELL_SHIFT);
+    }
+
+    private static long packCell(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Callback for {@link #forEachNear}
+     */
+    public interface Visitor {
+        void visit(int index);
+    }
+}
@@ -0,0 +1,112 @@
+package com.friends.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * TimingWheel - Hashed timing wheel for things that expire at a given tick
+ *
+ * Deadlines hash into a fixed ring of buckets by tick, so advancing one tick
+ * looks at a single bucket: the cost follows what expires, not how many
+ * entries are waiting. Deadlines more than one turn away share a bucket with
+ * nearer ones and are skipped until their turn comes round.
+ *
+ * Not thread safe - use from one thread (the tick thread).
+ */
+public final class TimingWheel<T> {
+
+    private final Node<T>[] buckets;
+    private final int mask;
+    private long now;
+    private int size;
+
+    /**
+     * @param bucketCount ring size in ticks, a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int bucketCount) {
+        if (Integer.bitCount(bucketCount) != 1) {
+            throw new IllegalArgumentException("bucketCount must be a power of two");
+        }
+        this.buckets = (Node<T>[]) new Node<?>[bucketCount];
+        this.mask = bucketCount - 1;
+    }
+
+    /**
+     * Expire an item at a tick (the next tick at the earliest)
+     */
+    public void schedule(T item, long deadline) {
+        long tick = Math.max(deadline, now + 1);
+        int bucket = (int) (tick & mask);
+        buckets[bucket] = new Node<>(item, tick, buckets[bucket]);
+        size++;
+    }
+
+    /**
+     * Move the wheel up to a tick, handing over everything that expired on the way
+     */
+    public void advanceTo(long tick, Consumer<T> expired) {
+        if (size == 0 || tick - now >= buckets.length) {
+            // Nothing waiting, or a whole turn (or more) passed: every bucket is due for a look once
+            if (size > 0) {
+                for (int bucket = 0; bucket < buckets.length; bucket++) {
+                    expireBucket(bucket, tick, expired);
+                }
+            }
+            now = Math.max(now, tick);
+            return;
+        }
+        while (now < tick) {
+            now++;
+            expireBucket((int) (now & mask), now, expired);
+        }
+    }
+
+    private void expireBucket(int bucket, long tick, Consumer<T> expired) {
+        Node<T> previous = null;
+        Node<T> node = buckets[bucket];
+        while (node != null) {
+            Node<T> next = node.next;
+            if (node.deadline <= tick) {
+                if (previous == null) {
+                    buckets[bucket] = next;
+                } else {
+                    previous.next = next;
+                }
+                size--;
+                expired.accept(node.item);
+            } else {
+                previous = node;
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * Drop every entry without handing it over
+     */
+    public void clear() {
+        Arrays.fill(buckets, null);
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static final class Node<T> {
+        private final T item;
+        private final long deadline;
+        private Node<T> next;
+
+        private Node(T item, long deadline, Node<T> next) {
+            this.item = item;
+            this.deadline = deadline;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.friends.util;
+
+/**
+ * TokenBucket - Rate limit that allows short bursts
+ *
+ * Holds up to {@code capacity} tokens and gains one every {@code refillNanos}.
+ * Each action takes a token; with none left the action is refused. Runs on
+ * wall-clock time, so it keeps refilling while the tick engine is parked.
+ */
+public final class TokenBucket {
+
+    private final int capacity;
+    private final long refillNanos;
+
+    // Guarded by this
+    private int tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, long refillNanos) {
+        this.capacity = capacity;
+        this.refillNanos = refillNanos;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Take a token if there is one
+     */
+    public synchronized boolean tryTake() {
+        refill(System.nanoTime());
+        if (tokens == 0) return false;
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Nanoseconds until the next token, 0 if one is available now
+     */
+    public synchronized long nanosUntilToken() {
+        long now = System.nanoTime();
+        refill(now);
+        return tokens > 0 ? 0 : refillNanos - (now - lastRefill);
+    }
+
+    private void refill(long now) {
+        long earned = (now - lastRefill) / refillNanos;
+        if (earned <= 0) return;
+        if (tokens + earned >= capacity) {
+            tokens = capacity;
+            lastRefill = now;
+        } else {
+            tokens += (int) earned;
+            lastRefill += earned * refillNanos;  // Keep the partial token
+        }
+    }
+}